@@ -0,0 +1,100 @@
+package org.example.jaipark_back.benchmark;
+
+import org.example.jaipark_back.dto.ChatEvent;
+import org.example.jaipark_back.dto.ChatMessageDto;
+import org.example.jaipark_back.entity.ChatMessage;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.kafka.support.serializer.JsonDeserializer;
+import org.springframework.kafka.support.serializer.JsonSerializer;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * chat-message 레코드 한 건의 소비 비용 비교 (역직렬화 + ChatMessageDto 획득)
+ * - untypedMap: data를 Object로 받아 LinkedHashMap을 ChatMessageDto로 다시 옮기던 이전 방식
+ * - typedSubtype: type 값으로 MessageEvent를 골라 data를 바로 ChatMessageDto로 역직렬화
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ChatEventConsumeBenchmark {
+    private static final String TOPIC = "chat-message";
+
+    /**
+     * 이전 ChatEvent 형태 (data가 Object)
+     */
+    public static class UntypedChatEvent {
+        public String type;
+        public String senderId;
+        public String receiverId;
+        public String chatRoomId;
+        public Object data;
+        public LocalDateTime timestamp;
+    }
+
+    private JsonDeserializer<UntypedChatEvent> untypedDeserializer;
+    private JsonDeserializer<ChatEvent> typedDeserializer;
+    private byte[] record;
+
+    @Setup
+    public void setUp() {
+        ChatMessageDto message = new ChatMessageDto("alice", "bob", "점심 먹었어? 오늘 회의는 3시로 미뤄졌대");
+        message.setId(123_456L);
+        message.setClientMessageId("6f1c2a9e-0d4b-4f7a-9a51-2c8e3b7d1f00");
+        try (JsonSerializer<ChatEvent> serializer = new JsonSerializer<>()) {
+            record = serializer.serialize(TOPIC, ChatEvent.messageEvent("alice", "bob", message));
+        }
+        untypedDeserializer = new JsonDeserializer<>(UntypedChatEvent.class, false);
+        typedDeserializer = new JsonDeserializer<>(ChatEvent.class, false);
+    }
+
+    @Benchmark
+    public void untypedMap(Blackhole blackhole) {
+        UntypedChatEvent event = untypedDeserializer.deserialize(TOPIC, record);
+        blackhole.consume(fromMap(event.data));
+    }
+
+    @Benchmark
+    public void typedSubtype(Blackhole blackhole) {
+        ChatEvent.MessageEvent event = (ChatEvent.MessageEvent) typedDeserializer.deserialize(TOPIC, record);
+        blackhole.consume(event.getData());
+    }
+
+    // 이전 ChatConsumer.consumeChatMessage의 변환 로직
+    @SuppressWarnings("unchecked")
+    private static ChatMessageDto fromMap(Object data) {
+        LinkedHashMap<String, Object> map = (LinkedHashMap<String, Object>) data;
+        ChatMessageDto messageDto = new ChatMessageDto();
+        messageDto.setId(map.containsKey("id") ? ((Number) map.get("id")).longValue() : null);
+        messageDto.setClientMessageId((String) map.get("clientMessageId"));
+        messageDto.setSenderId((String) map.get("senderId"));
+        messageDto.setReceiverId((String) map.get("receiverId"));
+        messageDto.setContent((String) map.get("content"));
+        messageDto.setChatRoomId((String) map.get("chatRoomId"));
+
+        Object timestamp = map.get("timestamp");
+        if (timestamp instanceof String) {
+            messageDto.setTimestamp(LocalDateTime.parse((String) timestamp));
+        } else if (timestamp instanceof List<?> parts && parts.size() >= 7) {
+            messageDto.setTimestamp(LocalDateTime.of(
+                    ((Number) parts.get(0)).intValue(), ((Number) parts.get(1)).intValue(),
+                    ((Number) parts.get(2)).intValue(), ((Number) parts.get(3)).intValue(),
+                    ((Number) parts.get(4)).intValue(), ((Number) parts.get(5)).intValue(),
+                    ((Number) parts.get(6)).intValue()));
+        } else {
+            messageDto.setTimestamp(LocalDateTime.now());
+        }
+
+        messageDto.setRead(map.containsKey("read") && (Boolean) map.get("read"));
+        try {
+            messageDto.setType(ChatMessage.MessageType.valueOf((String) map.get("type")));
+        } catch (IllegalArgumentException | NullPointerException e) {
+            messageDto.setType(ChatMessage.MessageType.TEXT);
+        }
+        return messageDto;
+    }
+}
@@ -0,0 +1,133 @@
+package org.example.jaipark_back.benchmark;
+
+import org.example.jaipark_back.graph.FollowGraph;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 팔로우 상태(팔로우 여부 + 팔로잉/팔로워 수) 조회 비용 비교
+ * - repository: 기존처럼 exists + count 2번 쿼리 (인메모리 H2라 네트워크 왕복은 빠져 있음)
+ * - followGraph: 메모리 그래프의 이진 탐색과 배열 길이
+ * - mutuals: 맞팔로우 목록 (DB는 self join, 그래프는 정렬 배열 병합)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class FollowGraphBenchmark {
+    private static final int USERS = 20_000;
+    private static final int QUERIES = 20;
+
+    @Param({"50", "1000"})
+    public int followsPerUser;
+
+    private Connection connection;
+    private PreparedStatement existsStatement;
+    private PreparedStatement followingCountStatement;
+    private PreparedStatement followerCountStatement;
+    private PreparedStatement mutualsStatement;
+    private FollowGraph graph;
+    private long[][] pairs;
+
+    @Setup
+    public void setUp() throws SQLException {
+        connection = DriverManager.getConnection("jdbc:h2:mem:follows" + followsPerUser + ";DB_CLOSE_DELAY=-1");
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE follows (id BIGINT AUTO_INCREMENT PRIMARY KEY, follower_id BIGINT NOT NULL, following_id BIGINT NOT NULL, UNIQUE (follower_id, following_id))");
+            statement.execute("CREATE INDEX idx_follows_following_follower ON follows (following_id, follower_id)");
+        }
+
+        Random random = new Random(42);
+        graph = new FollowGraph();
+        // 일부 사용자만 팔로우가 많은 분포 (상위 1%가 followsPerUser명, 나머지는 20명)
+        try (PreparedStatement insert = connection.prepareStatement("INSERT INTO follows (follower_id, following_id) VALUES (?, ?)")) {
+            for (long follower = 0; follower < USERS; follower++) {
+                int degree = follower % 100 == 0 ? followsPerUser : 20;
+                for (int i = 0; i < degree; i++) {
+                    long following = random.nextInt(USERS);
+                    if (following != follower && !graph.follows(follower, following)) {
+                        graph.addEdge(follower, following);
+                        insert.setLong(1, follower);
+                        insert.setLong(2, following);
+                        insert.addBatch();
+                    }
+                }
+                if (follower % 1000 == 0) {
+                    insert.executeBatch();
+                }
+            }
+            insert.executeBatch();
+        }
+
+        existsStatement = connection.prepareStatement("SELECT 1 FROM follows WHERE follower_id = ? AND following_id = ? LIMIT 1");
+        followingCountStatement = connection.prepareStatement("SELECT COUNT(*) FROM follows WHERE follower_id = ?");
+        followerCountStatement = connection.prepareStatement("SELECT COUNT(*) FROM follows WHERE following_id = ?");
+        mutualsStatement = connection.prepareStatement("SELECT a.following_id FROM follows a JOIN follows b ON b.follower_id = a.following_id AND b.following_id = a.follower_id WHERE a.follower_id = ?");
+        pairs = new long[QUERIES][];
+        for (int i = 0; i < QUERIES; i++) {
+            pairs[i] = new long[]{random.nextInt(USERS / 100) * 100L, random.nextInt(USERS)};
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws SQLException {
+        connection.close();
+    }
+
+    @Benchmark
+    public void repositoryFollowStatus(Blackhole blackhole) throws SQLException {
+        for (long[] pair : pairs) {
+            existsStatement.setLong(1, pair[0]);
+            existsStatement.setLong(2, pair[1]);
+            try (ResultSet resultSet = existsStatement.executeQuery()) {
+                blackhole.consume(resultSet.next());
+            }
+            blackhole.consume(count(followingCountStatement, pair[1]));
+            blackhole.consume(count(followerCountStatement, pair[1]));
+        }
+    }
+
+    @Benchmark
+    public void followGraphFollowStatus(Blackhole blackhole) {
+        for (long[] pair : pairs) {
+            blackhole.consume(graph.follows(pair[0], pair[1]));
+            blackhole.consume(graph.followingCount(pair[1]));
+            blackhole.consume(graph.followerCount(pair[1]));
+        }
+    }
+
+    @Benchmark
+    public void repositoryMutuals(Blackhole blackhole) throws SQLException {
+        for (long[] pair : pairs) {
+            mutualsStatement.setLong(1, pair[0]);
+            try (ResultSet resultSet = mutualsStatement.executeQuery()) {
+                while (resultSet.next()) {
+                    blackhole.consume(resultSet.getLong(1));
+                }
+            }
+        }
+    }
+
+    @Benchmark
+    public void followGraphMutuals(Blackhole blackhole) {
+        for (long[] pair : pairs) {
+            blackhole.consume(graph.mutuals(pair[0]));
+        }
+    }
+
+    private static long count(PreparedStatement statement, long userId) throws SQLException {
+        statement.setLong(1, userId);
+        try (ResultSet resultSet = statement.executeQuery()) {
+            resultSet.next();
+            return resultSet.getLong(1);
+        }
+    }
+}
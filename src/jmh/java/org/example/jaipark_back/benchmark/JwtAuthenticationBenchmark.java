@@ -0,0 +1,111 @@
+package org.example.jaipark_back.benchmark;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+import org.example.jaipark_back.security.JwtTokenProvider;
+import org.example.jaipark_back.security.TokenEpochService;
+import org.example.jaipark_back.security.UserPrincipal;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.lang.reflect.Field;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 인증 필터가 요청마다 하는 일(토큰 검증 + principal 생성)의 처리량 비교
+ * - legacy: 키/파서를 매번 만들고 토큰을 두 번 파싱한 뒤 username으로 사용자 조회 (인메모리 H2라 네트워크 왕복은 빠져 있음)
+ * - sharedParser: 키/파서를 재사용해 한 번만 파싱하고 클레임으로 principal 생성 (캐시 미스와 같은 비용)
+ * - cachedProvider: JwtTokenProvider.authenticate (검증된 토큰 캐시 적중 + epoch 맵 조회)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class JwtAuthenticationBenchmark {
+    private static final String SECRET = "9a4f2c8d3b7a1e6f45c8a0b3f267d8b1d4e6f3c8a9d2b5f8e3a9c6b1d4f7e2a5b8c9d0e1f2a3b4c5d6e7f8a9b0c1d2";
+
+    private Connection connection;
+    private PreparedStatement userStatement;
+    private JwtTokenProvider provider;
+    private io.jsonwebtoken.JwtParser sharedParser;
+    private String token;
+
+    @Setup
+    public void setUp() throws Exception {
+        connection = DriverManager.getConnection("jdbc:h2:mem:jwt;DB_CLOSE_DELAY=-1");
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE users (id BIGINT PRIMARY KEY, username VARCHAR(50) UNIQUE, email VARCHAR(100) UNIQUE, password VARCHAR(100), role VARCHAR(20))");
+            statement.execute("INSERT INTO users VALUES (42, 'alice', 'alice@example.com', 'hash', 'ROLE_USER')");
+        }
+        userStatement = connection.prepareStatement("SELECT id, username, password, email, role FROM users WHERE username = ?");
+
+        // epoch을 올린 사용자가 없는 상태의 epoch 맵 (검증 경로에서는 맵 조회만 수행)
+        provider = new JwtTokenProvider(null, new TokenEpochService());
+        setField(provider, "jwtSecret", SECRET);
+        setField(provider, "jwtExpirationInMs", 3_600_000);
+        setField(provider, "verifiedCacheSize", 10_000L);
+        provider.init();
+
+        // 발급 시 epoch은 DB에서 읽으므로 같은 클레임으로 직접 서명
+        token = Jwts.builder()
+                .setSubject("alice")
+                .claim("email", "alice@example.com")
+                .claim("uid", 42L)
+                .claim("role", "ROLE_USER")
+                .claim("ep", 0L)
+                .setIssuedAt(new Date())
+                .setExpiration(new Date(System.currentTimeMillis() + 3_600_000))
+                .signWith(Keys.hmacShaKeyFor(SECRET.getBytes()), SignatureAlgorithm.HS512)
+                .compact();
+        sharedParser = Jwts.parserBuilder().setSigningKey(Keys.hmacShaKeyFor(SECRET.getBytes())).build();
+    }
+
+    @TearDown
+    public void tearDown() throws SQLException {
+        connection.close();
+    }
+
+    @Benchmark
+    public void legacy(Blackhole blackhole) throws SQLException {
+        // validateToken
+        Jwts.parserBuilder().setSigningKey(Keys.hmacShaKeyFor(SECRET.getBytes())).build().parseClaimsJws(token);
+        // getUsernameFromJWT
+        String username = Jwts.parserBuilder().setSigningKey(Keys.hmacShaKeyFor(SECRET.getBytes())).build()
+                .parseClaimsJws(token).getBody().getSubject();
+        // loadUserByUsername
+        userStatement.setString(1, username);
+        try (ResultSet resultSet = userStatement.executeQuery()) {
+            resultSet.next();
+            blackhole.consume(new UserPrincipal(resultSet.getLong(1), resultSet.getString(2), resultSet.getString(3),
+                    resultSet.getString(4), List.of(new SimpleGrantedAuthority(resultSet.getString(5)))));
+        }
+    }
+
+    @Benchmark
+    public void sharedParser(Blackhole blackhole) {
+        Claims claims = sharedParser.parseClaimsJws(token).getBody();
+        blackhole.consume(new UserPrincipal(claims.get("uid", Number.class).longValue(), claims.getSubject(), null,
+                claims.get("email", String.class), List.of(new SimpleGrantedAuthority(claims.get("role", String.class)))));
+    }
+
+    @Benchmark
+    public void cachedProvider(Blackhole blackhole) {
+        blackhole.consume(provider.authenticate(token));
+    }
+
+    private static void setField(Object target, String name, Object value) throws ReflectiveOperationException {
+        Field field = target.getClass().getDeclaredField(name);
+        field.setAccessible(true);
+        field.set(target, value);
+    }
+}
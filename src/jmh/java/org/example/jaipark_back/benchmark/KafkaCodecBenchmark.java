@@ -0,0 +1,72 @@
+package org.example.jaipark_back.benchmark;
+
+import org.apache.kafka.common.serialization.Deserializer;
+import org.apache.kafka.common.serialization.Serializer;
+import org.example.jaipark_back.codec.BinaryEventDeserializer;
+import org.example.jaipark_back.codec.BinaryEventSerializer;
+import org.example.jaipark_back.codec.EventSchemas;
+import org.example.jaipark_back.dto.ChatEvent;
+import org.example.jaipark_back.dto.ChatMessageDto;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.kafka.support.serializer.JsonDeserializer;
+import org.springframework.kafka.support.serializer.JsonSerializer;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Kafka 이벤트 값 포맷 비교 (chat-message 레코드 기준)
+ * - serialize/deserialize: 레코드 한 건의 처리량
+ * - 레코드 크기(bytes/event)는 AuxCounters로 보고 (bytes / 호출 수)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class KafkaCodecBenchmark {
+    private static final String TOPIC = "chat-message";
+
+    @Param({"json", "binary"})
+    public String codec;
+
+    private Serializer<ChatEvent> serializer;
+    private Deserializer<ChatEvent> deserializer;
+    private ChatEvent event;
+    private byte[] record;
+
+    /**
+     * 직렬화한 레코드 크기 (호출마다 누적되므로 bytes/event = bytes / 호출 수)
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Size {
+        public long bytes;
+    }
+
+    @Setup
+    public void setUp() {
+        ChatMessageDto message = new ChatMessageDto("alice", "bob", "점심 먹었어? 오늘 회의는 3시로 미뤄졌대");
+        message.setId(123_456L);
+        message.setClientMessageId("6f1c2a9e-0d4b-4f7a-9a51-2c8e3b7d1f00");
+        event = ChatEvent.messageEvent("alice", "bob", message);
+
+        if ("binary".equals(codec)) {
+            serializer = new BinaryEventSerializer<>(EventSchemas.CHAT_EVENT);
+        } else {
+            serializer = new JsonSerializer<ChatEvent>().noTypeInfo();
+        }
+        deserializer = new BinaryEventDeserializer<>(EventSchemas.CHAT_EVENT, new JsonDeserializer<>(ChatEvent.class, false));
+        record = serializer.serialize(TOPIC, event);
+    }
+
+    @Benchmark
+    public byte[] serialize(Size size) {
+        byte[] bytes = serializer.serialize(TOPIC, event);
+        size.bytes += bytes.length;
+        return bytes;
+    }
+
+    @Benchmark
+    public void deserialize(Blackhole blackhole) {
+        blackhole.consume(deserializer.deserialize(TOPIC, record));
+    }
+}
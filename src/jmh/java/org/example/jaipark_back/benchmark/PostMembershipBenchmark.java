@@ -0,0 +1,97 @@
+package org.example.jaipark_back.benchmark;
+
+import org.example.jaipark_back.util.SortedLongSet;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 피드 한 페이지(20개)의 좋아요 여부 확인 비용 비교
+ * - repositoryPerPost: 기존처럼 게시물마다 existsByUserAndPost 쿼리 (인메모리 H2라 네트워크 왕복은 빠져 있음)
+ * - membershipIndex: 게시물별 사용자 ID 집합 조회
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class PostMembershipBenchmark {
+    private static final int POSTS = 200;
+    private static final int USERS = 10_000;
+    private static final int PAGE = 20;
+
+    @Param({"50", "2000"})
+    public int likesPerPost;
+
+    private Connection connection;
+    private PreparedStatement existsStatement;
+    private SortedLongSet[] index;
+    private long[] pagePostIds;
+    private long viewerId;
+
+    @Setup
+    public void setUp() throws SQLException {
+        connection = DriverManager.getConnection("jdbc:h2:mem:membership" + likesPerPost + ";DB_CLOSE_DELAY=-1");
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE likes (id BIGINT AUTO_INCREMENT PRIMARY KEY, user_id BIGINT NOT NULL, post_id BIGINT NOT NULL, UNIQUE (user_id, post_id))");
+        }
+
+        Random random = new Random(42);
+        index = new SortedLongSet[POSTS];
+        try (PreparedStatement insert = connection.prepareStatement("INSERT INTO likes (user_id, post_id) VALUES (?, ?)")) {
+            for (int postId = 0; postId < POSTS; postId++) {
+                SortedLongSet members = new SortedLongSet();
+                while (members.size() < likesPerPost) {
+                    long userId = random.nextInt(USERS);
+                    if (members.add(userId)) {
+                        insert.setLong(1, userId);
+                        insert.setLong(2, postId);
+                        insert.addBatch();
+                    }
+                }
+                index[postId] = members;
+                insert.executeBatch();
+            }
+        }
+
+        existsStatement = connection.prepareStatement("SELECT 1 FROM likes WHERE user_id = ? AND post_id = ? LIMIT 1");
+        pagePostIds = new long[PAGE];
+        for (int i = 0; i < PAGE; i++) {
+            pagePostIds[i] = random.nextInt(POSTS);
+        }
+        viewerId = random.nextInt(USERS);
+    }
+
+    @TearDown
+    public void tearDown() throws SQLException {
+        existsStatement.close();
+        connection.close();
+    }
+
+    @Benchmark
+    public void repositoryPerPost(Blackhole blackhole) throws SQLException {
+        for (long postId : pagePostIds) {
+            existsStatement.setLong(1, viewerId);
+            existsStatement.setLong(2, postId);
+            try (ResultSet resultSet = existsStatement.executeQuery()) {
+                blackhole.consume(resultSet.next());
+            }
+        }
+    }
+
+    @Benchmark
+    public void membershipIndex(Blackhole blackhole) {
+        for (long postId : pagePostIds) {
+            SortedLongSet members = index[(int) postId];
+            synchronized (members) {
+                blackhole.consume(members.contains(viewerId));
+            }
+        }
+    }
+}
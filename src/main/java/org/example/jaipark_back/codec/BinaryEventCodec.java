@@ -0,0 +1,37 @@
+package org.example.jaipark_back.codec;
+
+import org.apache.kafka.common.errors.SerializationException;
+
+/**
+ * 이벤트 바이너리 포맷: [매직 1바이트][포맷 버전 1바이트][태그 필드...]
+ * - 매직 0xB7은 UTF-8 연속 바이트라 JSON 텍스트의 첫 바이트가 될 수 없으므로 첫 바이트만으로 JSON과 구분
+ * - 필드 추가/삭제는 태그로 흡수하고, 포맷 버전은 호환되지 않는 변경에만 올림
+ */
+public final class BinaryEventCodec {
+    static final byte MAGIC = (byte) 0xB7;
+    static final byte VERSION = 1;
+
+    private BinaryEventCodec() {
+    }
+
+    public static <T> byte[] encode(EventSchema<T> schema, T value) {
+        BinaryWriter writer = new BinaryWriter();
+        writer.header(MAGIC, VERSION);
+        schema.write(writer, value);
+        return writer.toByteArray();
+    }
+
+    public static <T> T decode(EventSchema<T> schema, byte[] data) {
+        if (!isBinary(data) || data.length < 2) {
+            throw new SerializationException("Not a binary event record");
+        }
+        if (data[1] > VERSION || data[1] < 1) {
+            throw new SerializationException("Unsupported binary event version: " + data[1]);
+        }
+        return schema.read(new BinaryReader(data, 2, data.length));
+    }
+
+    public static boolean isBinary(byte[] data) {
+        return data != null && data.length > 0 && data[0] == MAGIC;
+    }
+}
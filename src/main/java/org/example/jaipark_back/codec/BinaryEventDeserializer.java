@@ -0,0 +1,49 @@
+package org.example.jaipark_back.codec;
+
+import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.serialization.Deserializer;
+
+import java.util.Map;
+
+/**
+ * 바이너리/JSON 레코드를 모두 읽는 Kafka Deserializer
+ * - 첫 바이트가 매직이면 바이너리 스키마로, 아니면 JSON Deserializer로 읽음
+ * - 롤링 업그레이드 중 이전 노드가 보낸 JSON 레코드나 토픽에 남아 있던 레코드도 그대로 소비
+ */
+public class BinaryEventDeserializer<T> implements Deserializer<T> {
+    private final EventSchema<T> schema;
+    private final Deserializer<T> jsonDeserializer;
+
+    public BinaryEventDeserializer(EventSchema<T> schema, Deserializer<T> jsonDeserializer) {
+        this.schema = schema;
+        this.jsonDeserializer = jsonDeserializer;
+    }
+
+    @Override
+    public void configure(Map<String, ?> configs, boolean isKey) {
+        jsonDeserializer.configure(configs, isKey);
+    }
+
+    @Override
+    public T deserialize(String topic, byte[] data) {
+        return deserialize(topic, null, data);
+    }
+
+    @Override
+    public T deserialize(String topic, Headers headers, byte[] data) {
+        if (data == null) {
+            return null;
+        }
+        if (BinaryEventCodec.isBinary(data)) {
+            return BinaryEventCodec.decode(schema, data);
+        }
+        return headers == null
+                ? jsonDeserializer.deserialize(topic, data)
+                : jsonDeserializer.deserialize(topic, headers, data);
+    }
+
+    @Override
+    public void close() {
+        jsonDeserializer.close();
+    }
+}
@@ -0,0 +1,19 @@
+package org.example.jaipark_back.codec;
+
+import org.apache.kafka.common.serialization.Serializer;
+
+/**
+ * 이벤트를 바이너리 포맷으로 쓰는 Kafka Serializer
+ */
+public class BinaryEventSerializer<T> implements Serializer<T> {
+    private final EventSchema<T> schema;
+
+    public BinaryEventSerializer(EventSchema<T> schema) {
+        this.schema = schema;
+    }
+
+    @Override
+    public byte[] serialize(String topic, T data) {
+        return data == null ? null : BinaryEventCodec.encode(schema, data);
+    }
+}
@@ -0,0 +1,109 @@
+package org.example.jaipark_back.codec;
+
+import org.apache.kafka.common.errors.SerializationException;
+import org.example.jaipark_back.util.Cursor;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+
+/**
+ * BinaryWriter로 쓴 필드를 순서대로 읽는 디코더
+ * - next()로 다음 필드 번호를 얻고, 모르는 필드는 skip()으로 와이어 타입만 보고 건너뜀
+ *   (새 버전이 추가한 필드를 이전 버전이 무시할 수 있음)
+ */
+public class BinaryReader {
+    private final byte[] buffer;
+    private final int limit;
+    private int position;
+    private int wireType;
+
+    BinaryReader(byte[] buffer, int offset, int limit) {
+        this.buffer = buffer;
+        this.position = offset;
+        this.limit = limit;
+    }
+
+    /**
+     * 다음 필드 번호 (끝이면 0)
+     */
+    public int next() {
+        if (position >= limit) {
+            return 0;
+        }
+        long tag = varint();
+        wireType = (int) (tag & 0x7);
+        int field = (int) (tag >>> 3);
+        if (field <= 0) {
+            throw new SerializationException("Invalid field tag: " + tag);
+        }
+        return field;
+    }
+
+    public long readLong() {
+        expect(BinaryWriter.VARINT);
+        long value = varint();
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    public boolean readBoolean() {
+        expect(BinaryWriter.VARINT);
+        return varint() != 0;
+    }
+
+    public String readString() {
+        expect(BinaryWriter.LENGTH_DELIMITED);
+        int length = length();
+        String value = new String(buffer, position, length, StandardCharsets.UTF_8);
+        position += length;
+        return value;
+    }
+
+    public LocalDateTime readTimestamp() {
+        return Cursor.fromTimeKey(readLong());
+    }
+
+    public <T> T readMessage(EventSchema<T> schema) {
+        expect(BinaryWriter.LENGTH_DELIMITED);
+        int length = length();
+        BinaryReader nested = new BinaryReader(buffer, position, position + length);
+        position += length;
+        return schema.read(nested);
+    }
+
+    public void skip() {
+        switch (wireType) {
+            case BinaryWriter.VARINT -> varint();
+            case BinaryWriter.LENGTH_DELIMITED -> position += length();
+            default -> throw new SerializationException("Unknown wire type: " + wireType);
+        }
+    }
+
+    private void expect(int expected) {
+        if (wireType != expected) {
+            throw new SerializationException("Unexpected wire type " + wireType + ", expected " + expected);
+        }
+    }
+
+    private int length() {
+        long length = varint();
+        if (length < 0 || length > limit - position) {
+            throw new SerializationException("Truncated field of length " + length);
+        }
+        return (int) length;
+    }
+
+    private long varint() {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            if (position >= limit) {
+                throw new SerializationException("Truncated varint");
+            }
+            byte b = buffer[position++];
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new SerializationException("Malformed varint");
+    }
+}
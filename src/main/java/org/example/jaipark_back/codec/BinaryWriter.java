@@ -0,0 +1,108 @@
+package org.example.jaipark_back.codec;
+
+import org.example.jaipark_back.util.Cursor;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+
+/**
+ * 필드 태그 기반 바이너리 인코더
+ * - 필드마다 [태그(필드 번호 << 3 | 와이어 타입) varint] 뒤에 값을 씀
+ * - 정수는 zigzag varint, 문자열/중첩 메시지는 길이 접두 바이트열
+ * - null 값과 false는 쓰지 않음 (읽는 쪽에서 없으면 기본값)
+ */
+public class BinaryWriter {
+    static final int VARINT = 0;
+    static final int LENGTH_DELIMITED = 2;
+
+    private byte[] buffer;
+    private int size;
+
+    public BinaryWriter() {
+        this(64);
+    }
+
+    BinaryWriter(int capacity) {
+        buffer = new byte[capacity];
+    }
+
+    public BinaryWriter writeLong(int field, Long value) {
+        if (value != null) {
+            tag(field, VARINT);
+            varint((value << 1) ^ (value >> 63));
+        }
+        return this;
+    }
+
+    public BinaryWriter writeBoolean(int field, Boolean value) {
+        if (value != null && value) {
+            tag(field, VARINT);
+            varint(1);
+        }
+        return this;
+    }
+
+    public BinaryWriter writeString(int field, String value) {
+        if (value != null) {
+            tag(field, LENGTH_DELIMITED);
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            varint(bytes.length);
+            raw(bytes, 0, bytes.length);
+        }
+        return this;
+    }
+
+    /**
+     * 시각은 UTC 기준 epoch 나노초 (커서의 시간 키와 같은 값)
+     */
+    public BinaryWriter writeTimestamp(int field, LocalDateTime value) {
+        return value == null ? this : writeLong(field, Cursor.timeKey(value));
+    }
+
+    public <T> BinaryWriter writeMessage(int field, T value, EventSchema<T> schema) {
+        if (value != null) {
+            BinaryWriter nested = new BinaryWriter();
+            schema.write(nested, value);
+            tag(field, LENGTH_DELIMITED);
+            varint(nested.size);
+            raw(nested.buffer, 0, nested.size);
+        }
+        return this;
+    }
+
+    void header(byte magic, byte version) {
+        ensure(2);
+        buffer[size++] = magic;
+        buffer[size++] = version;
+    }
+
+    public byte[] toByteArray() {
+        return Arrays.copyOf(buffer, size);
+    }
+
+    private void tag(int field, int wireType) {
+        varint(((long) field << 3) | wireType);
+    }
+
+    private void varint(long value) {
+        ensure(10);
+        while ((value & ~0x7FL) != 0) {
+            buffer[size++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        buffer[size++] = (byte) value;
+    }
+
+    private void raw(byte[] bytes, int offset, int length) {
+        ensure(length);
+        System.arraycopy(bytes, offset, buffer, size, length);
+        size += length;
+    }
+
+    private void ensure(int extra) {
+        if (size + extra > buffer.length) {
+            buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, size + extra));
+        }
+    }
+}
@@ -0,0 +1,10 @@
+package org.example.jaipark_back.codec;
+
+/**
+ * 이벤트 타입별 바이너리 스키마 (필드 번호는 한 번 정하면 바꾸거나 재사용하지 않음)
+ */
+public interface EventSchema<T> {
+    void write(BinaryWriter writer, T value);
+
+    T read(BinaryReader reader);
+}
@@ -0,0 +1,199 @@
+package org.example.jaipark_back.codec;
+
+import org.apache.kafka.common.errors.SerializationException;
+import org.example.jaipark_back.dto.ChatEvent;
+import org.example.jaipark_back.dto.ChatMessageDto;
+import org.example.jaipark_back.dto.NotificationEvent;
+import org.example.jaipark_back.entity.ChatMessage;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Kafka 이벤트 스키마 (필드 번호 = 태그)
+ * - 필드를 추가할 때는 새 번호를 쓰고, 없앤 번호는 비워 둠
+ */
+public final class EventSchemas {
+    private EventSchemas() {
+    }
+
+    /**
+     * NotificationEvent: 1 username, 2 userId, 3 type, 4 message, 5 postId
+     */
+    public static final EventSchema<NotificationEvent> NOTIFICATION = new EventSchema<>() {
+        @Override
+        public void write(BinaryWriter writer, NotificationEvent event) {
+            writer.writeString(1, event.getUsername())
+                    .writeLong(2, event.getUserId())
+                    .writeString(3, event.getType())
+                    .writeString(4, event.getMessage())
+                    .writeLong(5, event.getPostId());
+        }
+
+        @Override
+        public NotificationEvent read(BinaryReader reader) {
+            NotificationEvent event = new NotificationEvent();
+            for (int field = reader.next(); field != 0; field = reader.next()) {
+                switch (field) {
+                    case 1 -> event.setUsername(reader.readString());
+                    case 2 -> event.setUserId(reader.readLong());
+                    case 3 -> event.setType(reader.readString());
+                    case 4 -> event.setMessage(reader.readString());
+                    case 5 -> event.setPostId(reader.readLong());
+                    default -> reader.skip();
+                }
+            }
+            return event;
+        }
+    };
+
+    /**
+     * List&lt;NotificationEvent&gt;: 1 events (반복)
+     */
+    public static final EventSchema<List<NotificationEvent>> NOTIFICATION_BATCH = new EventSchema<>() {
+        @Override
+        public void write(BinaryWriter writer, List<NotificationEvent> events) {
+            for (NotificationEvent event : events) {
+                writer.writeMessage(1, event, NOTIFICATION);
+            }
+        }
+
+        @Override
+        public List<NotificationEvent> read(BinaryReader reader) {
+            List<NotificationEvent> events = new ArrayList<>();
+            for (int field = reader.next(); field != 0; field = reader.next()) {
+                if (field == 1) {
+                    events.add(reader.readMessage(NOTIFICATION));
+                } else {
+                    reader.skip();
+                }
+            }
+            return events;
+        }
+    };
+
+    /**
+     * ChatMessageDto: 1 id, 2 clientMessageId, 3 senderId, 4 receiverId, 5 content,
+     * 6 type, 7 timestamp, 8 read, 9 chatRoomId
+     */
+    public static final EventSchema<ChatMessageDto> CHAT_MESSAGE = new EventSchema<>() {
+        @Override
+        public void write(BinaryWriter writer, ChatMessageDto message) {
+            writer.writeLong(1, message.getId())
+                    .writeString(2, message.getClientMessageId())
+                    .writeString(3, message.getSenderId())
+                    .writeString(4, message.getReceiverId())
+                    .writeString(5, message.getContent())
+                    .writeString(6, message.getType() == null ? null : message.getType().name())
+                    .writeTimestamp(7, message.getTimestamp())
+                    .writeBoolean(8, message.isRead())
+                    .writeString(9, message.getChatRoomId());
+        }
+
+        @Override
+        public ChatMessageDto read(BinaryReader reader) {
+            ChatMessageDto message = new ChatMessageDto();
+            for (int field = reader.next(); field != 0; field = reader.next()) {
+                switch (field) {
+                    case 1 -> message.setId(reader.readLong());
+                    case 2 -> message.setClientMessageId(reader.readString());
+                    case 3 -> message.setSenderId(reader.readString());
+                    case 4 -> message.setReceiverId(reader.readString());
+                    case 5 -> message.setContent(reader.readString());
+                    case 6 -> message.setType(messageType(reader.readString()));
+                    case 7 -> message.setTimestamp(reader.readTimestamp());
+                    case 8 -> message.setRead(reader.readBoolean());
+                    case 9 -> message.setChatRoomId(reader.readString());
+                    default -> reader.skip();
+                }
+            }
+            return message;
+        }
+    };
+
+    /**
+     * ChatEvent: 1 type, 2 senderId, 3 receiverId, 4 chatRoomId, 5 timestamp,
+     * 6 메시지(MESSAGE), 7 읽은 메시지 ID(READ), 8 타이핑/온라인 여부(TYPING, ONLINE, OFFLINE)
+     */
+    public static final EventSchema<ChatEvent> CHAT_EVENT = new EventSchema<>() {
+        @Override
+        public void write(BinaryWriter writer, ChatEvent event) {
+            writer.writeString(1, event.getType())
+                    .writeString(2, event.getSenderId())
+                    .writeString(3, event.getReceiverId())
+                    .writeString(4, event.getChatRoomId())
+                    .writeTimestamp(5, event.getTimestamp());
+            if (event instanceof ChatEvent.MessageEvent messageEvent) {
+                writer.writeMessage(6, messageEvent.getData(), CHAT_MESSAGE);
+            } else if (event instanceof ChatEvent.ReadEvent readEvent) {
+                writer.writeLong(7, readEvent.getData());
+            } else if (event instanceof ChatEvent.TypingEvent typingEvent) {
+                writer.writeBoolean(8, typingEvent.getData());
+            } else if (event instanceof ChatEvent.StatusEvent statusEvent) {
+                writer.writeBoolean(8, statusEvent.getData());
+            }
+        }
+
+        @Override
+        public ChatEvent read(BinaryReader reader) {
+            String type = null;
+            String senderId = null;
+            String receiverId = null;
+            String chatRoomId = null;
+            LocalDateTime timestamp = null;
+            ChatMessageDto message = null;
+            Long messageId = null;
+            boolean flag = false;
+            for (int field = reader.next(); field != 0; field = reader.next()) {
+                switch (field) {
+                    case 1 -> type = reader.readString();
+                    case 2 -> senderId = reader.readString();
+                    case 3 -> receiverId = reader.readString();
+                    case 4 -> chatRoomId = reader.readString();
+                    case 5 -> timestamp = reader.readTimestamp();
+                    case 6 -> message = reader.readMessage(CHAT_MESSAGE);
+                    case 7 -> messageId = reader.readLong();
+                    case 8 -> flag = reader.readBoolean();
+                    default -> reader.skip();
+                }
+            }
+
+            ChatEvent event;
+            if ("MESSAGE".equals(type)) {
+                ChatEvent.MessageEvent messageEvent = new ChatEvent.MessageEvent();
+                messageEvent.setData(message);
+                event = messageEvent;
+            } else if ("READ".equals(type)) {
+                ChatEvent.ReadEvent readEvent = new ChatEvent.ReadEvent();
+                readEvent.setData(messageId);
+                event = readEvent;
+            } else if ("TYPING".equals(type)) {
+                ChatEvent.TypingEvent typingEvent = new ChatEvent.TypingEvent();
+                typingEvent.setData(flag);
+                event = typingEvent;
+            } else if ("ONLINE".equals(type) || "OFFLINE".equals(type)) {
+                ChatEvent.StatusEvent statusEvent = new ChatEvent.StatusEvent();
+                statusEvent.setData(flag);
+                event = statusEvent;
+            } else {
+                throw new SerializationException("Unknown chat event type: " + type);
+            }
+            event.setType(type);
+            event.setSenderId(senderId);
+            event.setReceiverId(receiverId);
+            event.setChatRoomId(chatRoomId);
+            event.setTimestamp(timestamp);
+            return event;
+        }
+    };
+
+    // 모르는 메시지 타입(새 버전에서 추가된 값)은 일반 텍스트로 취급
+    private static ChatMessage.MessageType messageType(String name) {
+        try {
+            return ChatMessage.MessageType.valueOf(name);
+        } catch (IllegalArgumentException e) {
+            return ChatMessage.MessageType.TEXT;
+        }
+    }
+}
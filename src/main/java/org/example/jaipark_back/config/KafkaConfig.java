@@ -3,35 +3,50 @@ package org.example.jaipark_back.config;
 import org.apache.kafka.clients.admin.AdminClientConfig;
 import org.apache.kafka.clients.admin.NewTopic;
 import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.common.serialization.ByteArraySerializer;
+import org.apache.kafka.common.serialization.Serializer;
 import org.apache.kafka.common.serialization.StringSerializer;
+import com.fasterxml.jackson.core.type.TypeReference;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.kafka.annotation.EnableKafka;
 import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
 import org.springframework.kafka.config.TopicBuilder;
 import org.springframework.kafka.core.*;
+import org.springframework.kafka.support.serializer.ErrorHandlingDeserializer;
 import org.springframework.kafka.support.serializer.JsonDeserializer;
 import org.springframework.kafka.support.serializer.JsonSerializer;
 import org.example.jaipark_back.dto.NotificationEvent;
 import org.example.jaipark_back.dto.ChatEvent;
+import org.example.jaipark_back.codec.BinaryEventDeserializer;
+import org.example.jaipark_back.codec.BinaryEventSerializer;
+import org.example.jaipark_back.codec.EventSchema;
+import org.example.jaipark_back.codec.EventSchemas;
 import org.springframework.kafka.listener.ContainerProperties;
 import org.springframework.kafka.listener.DefaultErrorHandler;
 import org.springframework.kafka.listener.DeadLetterPublishingRecoverer;
 import org.springframework.util.backoff.FixedBackOff;
-import org.springframework.scheduling.annotation.EnableAsync;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.Executor;
 
 @EnableKafka
-@EnableAsync
 @Configuration
 public class KafkaConfig {
-    private static final String BOOTSTRAP_SERVERS = "localhost:9092";
     private static final String NOTIFICATION_GROUP = "notification-group";
+    private static final String EVENT_PACKAGE = "org.example.jaipark_back.dto";
+
+    @Value("${spring.kafka.bootstrap-servers:localhost:9092}")
+    private String bootstrapServers;
+
+    // 이벤트 값 포맷 (json | binary), 컨슈머는 설정과 관계없이 두 포맷을 모두 읽음
+    @Value("${kafka.codec:json}")
+    private String codec;
     
     // 알림 관련 토픽 이름 정의
     private static final String NOTIFICATION_TOPIC = "notification";
@@ -48,6 +63,20 @@ public class KafkaConfig {
     private static final String CHAT_TYPING_TOPIC = "chat-typing";
     private static final String CHAT_STATUS_TOPIC = "chat-status";
 
+    // 토큰 epoch 변경 전파 토픽
+    private static final String TOKEN_EPOCH_TOPIC = "token-epoch";
+
+    // 팔로우 그래프 변경 전파 토픽
+    private static final String FOLLOW_EDGE_TOPIC = "follow-edge";
+
+    /**
+     * 설정에 따라 JSON 또는 바이너리 값 Serializer 선택
+     * - 전환 순서: 모든 노드를 새 버전(json)으로 배포해 컨슈머가 두 포맷을 읽게 한 뒤 kafka.codec=binary로 변경
+     */
+    private <T> Serializer<T> valueSerializer(EventSchema<T> schema, JsonSerializer<T> jsonSerializer) {
+        return "binary".equalsIgnoreCase(codec) ? new BinaryEventSerializer<>(schema) : jsonSerializer;
+    }
+
     /**
      * 비동기 작업을 위한 스레드 풀 설정
      */
@@ -68,7 +97,7 @@ public class KafkaConfig {
     @Bean
     public KafkaAdmin kafkaAdmin() {
         Map<String, Object> configs = new HashMap<>();
-        configs.put(AdminClientConfig.BOOTSTRAP_SERVERS_CONFIG, BOOTSTRAP_SERVERS);
+        configs.put(AdminClientConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
         return new KafkaAdmin(configs);
     }
     
@@ -161,15 +190,30 @@ public class KafkaConfig {
             .build();
     }
 
+    @Bean
+    public NewTopic tokenEpochTopic() {
+        return TopicBuilder.name(TOKEN_EPOCH_TOPIC)
+            .partitions(1) // 변경량이 적고 사용자별 순서만 필요
+            .replicas(1)
+            .build();
+    }
+
+    @Bean
+    public NewTopic followEdgeTopic() {
+        return TopicBuilder.name(FOLLOW_EDGE_TOPIC)
+            .partitions(3) // 팔로워 ID 키로 사용자별 순서 유지
+            .replicas(1)
+            .build();
+    }
+
     /**
      * 단일 알림 이벤트 Producer 설정
      */
     @Bean
     public ProducerFactory<String, NotificationEvent> producerFactory() {
         Map<String, Object> configProps = new HashMap<>();
-        configProps.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, BOOTSTRAP_SERVERS);
+        configProps.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
         configProps.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
-        configProps.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, JsonSerializer.class);
         
         // 프로듀서 최적화 설정
         configProps.put(ProducerConfig.RETRIES_CONFIG, 3);
@@ -180,7 +224,8 @@ public class KafkaConfig {
         configProps.put(ProducerConfig.REQUEST_TIMEOUT_MS_CONFIG, 30000); // 요청 타임아웃
         configProps.put(ProducerConfig.MAX_BLOCK_MS_CONFIG, 60000); // 최대 블록 시간
         
-        return new DefaultKafkaProducerFactory<>(configProps);
+        return new DefaultKafkaProducerFactory<>(configProps, new StringSerializer(),
+            valueSerializer(EventSchemas.NOTIFICATION, new JsonSerializer<>()));
     }
 
     @Bean
@@ -194,9 +239,11 @@ public class KafkaConfig {
     @Bean
     public ProducerFactory<String, ChatEvent> chatProducerFactory() {
         Map<String, Object> configProps = new HashMap<>();
-        configProps.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, BOOTSTRAP_SERVERS);
+        configProps.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
         configProps.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
-        configProps.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, JsonSerializer.class);
+        // 재시도로 같은 레코드가 중복 기록되지 않도록 멱등 프로듀서 사용
+        configProps.put(ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG, true);
+        configProps.put(ProducerConfig.ACKS_CONFIG, "all");
         
         // 프로듀서 최적화 설정
         configProps.put(ProducerConfig.RETRIES_CONFIG, 3);
@@ -207,7 +254,9 @@ public class KafkaConfig {
         configProps.put(ProducerConfig.REQUEST_TIMEOUT_MS_CONFIG, 30000); // 요청 타임아웃
         configProps.put(ProducerConfig.MAX_BLOCK_MS_CONFIG, 60000); // 최대 블록 시간
         
-        return new DefaultKafkaProducerFactory<>(configProps);
+        // JSON이면 하위 타입은 본문의 type 값으로 결정하므로 클래스 이름 헤더는 보내지 않음
+        return new DefaultKafkaProducerFactory<>(configProps, new StringSerializer(),
+            valueSerializer(EventSchemas.CHAT_EVENT, new JsonSerializer<ChatEvent>().noTypeInfo()));
     }
 
     @Bean
@@ -215,22 +264,43 @@ public class KafkaConfig {
         return new KafkaTemplate<>(chatProducerFactory());
     }
     
+    /**
+     * 토큰 epoch 변경 Producer 설정 ("userId:epoch" 문자열, follow-edge 전파도 함께 사용)
+     */
+    @Bean
+    public ProducerFactory<String, String> tokenEpochProducerFactory() {
+        Map<String, Object> configProps = new HashMap<>();
+        configProps.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
+        configProps.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
+        configProps.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
+        configProps.put(ProducerConfig.RETRIES_CONFIG, 3);
+        configProps.put(ProducerConfig.RETRY_BACKOFF_MS_CONFIG, 1000);
+        configProps.put(ProducerConfig.LINGER_MS_CONFIG, 0); // 폐기는 바로 전파
+
+        return new DefaultKafkaProducerFactory<>(configProps);
+    }
+
+    @Bean
+    public KafkaTemplate<String, String> tokenEpochKafkaTemplate() {
+        return new KafkaTemplate<>(tokenEpochProducerFactory());
+    }
+
     /**
      * 배치 알림 이벤트 Producer 설정
      */
     @Bean
     public ProducerFactory<String, List<NotificationEvent>> batchProducerFactory() {
         Map<String, Object> configProps = new HashMap<>();
-        configProps.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, BOOTSTRAP_SERVERS);
+        configProps.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
         configProps.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
-        configProps.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, JsonSerializer.class);
         
         // 배치 처리를 위한 최적화 설정
         configProps.put(ProducerConfig.BATCH_SIZE_CONFIG, 32768); // 32KB
         configProps.put(ProducerConfig.LINGER_MS_CONFIG, 10); // 배치 전송 대기 시간
         configProps.put(ProducerConfig.COMPRESSION_TYPE_CONFIG, "snappy");
         
-        return new DefaultKafkaProducerFactory<>(configProps);
+        return new DefaultKafkaProducerFactory<>(configProps, new StringSerializer(),
+            valueSerializer(EventSchemas.NOTIFICATION_BATCH, new JsonSerializer<>()));
     }
 
     @Bean
@@ -238,21 +308,28 @@ public class KafkaConfig {
         return new KafkaTemplate<>(batchProducerFactory());
     }
 
+    /**
+     * DLQ로 원본 바이트를 그대로 보내는 Producer 설정 (역직렬화에 실패한 레코드용)
+     */
+    @Bean
+    public ProducerFactory<String, byte[]> deadLetterProducerFactory() {
+        Map<String, Object> configProps = new HashMap<>();
+        configProps.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
+        return new DefaultKafkaProducerFactory<>(configProps, new StringSerializer(), new ByteArraySerializer());
+    }
+
     /**
      * 단일 알림 Consumer 설정
+     * - 값 역직렬화 실패는 ErrorHandlingDeserializer가 예외로 감싸 에러 핸들러로 넘김 (파티션이 막히지 않음)
      */
     @Bean
     public ConsumerFactory<String, NotificationEvent> consumerFactory() {
         Map<String, Object> props = new HashMap<>();
-        props.put(org.apache.kafka.clients.consumer.ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, BOOTSTRAP_SERVERS);
+        props.put(org.apache.kafka.clients.consumer.ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
         props.put(org.apache.kafka.clients.consumer.ConsumerConfig.GROUP_ID_CONFIG, NOTIFICATION_GROUP);
-        props.put(org.apache.kafka.clients.consumer.ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, 
-                 org.apache.kafka.common.serialization.StringDeserializer.class);
-        props.put(org.apache.kafka.clients.consumer.ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, 
-                 JsonDeserializer.class);
         
         // 컨슈머 최적화 설정
-        props.put(JsonDeserializer.TRUSTED_PACKAGES, "*");
+        props.put(JsonDeserializer.TRUSTED_PACKAGES, EVENT_PACKAGE); // 타입 헤더로 허용할 패키지 (이벤트 DTO만)
         props.put(org.apache.kafka.clients.consumer.ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "earliest");
         props.put(org.apache.kafka.clients.consumer.ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, false);
         props.put(org.apache.kafka.clients.consumer.ConsumerConfig.MAX_POLL_RECORDS_CONFIG, 500); // 한 번에 가져올 최대 레코드 수
@@ -262,7 +339,8 @@ public class KafkaConfig {
         
         return new DefaultKafkaConsumerFactory<>(props, 
             new org.apache.kafka.common.serialization.StringDeserializer(), 
-            new JsonDeserializer<>(NotificationEvent.class));
+            new ErrorHandlingDeserializer<>(
+                new BinaryEventDeserializer<>(EventSchemas.NOTIFICATION, new JsonDeserializer<>(NotificationEvent.class))));
     }
     
     /**
@@ -271,21 +349,50 @@ public class KafkaConfig {
     @Bean
     public ConsumerFactory<String, List<NotificationEvent>> batchConsumerFactory() {
         Map<String, Object> props = new HashMap<>();
-        props.put(org.apache.kafka.clients.consumer.ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, BOOTSTRAP_SERVERS);
+        props.put(org.apache.kafka.clients.consumer.ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
         props.put(org.apache.kafka.clients.consumer.ConsumerConfig.GROUP_ID_CONFIG, "notification-batch-group");
-        props.put(org.apache.kafka.clients.consumer.ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, 
-                 org.apache.kafka.common.serialization.StringDeserializer.class);
-        props.put(org.apache.kafka.clients.consumer.ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, 
-                 JsonDeserializer.class);
         
-        props.put(JsonDeserializer.TRUSTED_PACKAGES, "*");
+        props.put(JsonDeserializer.TRUSTED_PACKAGES, EVENT_PACKAGE); // 타입 헤더로 허용할 패키지 (이벤트 DTO만)
         props.put(org.apache.kafka.clients.consumer.ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "earliest");
         props.put(org.apache.kafka.clients.consumer.ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, false);
         props.put(org.apache.kafka.clients.consumer.ConsumerConfig.MAX_POLL_RECORDS_CONFIG, 50); // 배치 처리를 위해 더 적은 수의 배치를 가져옴
         
         return new DefaultKafkaConsumerFactory<>(props, 
             new org.apache.kafka.common.serialization.StringDeserializer(), 
-            new JsonDeserializer<>(List.class));
+            new ErrorHandlingDeserializer<>(
+                new BinaryEventDeserializer<>(EventSchemas.NOTIFICATION_BATCH,
+                    // 타입 헤더(ArrayList)를 따르면 원소가 Map이 되므로 목록 타입을 고정
+                    new JsonDeserializer<>(new TypeReference<List<NotificationEvent>>() {}, false))));
+    }
+
+    /**
+     * 채팅 이벤트 Consumer 설정
+     * - 클래스 이름 헤더 대신 ChatEvent의 type 값으로 하위 타입을 골라 data까지 타입에 맞게 역직렬화
+     */
+    @Bean
+    public ConsumerFactory<String, ChatEvent> chatConsumerFactory() {
+        Map<String, Object> props = new HashMap<>();
+        props.put(org.apache.kafka.clients.consumer.ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
+        props.put(org.apache.kafka.clients.consumer.ConsumerConfig.GROUP_ID_CONFIG, "chat-group");
+        props.put(org.apache.kafka.clients.consumer.ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "earliest");
+        props.put(org.apache.kafka.clients.consumer.ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, false);
+        props.put(org.apache.kafka.clients.consumer.ConsumerConfig.MAX_POLL_RECORDS_CONFIG, 500);
+
+        return new DefaultKafkaConsumerFactory<>(props,
+            new org.apache.kafka.common.serialization.StringDeserializer(),
+            new ErrorHandlingDeserializer<>(
+                new BinaryEventDeserializer<>(EventSchemas.CHAT_EVENT, new JsonDeserializer<>(ChatEvent.class, false))));
+    }
+
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<String, ChatEvent> chatKafkaListenerContainerFactory() {
+        ConcurrentKafkaListenerContainerFactory<String, ChatEvent> factory =
+            new ConcurrentKafkaListenerContainerFactory<>();
+        factory.setConsumerFactory(chatConsumerFactory());
+        factory.getContainerProperties().setAckMode(ContainerProperties.AckMode.MANUAL_IMMEDIATE);
+        factory.setCommonErrorHandler(new DefaultErrorHandler(new FixedBackOff(1000L, 3)));
+        factory.setConcurrency(3);
+        return factory;
     }
 
     @Bean
@@ -298,7 +405,11 @@ public class KafkaConfig {
         factory.getContainerProperties().setAckMode(ContainerProperties.AckMode.MANUAL_IMMEDIATE);
         
         // 에러 처리 설정
-        DeadLetterPublishingRecoverer recoverer = new DeadLetterPublishingRecoverer(kafkaTemplate(), 
+        // 역직렬화 실패 레코드는 원본 byte[]로 전달되므로 바이트 템플릿으로 전송
+        Map<Class<?>, KafkaOperations<?, ?>> templates = new LinkedHashMap<>();
+        templates.put(byte[].class, new KafkaTemplate<>(deadLetterProducerFactory()));
+        templates.put(NotificationEvent.class, kafkaTemplate());
+        DeadLetterPublishingRecoverer recoverer = new DeadLetterPublishingRecoverer(templates, 
             (record, exception) -> {
                 // 에러 발생 시 DLQ 토픽으로 메시지 전송
                 return new org.apache.kafka.common.TopicPartition(DLQ_TOPIC, 0);
@@ -327,4 +438,30 @@ public class KafkaConfig {
         
         return factory;
     }
-}
\ No newline at end of file
+
+    /**
+     * 토큰 epoch 변경 Consumer 설정 (follow-edge 리스너도 함께 사용)
+     * - 노드마다 고유 그룹(리스너에서 지정)으로 모든 변경을 수신
+     * - 과거 변경은 기동 시 DB에서 읽으므로 최신 위치부터 소비
+     */
+    @Bean
+    public ConsumerFactory<String, String> tokenEpochConsumerFactory() {
+        Map<String, Object> props = new HashMap<>();
+        props.put(org.apache.kafka.clients.consumer.ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
+        props.put(org.apache.kafka.clients.consumer.ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "latest");
+        props.put(org.apache.kafka.clients.consumer.ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, true);
+
+        return new DefaultKafkaConsumerFactory<>(props,
+            new org.apache.kafka.common.serialization.StringDeserializer(),
+            new org.apache.kafka.common.serialization.StringDeserializer());
+    }
+
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<String, String> tokenEpochListenerContainerFactory() {
+        ConcurrentKafkaListenerContainerFactory<String, String> factory =
+            new ConcurrentKafkaListenerContainerFactory<>();
+        factory.setConsumerFactory(tokenEpochConsumerFactory());
+        factory.setConcurrency(1);
+        return factory;
+    }
+}
@@ -54,8 +54,8 @@ public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
                     String authHeader = accessor.getFirstNativeHeader("Authorization");
                     if (authHeader != null && authHeader.startsWith("Bearer ")) {
                         String token = authHeader.substring(7);
-                        if (jwtTokenProvider.validateToken(token)) {
-                            Authentication auth = jwtTokenProvider.getAuthentication(token);
+                        Authentication auth = jwtTokenProvider.authenticate(token);
+                        if (auth != null) {
                             accessor.setUser(auth);
                         }
                     }
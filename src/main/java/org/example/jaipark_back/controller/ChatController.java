@@ -3,6 +3,7 @@ package org.example.jaipark_back.controller;
 import lombok.RequiredArgsConstructor;
 import org.example.jaipark_back.dto.ChatMessageDto;
 import org.example.jaipark_back.dto.ChatRoomDto;
+import org.example.jaipark_back.dto.CursorPage;
 import org.example.jaipark_back.entity.ChatRoom;
 import org.example.jaipark_back.service.ChatProducer;
 import org.example.jaipark_back.service.ChatService;
@@ -17,7 +18,6 @@ import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 
 import java.security.Principal;
-import java.util.List;
 import java.util.Map;
 
 @RestController
@@ -32,12 +32,15 @@ public class ChatController {
     private final ChatProducer chatProducer;
     
     /**
-     * 채팅 목록 조회
+     * 채팅 목록 조회 (최근 메시지 순, 커서 기반)
      */
     @GetMapping("/rooms")
-    public ResponseEntity<List<ChatRoomDto>> getChatRooms(Authentication authentication) {
+    public ResponseEntity<CursorPage<ChatRoomDto>> getChatRooms(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int limit,
+            Authentication authentication) {
         String userId = authentication.getName();
-        List<ChatRoomDto> chatRooms = chatService.getChatRooms(userId);
+        CursorPage<ChatRoomDto> chatRooms = chatService.getChatRooms(userId, cursor, limit);
         return ResponseEntity.ok(chatRooms);
     }
     
@@ -69,8 +72,10 @@ public class ChatController {
         String userId = authentication.getName();
         Page<ChatMessageDto> messages = chatService.getChatMessages(roomId, userId, page, size);
         
-        // 메시지 읽음 표시
-        chatService.markMessagesAsRead(roomId, userId);
+        // 채팅방을 열 때(첫 페이지)만 읽음 표시, 이전 메시지 페이지 조회는 읽음 위치와 무관
+        if (page == 0) {
+            chatService.markMessagesAsRead(roomId, userId);
+        }
         
         return ResponseEntity.ok(messages);
     }
@@ -123,11 +128,8 @@ public class ChatController {
         
         logger.info("Received message from {}: {}", senderId, chatMessage);
         
-        // 메시지 저장 및 전송
-        ChatMessageDto savedMessage = chatService.sendMessage(chatMessage);
-        
-        // Kafka를 통해 메시지 전송 (이벤트 기반 처리)
-        chatProducer.sendChatMessage(savedMessage);
+        // 메시지 저장 및 전송 (Kafka 발행은 ChatService가 커밋 후 한 번만 수행)
+        chatService.sendMessage(chatMessage);
     }
     
     /**
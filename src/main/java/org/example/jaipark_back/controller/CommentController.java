@@ -2,14 +2,14 @@ package org.example.jaipark_back.controller;
 
 import org.example.jaipark_back.dto.CommentRequest;
 import org.example.jaipark_back.dto.CommentResponse;
+import org.example.jaipark_back.dto.CursorPage;
 import org.example.jaipark_back.service.CommentService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
+import org.example.jaipark_back.security.UserPrincipal;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
-
 @RestController
 @CrossOrigin(origins = "*", allowedHeaders = "*")
 public class CommentController {
@@ -25,13 +25,30 @@ public class CommentController {
     }
 
     @GetMapping("/api/posts/{postId}/comments")
-    public ResponseEntity<List<CommentResponse>> getComments(@PathVariable Long postId) {
-        return ResponseEntity.ok(commentService.getCommentsByPostId(postId));
+    public ResponseEntity<CursorPage<CommentResponse>> getComments(
+            @PathVariable Long postId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int limit) {
+        return ResponseEntity.ok(commentService.getCommentsByPostId(postId, cursor, limit));
     }
 
     @GetMapping("/api/comments/my")
-    public ResponseEntity<?> getMyComments(Authentication authentication) {
-        return ResponseEntity.ok(commentService.getCommentsByUsername(authentication.getName()));
+    public ResponseEntity<CursorPage<CommentResponse>> getMyComments(
+            Authentication authentication,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int limit) {
+        return ResponseEntity.ok(commentService.getCommentsByUserId(UserPrincipal.currentId(authentication), cursor, limit));
+    }
+
+    /**
+     * 댓글 아래 답글 스레드 (깊이 우선 순서, 키셋 페이지)
+     */
+    @GetMapping("/api/comments/{id}/replies")
+    public ResponseEntity<CursorPage<CommentResponse>> getReplies(
+            @PathVariable Long id,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int limit) {
+        return ResponseEntity.ok(commentService.getReplies(id, cursor, limit));
     }
 
     @PutMapping("/api/posts/{postId}/comments/{id}")
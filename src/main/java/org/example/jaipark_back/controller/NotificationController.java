@@ -1,12 +1,13 @@
 package org.example.jaipark_back.controller;
 
 import lombok.RequiredArgsConstructor;
+import org.example.jaipark_back.dto.CursorPage;
 import org.example.jaipark_back.entity.Notification;
+import org.example.jaipark_back.security.UserPrincipal;
 import org.example.jaipark_back.service.NotificationService;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
-import java.util.List;
 
 @RestController
 @RequestMapping("/api/notifications")
@@ -17,9 +18,11 @@ public class NotificationController {
 
     // 알림 목록 조회
     @GetMapping
-    public ResponseEntity<List<Notification>> getNotifications(Authentication authentication) {
-        String username = authentication.getName();
-        return ResponseEntity.ok(notificationService.getNotifications(username));
+    public ResponseEntity<CursorPage<Notification>> getNotifications(
+            Authentication authentication,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int limit) {
+        return ResponseEntity.ok(notificationService.getNotifications(UserPrincipal.currentId(authentication), cursor, limit));
     }
 
     // 알림 읽음 처리
@@ -33,7 +36,6 @@ public class NotificationController {
     // 안읽은 알림 수
     @GetMapping("/unread-count")
     public ResponseEntity<Long> countUnread(Authentication authentication) {
-        String username = authentication.getName();
-        return ResponseEntity.ok(notificationService.countUnread(username));
+        return ResponseEntity.ok(notificationService.countUnread(UserPrincipal.currentId(authentication)));
     }
 } 
\ No newline at end of file
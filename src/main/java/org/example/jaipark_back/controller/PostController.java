@@ -1,7 +1,9 @@
 package org.example.jaipark_back.controller;
 
+import org.example.jaipark_back.dto.CursorPage;
 import org.example.jaipark_back.dto.PostRequest;
 import org.example.jaipark_back.dto.PostResponse;
+import org.example.jaipark_back.security.UserPrincipal;
 import org.example.jaipark_back.service.PostService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
@@ -10,8 +12,6 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 
-import java.time.LocalDateTime;
-import java.util.HashMap;
 import java.util.List;
 
 import java.util.Map;
@@ -51,50 +51,97 @@ public class PostController {
 
     @PostMapping("/{id}/like")
     public ResponseEntity<?> toggleLike(@PathVariable Long id, Authentication authentication) {
-        boolean liked = postService.toggleLike(id, authentication.getName());
+        boolean liked = postService.toggleLike(id, currentUserId(authentication));
         long count = postService.countLikes(id);
         return ResponseEntity.ok(Map.of("liked", liked, "count", count));
     }
 
     @GetMapping("/{id}/like")
     public ResponseEntity<?> isLiked(@PathVariable Long id, Authentication authentication) {
-        boolean liked = postService.isLiked(id, authentication.getName());
+        boolean liked = postService.isLiked(id, currentUserId(authentication));
         long count = postService.countLikes(id);
         return ResponseEntity.ok(Map.of("liked", liked, "count", count));
     }
 
+    /**
+     * 멱등 좋아요 API (중복 요청/재시도 시 changed=false)
+     */
+    @PutMapping("/{id}/like")
+    public ResponseEntity<?> like(@PathVariable Long id, Authentication authentication) {
+        boolean changed = postService.like(id, currentUserId(authentication));
+        return ResponseEntity.ok(Map.of("liked", true, "changed", changed));
+    }
+
+    @DeleteMapping("/{id}/like")
+    public ResponseEntity<?> unlike(@PathVariable Long id, Authentication authentication) {
+        boolean changed = postService.unlike(id, currentUserId(authentication));
+        return ResponseEntity.ok(Map.of("liked", false, "changed", changed));
+    }
+
     @PostMapping("/{id}/bookmark")
     public ResponseEntity<?> toggleBookmark(@PathVariable Long id, Authentication authentication) {
-        boolean bookmarked = postService.toggleBookmark(id, authentication.getName());
+        boolean bookmarked = postService.toggleBookmark(id, currentUserId(authentication));
         long count = postService.countBookmarks(id);
         return ResponseEntity.ok(Map.of("bookmarked", bookmarked, "count", count));
     }
 
     @GetMapping("/{id}/bookmark")
     public ResponseEntity<?> isBookmarked(@PathVariable Long id, Authentication authentication) {
-        boolean bookmarked = postService.isBookmarked(id, authentication.getName());
+        boolean bookmarked = postService.isBookmarked(id, currentUserId(authentication));
         long count = postService.countBookmarks(id);
         return ResponseEntity.ok(Map.of("bookmarked", bookmarked, "count", count));
     }
 
+    /**
+     * 멱등 북마크 API (중복 요청/재시도 시 changed=false)
+     */
+    @PutMapping("/{id}/bookmark")
+    public ResponseEntity<?> bookmark(@PathVariable Long id, Authentication authentication) {
+        boolean changed = postService.bookmark(id, currentUserId(authentication));
+        return ResponseEntity.ok(Map.of("bookmarked", true, "changed", changed));
+    }
+
+    @DeleteMapping("/{id}/bookmark")
+    public ResponseEntity<?> unbookmark(@PathVariable Long id, Authentication authentication) {
+        boolean changed = postService.unbookmark(id, currentUserId(authentication));
+        return ResponseEntity.ok(Map.of("bookmarked", false, "changed", changed));
+    }
+
+    /**
+     * 피드 한 페이지의 좋아요/북마크 여부 일괄 조회 API
+     */
+    @GetMapping("/reactions")
+    public ResponseEntity<?> getReactions(@RequestParam List<Long> postIds, Authentication authentication) {
+        return ResponseEntity.ok(postService.getReactions(postIds, currentUserId(authentication)));
+    }
+
     @GetMapping("/my")
-    public ResponseEntity<?> getMyPosts(Authentication authentication) {
-        return ResponseEntity.ok(postService.getPostsByUsername(authentication.getName()));
+    public ResponseEntity<CursorPage<PostResponse>> getMyPosts(
+            Authentication authentication,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int limit) {
+        return ResponseEntity.ok(postService.getPostsByUserId(currentUserId(authentication), cursor, limit));
     }
 
     @GetMapping("/liked")
-    public ResponseEntity<?> getLikedPosts(Authentication authentication) {
-        return ResponseEntity.ok(postService.getLikedPosts(authentication.getName()));
+    public ResponseEntity<CursorPage<PostResponse>> getLikedPosts(
+            Authentication authentication,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int limit) {
+        return ResponseEntity.ok(postService.getLikedPosts(currentUserId(authentication), cursor, limit));
     }
 
     @GetMapping("/bookmarked")
-    public ResponseEntity<?> getBookmarkedPosts(Authentication authentication) {
-        return ResponseEntity.ok(postService.getBookmarkedPosts(authentication.getName()));
+    public ResponseEntity<CursorPage<PostResponse>> getBookmarkedPosts(
+            Authentication authentication,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int limit) {
+        return ResponseEntity.ok(postService.getBookmarkedPosts(currentUserId(authentication), cursor, limit));
     }
 
     @GetMapping("/followings")
     public ResponseEntity<?> getFollowingsPosts(Authentication authentication) {
-        List<PostResponse> followingPosts = postService.getFollowingsPosts(authentication.getName());
+        List<PostResponse> followingPosts = postService.getFollowingsPosts(currentUserId(authentication));
         return ResponseEntity.ok(followingPosts);
     }
     
@@ -102,48 +149,34 @@ public class PostController {
      * 키셋 페이지네이션을 이용한 게시물 목록 조회 API
      */
     @GetMapping("/cursor")
-    public ResponseEntity<List<PostResponse>> getPostsWithCursor(
-            @RequestParam(required = false) Long lastPostId,
-            @RequestParam(defaultValue = "20") int limit) {
-        return ResponseEntity.ok(postService.getPostsWithCursor(lastPostId, limit));
+    public ResponseEntity<CursorPage<PostResponse>> getPostsWithCursor(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int limit,
+            @RequestParam(defaultValue = "0") int comments) {
+        return ResponseEntity.ok(postService.getPostsWithCursor(cursor, limit, comments));
     }
     
     /**
      * 시간 기반 키셋 페이지네이션 API
      */
     @GetMapping("/time-cursor")
-    public ResponseEntity<List<PostResponse>> getPostsWithTimeCursor(
-            @RequestParam(required = false) LocalDateTime createdAt,
-            @RequestParam(required = false) Long id,
-            @RequestParam(defaultValue = "20") int limit) {
-        
-        Map<String, Object> cursorParams = new HashMap<>();
-        if (createdAt != null && id != null) {
-            cursorParams.put("createdAt", createdAt);
-            cursorParams.put("id", id);
-        }
-        
-        return ResponseEntity.ok(postService.getPostsWithTimeCursor(cursorParams, limit));
+    public ResponseEntity<CursorPage<PostResponse>> getPostsWithTimeCursor(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int limit,
+            @RequestParam(defaultValue = "0") int comments) {
+        return ResponseEntity.ok(postService.getPostsWithTimeCursor(cursor, limit, comments));
     }
     
     /**
      * 팔로잉 게시물을 위한 키셋 페이지네이션 API
      */
     @GetMapping("/followings/cursor")
-    public ResponseEntity<?> getFollowingsPostsWithCursor(
+    public ResponseEntity<CursorPage<PostResponse>> getFollowingsPostsWithCursor(
             Authentication authentication,
-            @RequestParam(required = false) LocalDateTime createdAt,
-            @RequestParam(required = false) Long id,
-            @RequestParam(defaultValue = "20") int limit) {
-        
-        Map<String, Object> cursorParams = new HashMap<>();
-        if (createdAt != null && id != null) {
-            cursorParams.put("createdAt", createdAt);
-            cursorParams.put("id", id);
-        }
-        
-        return ResponseEntity.ok(postService.getFollowingsPostsWithCursor(
-                authentication.getName(), cursorParams, limit));
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int limit,
+            @RequestParam(defaultValue = "0") int comments) {
+        return ResponseEntity.ok(postService.getFollowingsPostsWithCursor(currentUserId(authentication), cursor, limit, comments));
     }
 
     @GetMapping("/search")
@@ -154,4 +187,9 @@ public class PostController {
     ) {
         return ResponseEntity.ok(postService.searchPosts(keyword, page, size));
     }
+
+    // JWT 필터가 넣어 둔 UserPrincipal에서 사용자 ID를 꺼냄 (DB 조회 없음)
+    private Long currentUserId(Authentication authentication) {
+        return UserPrincipal.currentId(authentication);
+    }
 } 
\ No newline at end of file
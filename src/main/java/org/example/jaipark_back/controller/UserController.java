@@ -1,14 +1,20 @@
 package org.example.jaipark_back.controller;
 
 import lombok.RequiredArgsConstructor;
+import org.example.jaipark_back.dto.CursorPage;
+import org.example.jaipark_back.dto.UserSuggestionResponse;
+import org.example.jaipark_back.dto.UserSummaryResponse;
 import org.example.jaipark_back.dto.UserUpdateRequest;
 import org.example.jaipark_back.dto.PasswordChangeRequest;
 import org.example.jaipark_back.dto.UserResponse;
+import org.example.jaipark_back.security.UserPrincipal;
 import org.example.jaipark_back.service.UserService;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
+
 @RestController
 @RequestMapping("/api/users")
 @RequiredArgsConstructor
@@ -32,6 +38,27 @@ public class UserController {
         return ResponseEntity.ok().build();
     }
 
+    // 모든 기기에서 로그아웃 (현재 토큰 포함)
+    @PostMapping("/me/logout-all")
+    public ResponseEntity<?> logoutEverywhere(Authentication authentication) {
+        userService.logoutEverywhere(UserPrincipal.currentId(authentication));
+        return ResponseEntity.ok().build();
+    }
+
+    // 알 수도 있는 사람 추천
+    @GetMapping("/me/suggestions")
+    public ResponseEntity<List<UserSuggestionResponse>> getSuggestions(
+            Authentication authentication,
+            @RequestParam(defaultValue = "20") int limit) {
+        return ResponseEntity.ok(userService.getSuggestions(UserPrincipal.currentId(authentication), limit));
+    }
+
+    // 사용자 검색 (username/nickname 접두사 및 오타 허용)
+    @GetMapping("/search")
+    public ResponseEntity<?> searchUsers(@RequestParam String q, @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(userService.searchUsers(q, limit));
+    }
+
     @GetMapping("/{username}")
     public ResponseEntity<UserResponse> getUserProfile(@PathVariable String username) {
         return ResponseEntity.ok(userService.getPublicProfile(username));
@@ -51,32 +78,30 @@ public class UserController {
         return ResponseEntity.ok().build();
     }
 
-    // 팔로잉 목록
+    // 팔로잉 목록 (요약 정보 + 내가 팔로우 중인지)
     @GetMapping("/{username}/following")
-    public ResponseEntity<?> getFollowing(@PathVariable String username) {
-        return ResponseEntity.ok(userService.getFollowing(username));
+    public ResponseEntity<CursorPage<UserSummaryResponse>> getFollowing(
+            @PathVariable String username,
+            Authentication authentication,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int limit) {
+        return ResponseEntity.ok(userService.getFollowing(username, UserPrincipal.currentId(authentication), cursor, limit));
     }
 
-    // 팔로워 목록
+    // 팔로워 목록 (요약 정보 + 내가 팔로우 중인지)
     @GetMapping("/{username}/followers")
-    public ResponseEntity<?> getFollowers(@PathVariable String username) {
-        return ResponseEntity.ok(userService.getFollowers(username));
+    public ResponseEntity<CursorPage<UserSummaryResponse>> getFollowers(
+            @PathVariable String username,
+            Authentication authentication,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int limit) {
+        return ResponseEntity.ok(userService.getFollowers(username, UserPrincipal.currentId(authentication), cursor, limit));
     }
 
     // 팔로우 여부 및 카운트
     @GetMapping("/{username}/follow-status")
     public ResponseEntity<?> getFollowStatus(@PathVariable String username, Authentication authentication) {
-        String me = authentication != null ? authentication.getName() : null;
-        boolean isFollowing = false;
-        if (me != null) {
-            isFollowing = userService.isFollowing(me, username);
-        }
-        long followingCount = userService.countFollowing(username);
-        long followerCount = userService.countFollowers(username);
-        return ResponseEntity.ok(java.util.Map.of(
-            "isFollowing", isFollowing,
-            "followingCount", followingCount,
-            "followerCount", followerCount
-        ));
+        Long me = authentication != null ? UserPrincipal.currentId(authentication) : null;
+        return ResponseEntity.ok(userService.getFollowStatus(me, username));
     }
 } 
\ No newline at end of file
@@ -1,24 +1,83 @@
 package org.example.jaipark_back.dto;
 
-import lombok.AllArgsConstructor;
+import com.fasterxml.jackson.annotation.JsonSubTypes;
+import com.fasterxml.jackson.annotation.JsonTypeInfo;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
 import java.time.LocalDateTime;
 
+/**
+ * 채팅 이벤트 (Kafka/WebSocket 공통)
+ * - type 값으로 하위 타입을 고르므로 JSON 형태는 그대로이고, 역직렬화하면 data가 타입에 맞는 객체로 채워짐
+ */
 @Data
 @NoArgsConstructor
-@AllArgsConstructor
-public class ChatEvent {
+@JsonTypeInfo(use = JsonTypeInfo.Id.NAME, include = JsonTypeInfo.As.EXISTING_PROPERTY, property = "type", visible = true)
+@JsonSubTypes({
+        @JsonSubTypes.Type(value = ChatEvent.MessageEvent.class, name = "MESSAGE"),
+        @JsonSubTypes.Type(value = ChatEvent.ReadEvent.class, name = "READ"),
+        @JsonSubTypes.Type(value = ChatEvent.TypingEvent.class, name = "TYPING"),
+        @JsonSubTypes.Type(value = ChatEvent.StatusEvent.class, names = {"ONLINE", "OFFLINE"})
+})
+public abstract sealed class ChatEvent {
     private String type;          // "MESSAGE", "READ", "TYPING", "ONLINE", "OFFLINE"
     private String senderId;      // 발신자 ID
     private String receiverId;    // 수신자 ID
     private String chatRoomId;    // 채팅방 ID
-    private Object data;          // 이벤트 데이터 (메시지 등)
     private LocalDateTime timestamp = LocalDateTime.now();
-    
+
+    // 이벤트 데이터 (하위 타입별로 메시지, 읽은 메시지 ID, 타이핑 여부, 온라인 여부)
+    public abstract Object getData();
+
+    /**
+     * 채팅 메시지 이벤트
+     */
+    @Data
+    @EqualsAndHashCode(callSuper = true)
+    @ToString(callSuper = true)
+    @NoArgsConstructor
+    public static final class MessageEvent extends ChatEvent {
+        private ChatMessageDto data;
+    }
+
+    /**
+     * 읽음 확인 이벤트 (data: 마지막으로 읽은 메시지 ID)
+     */
+    @Data
+    @EqualsAndHashCode(callSuper = true)
+    @ToString(callSuper = true)
+    @NoArgsConstructor
+    public static final class ReadEvent extends ChatEvent {
+        private Long data;
+    }
+
+    /**
+     * 타이핑 상태 이벤트 (data: 입력 중 여부)
+     */
+    @Data
+    @EqualsAndHashCode(callSuper = true)
+    @ToString(callSuper = true)
+    @NoArgsConstructor
+    public static final class TypingEvent extends ChatEvent {
+        private Boolean data;
+    }
+
+    /**
+     * 온라인 상태 이벤트 (type: ONLINE/OFFLINE, data: 온라인 여부)
+     */
+    @Data
+    @EqualsAndHashCode(callSuper = true)
+    @ToString(callSuper = true)
+    @NoArgsConstructor
+    public static final class StatusEvent extends ChatEvent {
+        private Boolean data;
+    }
+
     // 메시지 이벤트 생성 헬퍼 메소드
-    public static ChatEvent messageEvent(String senderId, String receiverId, ChatMessageDto message) {
-        ChatEvent event = new ChatEvent();
+    public static MessageEvent messageEvent(String senderId, String receiverId, ChatMessageDto message) {
+        MessageEvent event = new MessageEvent();
         event.setType("MESSAGE");
         event.setSenderId(senderId);
         event.setReceiverId(receiverId);
@@ -26,10 +85,10 @@ public class ChatEvent {
         event.setData(message);
         return event;
     }
-    
+
     // 읽음 확인 이벤트 생성 헬퍼 메소드
-    public static ChatEvent readEvent(String senderId, String receiverId, String chatRoomId, Long messageId) {
-        ChatEvent event = new ChatEvent();
+    public static ReadEvent readEvent(String senderId, String receiverId, String chatRoomId, Long messageId) {
+        ReadEvent event = new ReadEvent();
         event.setType("READ");
         event.setSenderId(senderId);
         event.setReceiverId(receiverId);
@@ -37,10 +96,10 @@ public class ChatEvent {
         event.setData(messageId);
         return event;
     }
-    
+
     // 타이핑 이벤트 생성 헬퍼 메소드
-    public static ChatEvent typingEvent(String senderId, String receiverId, String chatRoomId, boolean isTyping) {
-        ChatEvent event = new ChatEvent();
+    public static TypingEvent typingEvent(String senderId, String receiverId, String chatRoomId, boolean isTyping) {
+        TypingEvent event = new TypingEvent();
         event.setType("TYPING");
         event.setSenderId(senderId);
         event.setReceiverId(receiverId);
@@ -48,10 +107,10 @@ public class ChatEvent {
         event.setData(isTyping);
         return event;
     }
-    
+
     // 온라인 상태 이벤트 생성 헬퍼 메소드
-    public static ChatEvent onlineStatusEvent(String userId, boolean isOnline) {
-        ChatEvent event = new ChatEvent();
+    public static StatusEvent onlineStatusEvent(String userId, boolean isOnline) {
+        StatusEvent event = new StatusEvent();
         event.setType(isOnline ? "ONLINE" : "OFFLINE");
         event.setSenderId(userId);
         event.setData(isOnline);
@@ -11,6 +11,7 @@ import java.time.LocalDateTime;
 @AllArgsConstructor
 public class ChatMessageDto {
     private Long id;
+    private String clientMessageId; // 클라이언트가 만든 메시지 ID (재전송 시 같은 값)
     private String senderId;
     private String receiverId;
     private String content;
@@ -34,6 +35,7 @@ public class ChatMessageDto {
     public static ChatMessageDto fromEntity(ChatMessage entity) {
         ChatMessageDto dto = new ChatMessageDto();
         dto.setId(entity.getId());
+        dto.setClientMessageId(entity.getClientMessageId());
         dto.setSenderId(entity.getSenderId());
         dto.setReceiverId(entity.getReceiverId());
         dto.setContent(entity.getContent());
@@ -48,6 +50,7 @@ public class ChatMessageDto {
     public ChatMessage toEntity() {
         ChatMessage entity = new ChatMessage();
         entity.setId(this.id);
+        entity.setClientMessageId(this.clientMessageId);
         entity.setSenderId(this.senderId);
         entity.setReceiverId(this.receiverId);
         entity.setContent(this.content);
@@ -14,13 +14,14 @@ public class ChatRoomDto {
     private String otherUserId;
     private String otherUserNickname;
     private String lastMessage;
+    private String lastSenderId;
     private LocalDateTime lastMessageTime;
     private int unreadCount;
     private String profileImage;
     
-    // ChatRoom 엔티티와 추가 데이터로부터 DTO 생성
-    public static ChatRoomDto fromEntity(ChatRoom chatRoom, String currentUserId, String lastMessage, 
-                                        int unreadCount, String otherUserNickname, String profileImage) {
+    // ChatRoom 엔티티(요약 컬럼 포함)와 상대방 프로필로부터 DTO 생성
+    public static ChatRoomDto fromEntity(ChatRoom chatRoom, String currentUserId,
+                                        String otherUserNickname, String profileImage) {
         ChatRoomDto dto = new ChatRoomDto();
         dto.setId(chatRoom.getId());
         
@@ -30,9 +31,10 @@ public class ChatRoomDto {
         dto.setOtherUserId(otherUserId);
         
         dto.setOtherUserNickname(otherUserNickname);
-        dto.setLastMessage(lastMessage);
+        dto.setLastMessage(chatRoom.getLastMessagePreview() != null ? chatRoom.getLastMessagePreview() : "");
+        dto.setLastSenderId(chatRoom.getLastSenderId());
         dto.setLastMessageTime(chatRoom.getLastMessageTime());
-        dto.setUnreadCount(unreadCount);
+        dto.setUnreadCount(chatRoom.getUnreadCount(currentUserId));
         dto.setProfileImage(profileImage);
         
         return dto;
@@ -7,4 +7,6 @@ import lombok.Setter;
 @Setter
 public class CommentRequest {
     private String content;
+    // 답글이면 부모 댓글 ID
+    private Long parentId;
 } 
\ No newline at end of file
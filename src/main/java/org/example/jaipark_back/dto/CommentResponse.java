@@ -3,6 +3,7 @@ package org.example.jaipark_back.dto;
 import lombok.Getter;
 import lombok.Setter;
 import java.time.LocalDateTime;
+import java.util.List;
 
 @Getter
 @Setter
@@ -15,4 +16,10 @@ public class CommentResponse {
     private Long postId;
     private String postTitle;
     private String nickname;
+    private Long parentId;
+    private Long rootId;
+    private int depth;
+    private long replyCount;
+    // 루트 댓글 목록에서만 채워지는 상위 N개 답글
+    private List<CommentResponse> replies;
 } 
\ No newline at end of file
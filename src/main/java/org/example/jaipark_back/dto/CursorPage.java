@@ -0,0 +1,34 @@
+package org.example.jaipark_back.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * 키셋 페이지네이션 공통 응답 {items, nextCursor}
+ * nextCursor가 null이면 마지막 페이지
+ */
+@Getter
+@AllArgsConstructor
+public class CursorPage<T> {
+    private List<T> items;
+    private String nextCursor;
+
+    /**
+     * limit + 1개를 조회한 결과로 페이지 생성 (한 개 더 있으면 다음 커서를 만듦)
+     * @param rows limit + 1개까지 조회한 행
+     * @param limit 페이지 크기
+     * @param cursorOf 행의 정렬 키로 커서 토큰 생성
+     * @param converter 페이지 단위 응답 변환
+     */
+    public static <E, T> CursorPage<T> of(List<E> rows, int limit,
+                                          Function<E, String> cursorOf,
+                                          Function<List<E>, List<T>> converter) {
+        boolean hasNext = rows.size() > limit;
+        List<E> page = hasNext ? rows.subList(0, limit) : rows;
+        String nextCursor = hasNext ? cursorOf.apply(page.get(page.size() - 1)) : null;
+        return new CursorPage<>(converter.apply(page), nextCursor);
+    }
+}
@@ -7,6 +7,7 @@ import lombok.Setter;
 @Setter
 public class NotificationEvent {
     private String username; // 알림 수신자
+    private Long userId; // 알림 수신자 ID (있으면 username 조회 생략)
     private String type; // COMMENT, FOLLOW 등
     private String message;
     private Long postId; // 관련 게시글 ID(댓글 알림 등)
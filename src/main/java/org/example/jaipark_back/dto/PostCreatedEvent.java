@@ -0,0 +1,14 @@
+package org.example.jaipark_back.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 게시글 생성 트랜잭션이 커밋된 뒤 타임라인 팬아웃에 사용되는 이벤트
+ */
+@Getter
+@AllArgsConstructor
+public class PostCreatedEvent {
+    private Long postId;
+    private Long authorId;
+}
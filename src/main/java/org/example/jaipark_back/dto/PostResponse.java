@@ -16,6 +16,12 @@ public class PostResponse {
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
     private List<CommentResponse> comments;
+    // 상세 조회 시 첫 댓글 페이지 다음 커서 (GET /api/posts/{id}/comments?cursor=)
+    private String commentsNextCursor;
     private Long likeCount;
     private Long bookmarkCount;
+    private Long commentCount;
+    // 검색 결과에서만 채워짐 (검색어 일치 구간을 <em>으로 감싼 HTML)
+    private String titleHighlight;
+    private String contentHighlight;
 } 
\ No newline at end of file
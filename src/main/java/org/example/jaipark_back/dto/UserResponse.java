@@ -13,6 +13,4 @@ public class UserResponse {
     private String profileImage;
     private long followerCount;
     private long followingCount;
-    private java.util.List<UserResponse> followers;
-    private java.util.List<UserResponse> followings;
 } 
\ No newline at end of file
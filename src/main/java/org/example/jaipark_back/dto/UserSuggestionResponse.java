@@ -0,0 +1,17 @@
+package org.example.jaipark_back.dto;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * 추천 사용자 (내 팔로잉 중 이 사용자를 팔로우하는 수 포함)
+ */
+@Getter
+@Setter
+public class UserSuggestionResponse {
+    private Long id;
+    private String username;
+    private String nickname;
+    private String profileImage;
+    private int mutualCount;
+}
@@ -0,0 +1,17 @@
+package org.example.jaipark_back.dto;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * 팔로워/팔로잉 목록용 사용자 요약 (조회자가 팔로우 중인지 포함)
+ */
+@Getter
+@Setter
+public class UserSummaryResponse {
+    private Long id;
+    private String username;
+    private String nickname;
+    private String profileImage;
+    private boolean followedByMe;
+}
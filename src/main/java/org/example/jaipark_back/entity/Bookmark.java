@@ -7,7 +7,9 @@ import lombok.Setter;
 @Entity
 @Getter
 @Setter
-@Table(name = "bookmarks", uniqueConstraints = {@UniqueConstraint(columnNames = {"user_id", "post_id"})})
+@Table(name = "bookmarks",
+        uniqueConstraints = {@UniqueConstraint(columnNames = {"user_id", "post_id"})},
+        indexes = @Index(name = "idx_bookmarks_user_id_id", columnList = "user_id, id"))
 public class Bookmark {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
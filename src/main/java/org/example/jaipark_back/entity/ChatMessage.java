@@ -7,11 +7,15 @@ import lombok.NoArgsConstructor;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "chat_messages")
+@Table(name = "chat_messages",
+        indexes = @Index(name = "idx_chat_messages_room_id_id", columnList = "chat_room_id, id"),
+        uniqueConstraints = @UniqueConstraint(name = "uk_chat_messages_sender_client_id",
+                columnNames = {"sender_id", "client_message_id"}))
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class ChatMessage {
+    public static final int CLIENT_MESSAGE_ID_LENGTH = 64;
     
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -23,6 +27,10 @@ public class ChatMessage {
     @Column(nullable = false)
     private String receiverId; // 받는 사람의 username
     
+    // 클라이언트가 만든 메시지 ID (보낸 사람 기준 유일, 재전송 중복 제거용)
+    @Column(length = CLIENT_MESSAGE_ID_LENGTH)
+    private String clientMessageId;
+    
     @Column(nullable = false, columnDefinition = "TEXT")
     private String content;
     
@@ -33,6 +41,7 @@ public class ChatMessage {
     @Column(nullable = false)
     private LocalDateTime timestamp = LocalDateTime.now();
     
+    // 더 이상 갱신하지 않음 (읽음 여부는 ChatRoom의 사용자별 마지막 읽은 메시지 ID로 판단)
     @Column(nullable = false)
     private boolean isRead = false;
     
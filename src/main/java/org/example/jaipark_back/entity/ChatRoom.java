@@ -7,11 +7,17 @@ import lombok.NoArgsConstructor;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "chat_rooms")
+@Table(name = "chat_rooms", indexes = {
+        // 받은편지함 키셋 조회 (참여자별 최근 메시지 순)
+        @Index(name = "idx_chat_rooms_user1_time", columnList = "user1_id, last_message_time, last_message_id"),
+        @Index(name = "idx_chat_rooms_user2_time", columnList = "user2_id, last_message_time, last_message_id")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class ChatRoom {
+    // 마지막 메시지 미리보기 최대 길이
+    public static final int PREVIEW_LENGTH = 100;
     
     @Id
     @Column(nullable = false)
@@ -29,13 +35,29 @@ public class ChatRoom {
     @Column(nullable = false)
     private LocalDateTime createdAt = LocalDateTime.now();
     
-    // 사용자별 마지막으로 읽은 메시지 ID
+    // 사용자별 마지막으로 읽은 메시지 ID (읽음 상태의 유일한 기준, 이 ID 이하의 받은 메시지는 읽음)
     @Column(name = "user1_last_read_message_id")
     private Long user1LastReadMessageId;
     
     @Column(name = "user2_last_read_message_id")
     private Long user2LastReadMessageId;
     
+    // 받은편지함 요약 (메시지 전송 시 함께 갱신, 메시지가 없으면 0/null)
+    @Column(nullable = false, columnDefinition = "bigint default 0")
+    private long lastMessageId;
+    
+    @Column(length = PREVIEW_LENGTH)
+    private String lastMessagePreview;
+    
+    private String lastSenderId;
+    
+    // 사용자별 안 읽은 메시지 수 (= 마지막 읽은 메시지 ID 이후 받은 메시지 수, 읽음 처리 시 함께 0으로)
+    @Column(nullable = false, columnDefinition = "int default 0")
+    private int user1UnreadCount;
+    
+    @Column(nullable = false, columnDefinition = "int default 0")
+    private int user2UnreadCount;
+    
     // 생성자 오버로딩
     public ChatRoom(String user1Id, String user2Id) {
         this.user1Id = user1Id;
@@ -45,13 +67,29 @@ public class ChatRoom {
         this.lastMessageTime = LocalDateTime.now();
     }
     
-    // 특정 사용자의 마지막으로 읽은 메시지 ID 업데이트
-    public void updateLastReadMessageId(String userId, Long messageId) {
+    // 특정 사용자의 안 읽은 메시지 수
+    public int getUnreadCount(String userId) {
         if (userId.equals(user1Id)) {
-            this.user1LastReadMessageId = messageId;
+            return user1UnreadCount;
         } else if (userId.equals(user2Id)) {
-            this.user2LastReadMessageId = messageId;
+            return user2UnreadCount;
         }
+        return 0;
+    }
+    
+    // 미리보기용으로 자른 메시지 (서로게이트 쌍은 자르지 않음)
+    public static String preview(String content) {
+        if (content == null || content.length() <= PREVIEW_LENGTH) {
+            return content;
+        }
+        int end = Character.isHighSurrogate(content.charAt(PREVIEW_LENGTH - 1)) ? PREVIEW_LENGTH - 1 : PREVIEW_LENGTH;
+        return content.substring(0, end);
+    }
+    
+    // 받는 사람이 읽은 메시지인지 (읽은 위치 이하의 ID)
+    public boolean isReadBy(String receiverId, Long messageId) {
+        Long lastRead = getLastReadMessageId(receiverId);
+        return lastRead != null && messageId != null && messageId <= lastRead;
     }
     
     // 특정 사용자의 마지막으로 읽은 메시지 ID 가져오기
@@ -8,7 +8,12 @@ import java.time.LocalDateTime;
 @Entity
 @Getter
 @Setter
-@Table(name = "comments")
+@Table(name = "comments", indexes = {
+        @Index(name = "idx_comments_post_id_id", columnList = "post_id, id"),
+        @Index(name = "idx_comments_user_id_id", columnList = "user_id, id"),
+        @Index(name = "idx_comments_post_id_depth_id", columnList = "post_id, depth, id"),
+        @Index(name = "idx_comments_root_id_path", columnList = "root_id, path")
+})
 public class Comment {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -25,6 +30,25 @@ public class Comment {
     @JoinColumn(name = "post_id", nullable = false)
     private Post post;
 
+    // 답글 스레드 (루트 댓글은 parentId = null, rootId = 자기 ID, depth = 0)
+    // 서브트리를 한 번에 지우기 위해 parent_id에는 FK를 두지 않음
+    @Column(name = "parent_id")
+    private Long parentId;
+
+    @Column(name = "root_id")
+    private Long rootId;
+
+    // CommentPath 형식의 materialized path
+    @Column(length = 760)
+    private String path;
+
+    @Column(nullable = false, columnDefinition = "INT DEFAULT 0")
+    private int depth = 0;
+
+    // 하위 답글 전체 수 (답글 작성/삭제 시 상위 댓글들에 증분 반영)
+    @Column(nullable = false, columnDefinition = "BIGINT DEFAULT 0")
+    private long replyCount = 0;
+
     @Column(nullable = false)
     private LocalDateTime createdAt;
 
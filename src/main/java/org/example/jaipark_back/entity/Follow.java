@@ -5,7 +5,13 @@ import lombok.Getter;
 import lombok.Setter;
 
 @Entity
-@Table(name = "follows", uniqueConstraints = @UniqueConstraint(columnNames = {"follower_id", "following_id"}))
+@Table(name = "follows",
+        uniqueConstraints = @UniqueConstraint(columnNames = {"follower_id", "following_id"}),
+        indexes = {
+                @Index(name = "idx_follows_following_follower", columnList = "following_id, follower_id"),
+                @Index(name = "idx_follows_following_id_id", columnList = "following_id, id"),
+                @Index(name = "idx_follows_follower_id_id", columnList = "follower_id, id")
+        })
 @Getter
 @Setter
 public class Follow {
@@ -7,7 +7,9 @@ import lombok.Setter;
 @Entity
 @Getter
 @Setter
-@Table(name = "likes", uniqueConstraints = {@UniqueConstraint(columnNames = {"user_id", "post_id"})})
+@Table(name = "likes",
+        uniqueConstraints = {@UniqueConstraint(columnNames = {"user_id", "post_id"})},
+        indexes = @Index(name = "idx_likes_user_id_id", columnList = "user_id, id"))
 public class Like {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
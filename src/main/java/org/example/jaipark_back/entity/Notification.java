@@ -8,7 +8,7 @@ import java.time.LocalDateTime;
 @Entity
 @Getter
 @Setter
-@Table(name = "notifications")
+@Table(name = "notifications", indexes = @Index(name = "idx_notifications_user_id_id", columnList = "user_id, id"))
 public class Notification {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
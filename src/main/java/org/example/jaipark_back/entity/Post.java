@@ -10,7 +10,11 @@ import java.util.List;
 @Entity
 @Getter
 @Setter
-@Table(name = "posts")
+@Table(name = "posts", indexes = {
+        @Index(name = "idx_posts_user_id_id", columnList = "user_id, id"),
+        @Index(name = "idx_posts_created_at_id", columnList = "created_at, id"),
+        @Index(name = "idx_posts_updated_at", columnList = "updated_at")
+})
 public class Post {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -29,6 +33,16 @@ public class Post {
     @OneToMany(mappedBy = "post", cascade = CascadeType.ALL, orphanRemoval = true)
     private List<Comment> comments = new ArrayList<>();
 
+    // 비정규화된 반응 수 (EngagementCounterService가 주기적으로 반영)
+    @Column(nullable = false, columnDefinition = "BIGINT DEFAULT 0")
+    private long likeCount = 0;
+
+    @Column(nullable = false, columnDefinition = "BIGINT DEFAULT 0")
+    private long bookmarkCount = 0;
+
+    @Column(nullable = false, columnDefinition = "BIGINT DEFAULT 0")
+    private long commentCount = 0;
+
     @Column(nullable = false)
     private LocalDateTime createdAt;
 
@@ -0,0 +1,30 @@
+package org.example.jaipark_back.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * 게시물 댓글 참여자 (게시물당 사용자 한 행, 해당 사용자가 남긴 댓글 수를 함께 보관)
+ */
+@Entity
+@Getter
+@Setter
+@Table(name = "post_participants",
+        uniqueConstraints = {@UniqueConstraint(columnNames = {"post_id", "user_id"})})
+public class PostParticipant {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "post_id", nullable = false)
+    private Post post;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id", nullable = false)
+    private User user;
+
+    @Column(name = "comment_count", nullable = false)
+    private long commentCount;
+}
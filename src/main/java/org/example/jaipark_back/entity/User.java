@@ -40,4 +40,8 @@ public class User {
 
     @Column(nullable = true)
     private String birth; // yyyy-MM-dd
+
+    // 토큰 epoch (올리면 이전에 발급된 토큰이 모두 무효화됨)
+    @Column(nullable = false, columnDefinition = "bigint default 0")
+    private long tokenEpoch;
 } 
\ No newline at end of file
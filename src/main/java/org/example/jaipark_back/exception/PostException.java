@@ -1,10 +1,14 @@
 package org.example.jaipark_back.exception;
 
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
 public class PostException extends RuntimeException {
     public PostException(String message) {
         super(message);
     }
 
+    @ResponseStatus(HttpStatus.NOT_FOUND)
     public static class PostNotFoundException extends PostException {
         public PostNotFoundException() {
             super("게시물을 찾을 수 없습니다.");
@@ -17,6 +21,7 @@ public class PostException extends RuntimeException {
         }
     }
 
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
     public static class InvalidInputException extends PostException {
         public InvalidInputException(String message) {
             super(message);
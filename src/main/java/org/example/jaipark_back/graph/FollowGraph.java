@@ -0,0 +1,308 @@
+package org.example.jaipark_back.graph;
+
+import org.example.jaipark_back.repository.FollowRepository;
+import org.example.jaipark_back.util.SortedLongSet;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 팔로우 관계 메모리 그래프
+ * - 사용자별 팔로잉(outgoing)/팔로워(incoming) ID를 정렬된 long 배열로 보관 (간선당 16바이트, 박싱 없음)
+ * - 기동 시 follows 테이블을 ID 순으로 나눠 읽어 구성하고, 팔로우/언팔로우 커밋 후 증분 갱신
+ *   (다른 노드의 변경 수신과 주기적 재구성은 FollowGraphSync)
+ * - 구성 중에 들어온 변경은 모아 두었다가 교체 직후 다시 적용 (추가/삭제는 멱등)
+ * - 읽기/쓰기는 ReadWriteLock으로 보호
+ */
+@Component
+public class FollowGraph {
+    private static final Logger logger = LoggerFactory.getLogger(FollowGraph.class);
+
+    private static final int LOAD_BATCH_SIZE = 10000;
+    private static final long[] EMPTY = new long[0];
+
+    @Autowired
+    private FollowRepository followRepository;
+
+    private Map<Long, SortedLongSet> outgoing = new HashMap<>();
+    private Map<Long, SortedLongSet> incoming = new HashMap<>();
+    private long edgeCount;
+
+    // 구성 중에 들어온 변경 (팔로워, 팔로잉, 추가 여부)
+    private List<Object[]> pending;
+    private volatile boolean ready;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        rebuild();
+    }
+
+    /**
+     * follows 테이블을 ID 순으로 나눠 읽어 그래프를 새로 구성
+     */
+    public synchronized void rebuild() {
+        lock.writeLock().lock();
+        try {
+            pending = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        AdjacencyBuilder out = new AdjacencyBuilder();
+        AdjacencyBuilder in = new AdjacencyBuilder();
+        long lastId = 0;
+        long edges = 0;
+        List<Object[]> rows;
+        do {
+            rows = followRepository.findEdgesAfterId(lastId, LOAD_BATCH_SIZE);
+            for (Object[] row : rows) {
+                lastId = (Long) row[0];
+                long followerId = (Long) row[1];
+                long followingId = (Long) row[2];
+                out.add(followerId, followingId);
+                in.add(followingId, followerId);
+                edges++;
+            }
+        } while (rows.size() == LOAD_BATCH_SIZE);
+
+        lock.writeLock().lock();
+        try {
+            outgoing = out.build();
+            incoming = in.build();
+            edgeCount = edges;
+            for (Object[] change : pending) {
+                apply((Long) change[0], (Long) change[1], (Boolean) change[2]);
+            }
+            pending = null;
+            ready = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        logger.info("Loaded follow graph with {} users and {} edges", outgoing.size(), edgeCount);
+    }
+
+    /**
+     * 초기 적재가 끝났는지 (끝나기 전에는 호출 측이 DB로 대체)
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    public void addEdge(long followerId, long followingId) {
+        change(followerId, followingId, true);
+    }
+
+    public void removeEdge(long followerId, long followingId) {
+        change(followerId, followingId, false);
+    }
+
+    public boolean follows(long followerId, long followingId) {
+        lock.readLock().lock();
+        try {
+            SortedLongSet targets = outgoing.get(followerId);
+            return targets != null && targets.contains(followingId);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public boolean isMutual(long a, long b) {
+        lock.readLock().lock();
+        try {
+            SortedLongSet aTargets = outgoing.get(a);
+            SortedLongSet bTargets = outgoing.get(b);
+            return aTargets != null && bTargets != null && aTargets.contains(b) && bTargets.contains(a);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int followingCount(long userId) {
+        return degree(outgoing, userId);
+    }
+
+    public int followerCount(long userId) {
+        return degree(incoming, userId);
+    }
+
+    /**
+     * 팔로잉 ID (오름차순 복사본)
+     */
+    public long[] following(long userId) {
+        return snapshot(outgoing, userId);
+    }
+
+    /**
+     * 팔로워 ID (오름차순 복사본)
+     */
+    public long[] followers(long userId) {
+        return snapshot(incoming, userId);
+    }
+
+    /**
+     * 맞팔로우 중인 사용자 ID (팔로잉 ∩ 팔로워)
+     */
+    public long[] mutuals(long userId) {
+        lock.readLock().lock();
+        try {
+            return intersect(outgoing.get(userId), incoming.get(userId));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 두 사용자가 함께 팔로우하는 사용자 ID
+     */
+    public long[] commonFollowing(long a, long b) {
+        lock.readLock().lock();
+        try {
+            return intersect(outgoing.get(a), outgoing.get(b));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public long edgeCount() {
+        lock.readLock().lock();
+        try {
+            return edgeCount;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void change(long followerId, long followingId, boolean added) {
+        lock.writeLock().lock();
+        try {
+            if (pending != null) {
+                pending.add(new Object[]{followerId, followingId, added});
+            }
+            apply(followerId, followingId, added);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void apply(long followerId, long followingId, boolean added) {
+        if (added) {
+            if (outgoing.computeIfAbsent(followerId, id -> new SortedLongSet()).add(followingId)) {
+                incoming.computeIfAbsent(followingId, id -> new SortedLongSet()).add(followerId);
+                edgeCount++;
+            }
+        } else {
+            SortedLongSet targets = outgoing.get(followerId);
+            if (targets != null && targets.remove(followingId)) {
+                SortedLongSet sources = incoming.get(followingId);
+                if (sources != null) {
+                    sources.remove(followerId);
+                }
+                edgeCount--;
+            }
+        }
+    }
+
+    private int degree(Map<Long, SortedLongSet> adjacency, long userId) {
+        lock.readLock().lock();
+        try {
+            SortedLongSet ids = adjacency.get(userId);
+            return ids == null ? 0 : ids.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private long[] snapshot(Map<Long, SortedLongSet> adjacency, long userId) {
+        lock.readLock().lock();
+        try {
+            SortedLongSet ids = adjacency.get(userId);
+            return ids == null ? EMPTY : ids.toArray();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // 정렬된 두 집합의 병합 교집합
+    static long[] intersect(SortedLongSet a, SortedLongSet b) {
+        if (a == null || b == null) {
+            return EMPTY;
+        }
+        long[] result = new long[Math.min(a.size(), b.size())];
+        int count = 0;
+        int i = 0;
+        int j = 0;
+        while (i < a.size() && j < b.size()) {
+            long x = a.get(i);
+            long y = b.get(j);
+            if (x == y) {
+                result[count++] = x;
+                i++;
+                j++;
+            } else if (x < y) {
+                i++;
+            } else {
+                j++;
+            }
+        }
+        return Arrays.copyOf(result, count);
+    }
+
+    static long[] intersect(long[] a, long[] b) {
+        long[] result = new long[Math.min(a.length, b.length)];
+        int count = 0;
+        int i = 0;
+        int j = 0;
+        while (i < a.length && j < b.length) {
+            long x = a[i];
+            long y = b[j];
+            if (x == y) {
+                result[count++] = x;
+                i++;
+                j++;
+            } else if (x < y) {
+                i++;
+            } else {
+                j++;
+            }
+        }
+        return Arrays.copyOf(result, count);
+    }
+
+    /**
+     * 적재용 인접 리스트 버퍼 (사용자별 가변 long 배열을 모았다가 한 번에 정렬)
+     */
+    private static class AdjacencyBuilder {
+        private final Map<Long, long[]> buffers = new HashMap<>();
+        private final Map<Long, Integer> lengths = new HashMap<>();
+
+        void add(long from, long to) {
+            long[] buffer = buffers.computeIfAbsent(from, id -> new long[4]);
+            int length = lengths.getOrDefault(from, 0);
+            if (length == buffer.length) {
+                buffer = Arrays.copyOf(buffer, length * 2);
+                buffers.put(from, buffer);
+            }
+            buffer[length] = to;
+            lengths.put(from, length + 1);
+        }
+
+        Map<Long, SortedLongSet> build() {
+            Map<Long, SortedLongSet> adjacency = new HashMap<>(buffers.size() * 2);
+            buffers.forEach((id, buffer) -> adjacency.put(id, SortedLongSet.of(buffer, lengths.get(id))));
+            return adjacency;
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package org.example.jaipark_back.graph;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * 노드 간 팔로우 그래프 동기화
+ * - 팔로우/언팔로우 커밋 후 로컬 그래프에 반영하고 follow-edge 토픽으로 전파 ("팔로워:팔로잉:1|0")
+ * - 팔로워 ID를 키로 보내 같은 사용자의 변경은 순서대로 도착 (추가/삭제는 멱등)
+ * - 유실 대비로 주기적으로 DB에서 그래프를 다시 구성
+ */
+@Component
+public class FollowGraphSync {
+    private static final Logger logger = LoggerFactory.getLogger(FollowGraphSync.class);
+
+    private static final String FOLLOW_EDGE_TOPIC = "follow-edge";
+
+    @Autowired
+    private FollowGraph followGraph;
+
+    @Autowired
+    private KafkaTemplate<String, String> tokenEpochKafkaTemplate;
+
+    /**
+     * 커밋된 팔로우 변경을 반영하고 다른 노드로 전파 (커밋 후 호출)
+     */
+    public void publish(long followerId, long followingId, boolean added) {
+        apply(followerId, followingId, added);
+        tokenEpochKafkaTemplate.send(FOLLOW_EDGE_TOPIC, String.valueOf(followerId),
+                        followerId + ":" + followingId + ":" + (added ? 1 : 0))
+                .whenComplete((result, ex) -> {
+                    if (ex != null) {
+                        logger.error("Error publishing follow edge {} -> {}: {}", followerId, followingId, ex.getMessage(), ex);
+                    }
+                });
+    }
+
+    /**
+     * 다른 노드의 팔로우 변경 수신 (노드마다 별도 그룹으로 모든 변경을 받음)
+     */
+    @KafkaListener(topics = FOLLOW_EDGE_TOPIC,
+            groupId = "follow-edge-#{T(java.util.UUID).randomUUID()}",
+            containerFactory = "tokenEpochListenerContainerFactory")
+    public void consume(String value) {
+        String[] parts = value.split(":");
+        try {
+            apply(Long.parseLong(parts[0]), Long.parseLong(parts[1]), "1".equals(parts[2]));
+        } catch (RuntimeException e) {
+            logger.warn("Ignoring malformed follow edge event: {}", value);
+        }
+    }
+
+    /**
+     * follows 테이블로 그래프를 다시 구성 (구성 중에 들어온 변경은 교체 후 다시 적용)
+     */
+    @Scheduled(initialDelayString = "${follow-graph.resync-interval-ms:600000}",
+            fixedDelayString = "${follow-graph.resync-interval-ms:600000}")
+    public void resync() {
+        followGraph.rebuild();
+    }
+
+    private void apply(long followerId, long followingId, boolean added) {
+        if (added) {
+            followGraph.addEdge(followerId, followingId);
+        } else {
+            followGraph.removeEdge(followerId, followingId);
+        }
+    }
+}
@@ -0,0 +1,267 @@
+package org.example.jaipark_back.graph;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
+
+/**
+ * 알 수도 있는 사람 추천 (친구의 친구)
+ * - 내가 팔로우하는 사용자들이 팔로우하는 계정을 후보로, 겹치는 팔로잉 수를 점수로 사용
+ * - 2-hop 탐색과 집계는 전용 fork/join 풀에서 팔로잉 목록을 나눠 병렬 처리
+ * - 사용자별 후보 점수를 캐시하고, 본인의 팔로우/언팔로우는 점수에 바로 반영
+ *   (2-hop 너머의 변화는 만료 시 다시 계산)
+ * - 계산이 응답 시간 예산을 넘으면 빈 목록을 돌려주고 계산은 계속해 다음 요청에 사용
+ */
+@Service
+public class FollowSuggestionService {
+    // 한 작업 단위에서 처리할 팔로잉 수
+    private static final int FORK_THRESHOLD = 64;
+
+    @Autowired
+    private FollowGraph followGraph;
+
+    @Value("${suggestions.parallelism:4}")
+    private int parallelism;
+
+    @Value("${suggestions.max-friends-scanned:5000}")
+    private int maxFriendsScanned;
+
+    @Value("${suggestions.timeout-ms:200}")
+    private long timeoutMs;
+
+    @Value("${suggestions.cache-max-candidates:5000000}")
+    private long maxCachedCandidates;
+
+    @Value("${suggestions.expire-minutes:10}")
+    private long expireMinutes;
+
+    public record Suggestion(long userId, int mutualCount) {
+    }
+
+    private ForkJoinPool pool;
+
+    private AsyncCache<Long, Candidates> cache;
+
+    @PostConstruct
+    public void init() {
+        pool = new ForkJoinPool(parallelism);
+        cache = Caffeine.newBuilder()
+                .maximumWeight(maxCachedCandidates)
+                .weigher((Long userId, Candidates candidates) -> 1 + candidates.size())
+                .expireAfterWrite(Duration.ofMinutes(expireMinutes))
+                .buildAsync();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pool.shutdownNow();
+    }
+
+    /**
+     * 겹치는 팔로잉 수가 많은 순으로 최대 limit명
+     */
+    public List<Suggestion> suggest(long userId, int limit) {
+        if (!followGraph.isReady() || limit <= 0) {
+            return List.of();
+        }
+        CompletableFuture<Candidates> future = cache.get(userId,
+                (id, executor) -> CompletableFuture.supplyAsync(() -> new Candidates(score(followGraph, id, pool, maxFriendsScanned)), pool));
+        try {
+            return future.get(timeoutMs, TimeUnit.MILLISECONDS).top(limit);
+        } catch (TimeoutException e) {
+            return List.of();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return List.of();
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Failed to compute follow suggestions", e.getCause());
+        }
+    }
+
+    /**
+     * userId가 followingId를 팔로우함 (그래프 갱신 후 호출)
+     * 대상은 후보에서 빠지고, 대상의 팔로잉은 점수가 1씩 오름
+     * (탐색 상한 안에 들어온 경우만 - 상한 끝의 팔로잉은 한 칸 밀려나 빠짐)
+     */
+    public void onFollow(long userId, long followingId) {
+        update(userId, candidates -> {
+            long[] friends = followGraph.following(userId);
+            candidates.scores.remove(followingId);
+            int index = Arrays.binarySearch(friends, followingId);
+            if (index < 0 || index >= maxFriendsScanned) {
+                return;
+            }
+            if (friends.length > maxFriendsScanned) {
+                candidates.adjust(followGraph.following(friends[maxFriendsScanned]), -1, userId, friends);
+            }
+            candidates.adjust(followGraph.following(followingId), 1, userId, friends);
+        });
+    }
+
+    /**
+     * userId가 followingId를 언팔로우함 (그래프 갱신 후 호출)
+     * 대상의 팔로잉은 점수가 1씩 내려가고, 대상은 다시 후보가 될 수 있음
+     * (대상이 탐색 상한 안에 있었다면 상한 밖의 팔로잉이 한 칸 당겨져 들어옴)
+     */
+    public void onUnfollow(long userId, long followingId) {
+        update(userId, candidates -> {
+            long[] friends = followGraph.following(userId);
+            int index = Arrays.binarySearch(friends, followingId);
+            if (index >= 0) {
+                return;
+            }
+            if (-index - 1 < maxFriendsScanned) {
+                candidates.adjust(followGraph.following(followingId), -1, userId, friends);
+                if (friends.length >= maxFriendsScanned) {
+                    candidates.adjust(followGraph.following(friends[maxFriendsScanned - 1]), 1, userId, friends);
+                }
+            }
+            // 대상을 팔로우하는 (탐색 상한 안의) 내 팔로잉 수 = 대상의 새 점수
+            long[] scanned = Arrays.copyOf(friends, Math.min(friends.length, maxFriendsScanned));
+            int restored = FollowGraph.intersect(scanned, followGraph.followers(followingId)).length;
+            if (restored > 0) {
+                candidates.scores.put(followingId, restored);
+            } else {
+                candidates.scores.remove(followingId);
+            }
+        });
+    }
+
+    // 계산이 끝난 캐시 항목만 갱신하고, 계산 중인 항목은 버려서 다시 계산하게 함
+    // 새 future로 바꿔 넣어야 weigher가 바뀐 후보 수로 다시 계산됨
+    private void update(long userId, Consumer<Candidates> change) {
+        cache.asMap().compute(userId, (id, future) -> {
+            if (future == null || !future.isDone() || future.isCompletedExceptionally()) {
+                return null;
+            }
+            Candidates candidates = future.join();
+            synchronized (candidates) {
+                change.accept(candidates);
+            }
+            return CompletableFuture.completedFuture(candidates);
+        });
+    }
+
+    /**
+     * 후보 ID -> 겹치는 팔로잉 수 (본인과 이미 팔로우한 계정 제외)
+     */
+    static Map<Long, Integer> score(FollowGraph graph, long userId, ForkJoinPool pool, int maxFriendsScanned) {
+        long[] friends = graph.following(userId);
+        int scanned = Math.min(friends.length, maxFriendsScanned);
+        Map<Long, Integer> scores = pool.invoke(new TwoHopTask(graph, friends, 0, scanned));
+        scores.remove(userId);
+        scores.keySet().removeIf(candidate -> Arrays.binarySearch(friends, candidate) >= 0);
+        return scores;
+    }
+
+    /**
+     * 팔로잉 목록 구간을 나눠 2-hop 이웃 출현 횟수를 집계하는 작업
+     */
+    private static class TwoHopTask extends RecursiveTask<Map<Long, Integer>> {
+        private final FollowGraph graph;
+        private final long[] friends;
+        private final int from;
+        private final int to;
+
+        TwoHopTask(FollowGraph graph, long[] friends, int from, int to) {
+            this.graph = graph;
+            this.friends = friends;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected Map<Long, Integer> compute() {
+            if (to - from <= FORK_THRESHOLD) {
+                Map<Long, Integer> counts = new HashMap<>();
+                for (int i = from; i < to; i++) {
+                    for (long candidate : graph.following(friends[i])) {
+                        counts.merge(candidate, 1, Integer::sum);
+                    }
+                }
+                return counts;
+            }
+            int middle = (from + to) >>> 1;
+            TwoHopTask left = new TwoHopTask(graph, friends, from, middle);
+            left.fork();
+            Map<Long, Integer> right = new TwoHopTask(graph, friends, middle, to).compute();
+            Map<Long, Integer> leftCounts = left.join();
+            // 작은 쪽을 큰 쪽에 합침
+            Map<Long, Integer> target = leftCounts.size() >= right.size() ? leftCounts : right;
+            Map<Long, Integer> source = target == leftCounts ? right : leftCounts;
+            source.forEach((candidate, count) -> target.merge(candidate, count, Integer::sum));
+            return target;
+        }
+    }
+
+    /**
+     * 사용자별 후보 점수 (변경은 이 객체로 동기화)
+     */
+    private static class Candidates {
+        private final Map<Long, Integer> scores;
+
+        Candidates(Map<Long, Integer> scores) {
+            this.scores = scores;
+        }
+
+        /**
+         * 팔로잉 한 명의 팔로잉 목록만큼 점수를 delta씩 조정 (본인과 이미 팔로우한 계정 제외, 0이 되면 후보에서 뺌)
+         */
+        void adjust(long[] followings, int delta, long userId, long[] friends) {
+            for (long candidate : followings) {
+                if (candidate == userId || Arrays.binarySearch(friends, candidate) >= 0) {
+                    continue;
+                }
+                if (delta > 0) {
+                    scores.merge(candidate, delta, Integer::sum);
+                } else {
+                    scores.computeIfPresent(candidate, (id, score) -> score + delta > 0 ? score + delta : null);
+                }
+            }
+        }
+
+        synchronized int size() {
+            return scores.size();
+        }
+
+        synchronized List<Suggestion> top(int limit) {
+            // 최소 힙: 점수가 낮고(같으면 ID가 큰) 후보부터 밀려남
+            Comparator<Suggestion> order = Comparator.comparingInt(Suggestion::mutualCount)
+                    .thenComparing(Comparator.comparingLong(Suggestion::userId).reversed());
+            PriorityQueue<Suggestion> top = new PriorityQueue<>(order);
+            for (Map.Entry<Long, Integer> entry : scores.entrySet()) {
+                top.offer(new Suggestion(entry.getKey(), entry.getValue()));
+                if (top.size() > limit) {
+                    top.poll();
+                }
+            }
+            List<Suggestion> result = new ArrayList<>(top.size());
+            while (!top.isEmpty()) {
+                result.add(top.poll());
+            }
+            Collections.reverse(result);
+            return result;
+        }
+    }
+}
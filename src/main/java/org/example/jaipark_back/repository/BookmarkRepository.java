@@ -4,7 +4,11 @@ import org.example.jaipark_back.entity.Bookmark;
 import org.example.jaipark_back.entity.Post;
 import org.example.jaipark_back.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -15,4 +19,25 @@ public interface BookmarkRepository extends JpaRepository<Bookmark, Long> {
     boolean existsByUserAndPost(User user, Post post);
     List<Bookmark> findAllByUser(User user);
     void deleteByPost(Post post);
-} 
\ No newline at end of file
+
+    // 사용자가 북마크한 게시물을 작성자와 함께 키셋 조회 (커서는 북마크 ID, user_id, id 인덱스)
+    @Query("SELECT b FROM Bookmark b JOIN FETCH b.post p JOIN FETCH p.user WHERE b.user.id = :userId AND b.id < :lastId ORDER BY b.id DESC LIMIT :limit")
+    List<Bookmark> findByUserIdBeforeId(
+            @Param("userId") Long userId,
+            @Param("lastId") Long lastId,
+            @Param("limit") int limit);
+
+    // 멱등 북마크 추가: 이미 있거나 게시물이 없으면 무시하고 0 반환
+    @Modifying
+    @Query(value = "INSERT IGNORE INTO bookmarks (user_id, post_id) VALUES (:userId, :postId)", nativeQuery = true)
+    int insertIgnore(@Param("userId") Long userId, @Param("postId") Long postId);
+
+    // 멱등 북마크 취소: 엔티티를 로딩하지 않는 단일 DELETE
+    @Modifying
+    @Query("DELETE FROM Bookmark b WHERE b.user.id = :userId AND b.post.id = :postId")
+    int deleteByUserIdAndPostId(@Param("userId") Long userId, @Param("postId") Long postId);
+
+    // 게시물별 북마크 사용자 ID (게시물 ID, 사용자 ID) - 멤버십 인덱스 적재용
+    @Query("SELECT b.post.id, b.user.id FROM Bookmark b WHERE b.post.id IN :postIds")
+    List<Object[]> findMembersByPostIds(@Param("postIds") Collection<Long> postIds);
+}
\ No newline at end of file
@@ -9,6 +9,7 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface ChatMessageRepository extends JpaRepository<ChatMessage, Long> {
@@ -20,21 +21,12 @@ public interface ChatMessageRepository extends JpaRepository<ChatMessage, Long>
     @Query("SELECT m FROM ChatMessage m WHERE m.chatRoomId = :chatRoomId ORDER BY m.timestamp DESC")
     List<ChatMessage> findRecentMessagesByChatRoomId(@Param("chatRoomId") String chatRoomId, Pageable pageable);
     
+    // 재전송 중복 확인 (보낸 사람 + 클라이언트 메시지 ID 유니크 인덱스)
+    Optional<ChatMessage> findBySenderIdAndClientMessageId(String senderId, String clientMessageId);
+    
     // 채팅방 ID로 가장 최근 메시지 1개 조회
     ChatMessage findTopByChatRoomIdOrderByTimestampDesc(String chatRoomId);
     
-    // 유저가 받은 메시지 중 안 읽은 메시지 개수 조회
-    @Query("SELECT COUNT(m) FROM ChatMessage m WHERE m.receiverId = :userId AND m.isRead = false")
-    int countUnreadMessagesByReceiverId(@Param("userId") String userId);
-    
-    // 특정 채팅방에서 유저가 받은 메시지 중 안 읽은 메시지 개수 조회
-    @Query("SELECT COUNT(m) FROM ChatMessage m WHERE m.chatRoomId = :chatRoomId AND m.receiverId = :userId AND m.isRead = false")
-    int countUnreadMessagesInChatRoom(@Param("chatRoomId") String chatRoomId, @Param("userId") String userId);
-    
-    // 특정 채팅방의 메시지 모두 읽음으로 표시
-    @Query("UPDATE ChatMessage m SET m.isRead = true WHERE m.chatRoomId = :chatRoomId AND m.receiverId = :userId AND m.isRead = false")
-    void markAllAsReadInChatRoom(@Param("chatRoomId") String chatRoomId, @Param("userId") String userId);
-    
     // 유저가 참여한 채팅방 목록 조회 (중복 제거)
     @Query("SELECT DISTINCT m.chatRoomId FROM ChatMessage m WHERE m.senderId = :userId OR m.receiverId = :userId")
     List<String> findChatRoomIdsByUserId(@Param("userId") String userId);
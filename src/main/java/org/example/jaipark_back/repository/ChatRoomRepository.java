@@ -2,10 +2,12 @@ package org.example.jaipark_back.repository;
 
 import org.example.jaipark_back.entity.ChatRoom;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -16,6 +18,79 @@ public interface ChatRoomRepository extends JpaRepository<ChatRoom, String> {
     @Query("SELECT r FROM ChatRoom r WHERE r.user1Id = :userId OR r.user2Id = :userId ORDER BY r.lastMessageTime DESC")
     List<ChatRoom> findChatRoomsByUserId(@Param("userId") String userId);
     
+    // 받은편지함 첫 페이지 (최근 메시지 순, 같은 시각이면 마지막 메시지 ID 순)
+    @Query("SELECT r FROM ChatRoom r WHERE r.user1Id = :userId OR r.user2Id = :userId " +
+           "ORDER BY r.lastMessageTime DESC, r.lastMessageId DESC LIMIT :limit")
+    List<ChatRoom> findInboxFirstPage(@Param("userId") String userId, @Param("limit") int limit);
+    
+    // 받은편지함 키셋 페이지네이션
+    @Query("SELECT r FROM ChatRoom r WHERE (r.user1Id = :userId OR r.user2Id = :userId) " +
+           "AND (r.lastMessageTime < :lastMessageTime OR (r.lastMessageTime = :lastMessageTime AND r.lastMessageId < :lastMessageId)) " +
+           "ORDER BY r.lastMessageTime DESC, r.lastMessageId DESC LIMIT :limit")
+    List<ChatRoom> findInboxBefore(@Param("userId") String userId,
+                                   @Param("lastMessageTime") LocalDateTime lastMessageTime,
+                                   @Param("lastMessageId") long lastMessageId,
+                                   @Param("limit") int limit);
+    
+    // 메시지가 없는 채팅방 생성 (항상 INSERT, 같은 채팅방을 동시에 만들면 한쪽은 기본 키 중복으로 실패)
+    @Modifying
+    @Query("INSERT INTO ChatRoom (id, user1Id, user2Id, lastMessageTime, createdAt, lastMessageId, user1UnreadCount, user2UnreadCount) " +
+           "VALUES (:chatRoomId, :user1Id, :user2Id, :createdAt, :createdAt, 0, 0, 0)")
+    int insertEmpty(@Param("chatRoomId") String chatRoomId,
+                    @Param("user1Id") String user1Id,
+                    @Param("user2Id") String user2Id,
+                    @Param("createdAt") LocalDateTime createdAt);
+    
+    // 메시지 전송 시 요약 갱신 + 받는 사람의 안 읽은 수 증가 (동시 전송 시 더 최신 메시지의 요약만 남김)
+    // MySQL은 SET을 왼쪽부터 적용하므로 lastMessageId는 마지막에 갱신
+    @Modifying
+    @Query("UPDATE ChatRoom r SET " +
+           "r.lastMessagePreview = CASE WHEN r.lastMessageId < :messageId THEN :preview ELSE r.lastMessagePreview END, " +
+           "r.lastSenderId = CASE WHEN r.lastMessageId < :messageId THEN :senderId ELSE r.lastSenderId END, " +
+           "r.lastMessageTime = CASE WHEN r.lastMessageId < :messageId THEN :timestamp ELSE r.lastMessageTime END, " +
+           "r.user1UnreadCount = CASE WHEN r.user1Id = :receiverId THEN r.user1UnreadCount + 1 ELSE r.user1UnreadCount END, " +
+           "r.user2UnreadCount = CASE WHEN r.user2Id = :receiverId AND r.user1Id <> :receiverId THEN r.user2UnreadCount + 1 ELSE r.user2UnreadCount END, " +
+           "r.lastMessageId = CASE WHEN r.lastMessageId < :messageId THEN :messageId ELSE r.lastMessageId END " +
+           "WHERE r.id = :chatRoomId")
+    int recordMessage(@Param("chatRoomId") String chatRoomId,
+                      @Param("messageId") long messageId,
+                      @Param("timestamp") LocalDateTime timestamp,
+                      @Param("preview") String preview,
+                      @Param("senderId") String senderId,
+                      @Param("receiverId") String receiverId);
+    
+    // 읽음 처리: 해당 사용자의 읽은 위치를 마지막 메시지로 옮기고 안 읽은 수를 0으로
+    // (참여자가 아니거나 이미 다 읽었으면 0행)
+    @Modifying
+    @Query("UPDATE ChatRoom r SET " +
+           "r.user1LastReadMessageId = CASE WHEN r.user1Id = :userId THEN r.lastMessageId ELSE r.user1LastReadMessageId END, " +
+           "r.user1UnreadCount = CASE WHEN r.user1Id = :userId THEN 0 ELSE r.user1UnreadCount END, " +
+           "r.user2LastReadMessageId = CASE WHEN r.user2Id = :userId THEN r.lastMessageId ELSE r.user2LastReadMessageId END, " +
+           "r.user2UnreadCount = CASE WHEN r.user2Id = :userId THEN 0 ELSE r.user2UnreadCount END " +
+           "WHERE r.id = :chatRoomId " +
+           "AND ((r.user1Id = :userId AND COALESCE(r.user1LastReadMessageId, 0) < r.lastMessageId) " +
+           "OR (r.user2Id = :userId AND COALESCE(r.user2LastReadMessageId, 0) < r.lastMessageId))")
+    int markRead(@Param("chatRoomId") String chatRoomId, @Param("userId") String userId);
+    
+    // 요약 컬럼 추가 전 채팅방 채우기 (마지막 메시지, 읽은 위치 이후 받은 메시지 수)
+    @Modifying
+    @Query(value = "UPDATE chat_rooms r " +
+            "JOIN (SELECT chat_room_id, MAX(id) AS max_id FROM chat_messages GROUP BY chat_room_id) lm ON lm.chat_room_id = r.id " +
+            "JOIN chat_messages m ON m.id = lm.max_id " +
+            "SET r.last_message_preview = LEFT(m.content, " + ChatRoom.PREVIEW_LENGTH + "), " +
+            "r.last_sender_id = m.sender_id, " +
+            "r.last_message_time = m.`timestamp`, " +
+            "r.user1_unread_count = (SELECT COUNT(*) FROM chat_messages u WHERE u.chat_room_id = r.id AND u.receiver_id = r.user1_id AND u.id > COALESCE(r.user1_last_read_message_id, 0)), " +
+            "r.user2_unread_count = (SELECT COUNT(*) FROM chat_messages u WHERE u.chat_room_id = r.id AND u.receiver_id = r.user2_id AND u.id > COALESCE(r.user2_last_read_message_id, 0)), " +
+            "r.last_message_id = m.id " +
+            "WHERE r.last_message_id = 0", nativeQuery = true)
+    int backfillSummaries();
+    
+    // 사용자의 전체 안 읽은 메시지 수 (채팅방 카운터 합계)
+    @Query("SELECT COALESCE(SUM(CASE WHEN r.user1Id = :userId THEN r.user1UnreadCount ELSE r.user2UnreadCount END), 0) " +
+           "FROM ChatRoom r WHERE r.user1Id = :userId OR r.user2Id = :userId")
+    long sumUnreadCount(@Param("userId") String userId);
+    
     // 두 유저 간의 채팅방 조회
     @Query("SELECT r FROM ChatRoom r WHERE (r.user1Id = :user1Id AND r.user2Id = :user2Id) OR (r.user1Id = :user2Id AND r.user2Id = :user1Id)")
     Optional<ChatRoom> findChatRoomByUsers(@Param("user1Id") String user1Id, @Param("user2Id") String user2Id);
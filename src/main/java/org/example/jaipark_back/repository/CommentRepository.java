@@ -2,18 +2,16 @@ package org.example.jaipark_back.repository;
 
 import org.example.jaipark_back.entity.Comment;
 import org.example.jaipark_back.entity.User;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 
 public interface CommentRepository extends JpaRepository<Comment, Long> {
-    /**
-     * 게시물 ID로 댓글 목록을 최신순으로 조회
-     */
-    List<Comment> findByPostIdOrderByCreatedAtDesc(Long postId);
-    
     /**
      * 게시물 ID로 댓글 목록 조회 (Fetch Join으로 성능 최적화)
      */
@@ -26,28 +24,23 @@ public interface CommentRepository extends JpaRepository<Comment, Long> {
     List<Comment> findAllByUserOrderByCreatedAtDesc(User user);
     
     /**
-     * 게시물 ID로 댓글 목록을 조회 (키셋 페이지네이션 적용)
+     * 사용자가 작성한 댓글을 게시물과 함께 키셋 조회 (user_id, id 인덱스)
      */
-    @Query(value = "SELECT c.* FROM comments c WHERE c.post_id = :postId AND c.id < :lastCommentId ORDER BY c.id DESC LIMIT :limit", nativeQuery = true)
-    List<Comment> findCommentsByPostIdWithCursor(
-            @Param("postId") Long postId,
-            @Param("lastCommentId") Long lastCommentId,
+    @Query("SELECT c FROM Comment c JOIN FETCH c.user JOIN FETCH c.post WHERE c.user.id = :userId AND c.id < :lastId ORDER BY c.id DESC LIMIT :limit")
+    List<Comment> findByUserIdBeforeId(
+            @Param("userId") Long userId,
+            @Param("lastId") Long lastId,
             @Param("limit") int limit);
     
     /**
-     * 게시물 ID로 최신 댓글 조회
+     * 게시물의 루트 댓글을 작성자와 함께 키셋 조회 (post_id, depth, id 인덱스 - 댓글 수와 상관없이 페이지 크기만큼만 읽음)
      */
-    @Query(value = "SELECT c.* FROM comments c WHERE c.post_id = :postId ORDER BY c.id DESC LIMIT :limit", nativeQuery = true)
-    List<Comment> findTopCommentsByPostId(
+    @Query("SELECT c FROM Comment c JOIN FETCH c.user WHERE c.post.id = :postId AND c.depth = 0 AND c.id < :lastId ORDER BY c.id DESC LIMIT :limit")
+    List<Comment> findPageByPostId(
             @Param("postId") Long postId,
+            @Param("lastId") Long lastId,
             @Param("limit") int limit);
     
-    /**
-     * 게시물 ID로 댓글 목록 조회 (중간 쿼리 최적화)
-     */
-    @Query("SELECT c FROM Comment c WHERE c.post.id = :postId")
-    List<Comment> findByPostId(@Param("postId") Long postId);
-    
     /**
      * 게시물 ID로 댓글 개수 조회
      */
@@ -59,4 +52,74 @@ public interface CommentRepository extends JpaRepository<Comment, Long> {
      */
     @Query("SELECT COUNT(c) FROM Comment c WHERE c.post.id = :postId AND c.user.id = :userId")
     long countByPostIdAndUserId(@Param("postId") Long postId, @Param("userId") Long userId);
-}
\ No newline at end of file
+    
+    /**
+     * 여러 게시물의 최신 댓글을 게시물별 최대 limit개까지 작성자와 함께 한 번에 조회
+     * 결과: [댓글 ID, 게시물 ID, 내용, 작성일, 수정일, 작성자 username, 작성자 nickname]
+     */
+    @Query(value = "SELECT t.id, t.post_id, t.content, t.created_at, t.updated_at, u.username, u.nickname " +
+            "FROM (SELECT c.id, c.post_id, c.user_id, c.content, c.created_at, c.updated_at, " +
+            "ROW_NUMBER() OVER (PARTITION BY c.post_id ORDER BY c.id DESC) AS rn " +
+            "FROM comments c WHERE c.post_id IN (:postIds)) t " +
+            "JOIN users u ON u.id = t.user_id " +
+            "WHERE t.rn <= :limit ORDER BY t.post_id, t.id DESC", nativeQuery = true)
+    List<Object[]> findLatestCommentsByPostIds(
+            @Param("postIds") Collection<Long> postIds,
+            @Param("limit") int limit);
+    
+    /**
+     * 스레드 내 서브트리를 경로 순(깊이 우선)으로 키셋 조회 (root_id, path 인덱스 범위 조회 한 번)
+     * @param prefix 서브트리 루트 댓글의 path
+     * @param afterPath 이전 페이지 마지막 댓글의 path (첫 페이지면 prefix)
+     */
+    @Query("SELECT c FROM Comment c JOIN FETCH c.user WHERE c.rootId = :rootId AND c.path LIKE CONCAT(:prefix, '%') " +
+            "AND c.path > :afterPath ORDER BY c.path LIMIT :limit")
+    List<Comment> findSubtreePage(
+            @Param("rootId") Long rootId,
+            @Param("prefix") String prefix,
+            @Param("afterPath") String afterPath,
+            @Param("limit") int limit);
+    
+    /**
+     * 여러 루트 댓글의 답글을 스레드 순서로 루트별 최대 limit개까지 작성자와 함께 한 번에 조회
+     * 결과: [댓글 ID, 게시물 ID, 내용, 작성일, 수정일, 작성자 username, 작성자 nickname, 부모 ID, 루트 ID, 깊이, 답글 수]
+     */
+    @Query(value = "SELECT t.id, t.post_id, t.content, t.created_at, t.updated_at, u.username, u.nickname, " +
+            "t.parent_id, t.root_id, t.depth, t.reply_count " +
+            "FROM (SELECT c.id, c.post_id, c.user_id, c.content, c.created_at, c.updated_at, " +
+            "c.parent_id, c.root_id, c.depth, c.reply_count, c.path, " +
+            "ROW_NUMBER() OVER (PARTITION BY c.root_id ORDER BY c.path) AS rn " +
+            "FROM comments c WHERE c.root_id IN (:rootIds) AND c.depth > 0) t " +
+            "JOIN users u ON u.id = t.user_id " +
+            "WHERE t.rn <= :limit ORDER BY t.root_id, t.path", nativeQuery = true)
+    List<Object[]> findTopRepliesByRootIds(
+            @Param("rootIds") Collection<Long> rootIds,
+            @Param("limit") int limit);
+    
+    /**
+     * 상위 댓글들의 답글 수를 한 번에 증감
+     */
+    @Modifying
+    @Query("UPDATE Comment c SET c.replyCount = c.replyCount + :delta WHERE c.id IN :ids")
+    int incrementReplyCounts(@Param("ids") Collection<Long> ids, @Param("delta") long delta);
+    
+    /**
+     * 서브트리의 작성자별 댓글 수 (작성자 ID, 댓글 수) - 삭제 시 참여자 인덱스 갱신용
+     */
+    @Query("SELECT c.user.id, COUNT(c) FROM Comment c WHERE c.rootId = :rootId AND c.path LIKE CONCAT(:prefix, '%') GROUP BY c.user.id")
+    List<Object[]> countAuthorsInSubtree(@Param("rootId") Long rootId, @Param("prefix") String prefix);
+    
+    /**
+     * 댓글과 그 아래 답글 전체 삭제
+     * @return 삭제된 댓글 수
+     */
+    @Modifying
+    @Query("DELETE FROM Comment c WHERE c.rootId = :rootId AND c.path LIKE CONCAT(:prefix, '%')")
+    int deleteSubtree(@Param("rootId") Long rootId, @Param("prefix") String prefix);
+    
+    /**
+     * 스레드 컬럼이 없던 기존 댓글 ID (path 백필용)
+     */
+    @Query("SELECT c.id FROM Comment c WHERE c.path IS NULL ORDER BY c.id")
+    List<Long> findIdsWithoutPath(Pageable pageable);
+}
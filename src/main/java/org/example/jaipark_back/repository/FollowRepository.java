@@ -3,13 +3,43 @@ package org.example.jaipark_back.repository;
 import org.example.jaipark_back.entity.Follow;
 import org.example.jaipark_back.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import java.util.Collection;
 import java.util.List;
 
 public interface FollowRepository extends JpaRepository<Follow, Long> {
     boolean existsByFollowerAndFollowing(User follower, User following);
-    void deleteByFollowerAndFollowing(User follower, User following);
-    List<Follow> findByFollower(User follower);
-    List<Follow> findByFollowing(User following);
+    long deleteByFollowerAndFollowing(User follower, User following);
     long countByFollower(User follower);
     long countByFollowing(User following);
+    long countByFollowingId(Long followingId);
+
+    // 팔로워 목록 키셋 조회 (following_id, id 인덱스)
+    @Query("SELECT f FROM Follow f JOIN FETCH f.follower WHERE f.following.id = :userId AND f.id < :lastId ORDER BY f.id DESC LIMIT :limit")
+    List<Follow> findFollowersBeforeId(@Param("userId") Long userId, @Param("lastId") Long lastId, @Param("limit") int limit);
+
+    // 팔로잉 목록 키셋 조회 (follower_id, id 인덱스)
+    @Query("SELECT f FROM Follow f JOIN FETCH f.following WHERE f.follower.id = :userId AND f.id < :lastId ORDER BY f.id DESC LIMIT :limit")
+    List<Follow> findFollowingsBeforeId(@Param("userId") Long userId, @Param("lastId") Long lastId, @Param("limit") int limit);
+
+    // 주어진 사용자 중 viewer가 팔로우하는 사용자 ID (목록의 "팔로우 중" 표시를 한 번에 조회)
+    @Query("SELECT f.following.id FROM Follow f WHERE f.follower.id = :viewerId AND f.following.id IN :userIds")
+    List<Long> findFollowingIdsAmong(@Param("viewerId") Long viewerId, @Param("userIds") Collection<Long> userIds);
+
+    // 팔로우 그래프 적재용 (팔로우 ID, 팔로워 ID, 팔로잉 ID) 키셋 조회
+    @Query("SELECT f.id, f.follower.id, f.following.id FROM Follow f WHERE f.id > :lastId ORDER BY f.id LIMIT :limit")
+    List<Object[]> findEdgesAfterId(@Param("lastId") Long lastId, @Param("limit") int limit);
+
+    // 타임라인 팬아웃용 팔로워 ID 목록 (엔티티 로딩 없이 ID만 조회)
+    @Query("SELECT f.follower.id FROM Follow f WHERE f.following.id = :userId")
+    List<Long> findFollowerIds(@Param("userId") Long userId);
+
+    // 타임라인 구성용 팔로잉 ID 목록
+    @Query("SELECT f.following.id FROM Follow f WHERE f.follower.id = :userId")
+    List<Long> findFollowingIds(@Param("userId") Long userId);
+
+    // 팔로워 수가 기준 이상인 사용자 ID 목록 (읽기 시점 병합 대상)
+    @Query("SELECT f.following.id FROM Follow f GROUP BY f.following.id HAVING COUNT(f) >= :threshold")
+    List<Long> findUserIdsWithFollowersAtLeast(@Param("threshold") long threshold);
 } 
\ No newline at end of file
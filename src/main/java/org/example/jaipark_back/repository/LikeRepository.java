@@ -4,7 +4,11 @@ import org.example.jaipark_back.entity.Like;
 import org.example.jaipark_back.entity.Post;
 import org.example.jaipark_back.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -15,4 +19,25 @@ public interface LikeRepository extends JpaRepository<Like, Long> {
     boolean existsByUserAndPost(User user, Post post);
     List<Like> findAllByUser(User user);
     void deleteByPost(Post post);
-} 
\ No newline at end of file
+
+    // 사용자가 좋아요한 게시물을 작성자와 함께 키셋 조회 (커서는 좋아요 ID, user_id, id 인덱스)
+    @Query("SELECT l FROM Like l JOIN FETCH l.post p JOIN FETCH p.user WHERE l.user.id = :userId AND l.id < :lastId ORDER BY l.id DESC LIMIT :limit")
+    List<Like> findByUserIdBeforeId(
+            @Param("userId") Long userId,
+            @Param("lastId") Long lastId,
+            @Param("limit") int limit);
+
+    // 멱등 좋아요 추가: 이미 있거나 게시물이 없으면 무시하고 0 반환
+    @Modifying
+    @Query(value = "INSERT IGNORE INTO likes (user_id, post_id) VALUES (:userId, :postId)", nativeQuery = true)
+    int insertIgnore(@Param("userId") Long userId, @Param("postId") Long postId);
+
+    // 멱등 좋아요 취소: 엔티티를 로딩하지 않는 단일 DELETE
+    @Modifying
+    @Query("DELETE FROM Like l WHERE l.user.id = :userId AND l.post.id = :postId")
+    int deleteByUserIdAndPostId(@Param("userId") Long userId, @Param("postId") Long postId);
+
+    // 게시물별 좋아요 사용자 ID (게시물 ID, 사용자 ID) - 멤버십 인덱스 적재용
+    @Query("SELECT l.post.id, l.user.id FROM Like l WHERE l.post.id IN :postIds")
+    List<Object[]> findMembersByPostIds(@Param("postIds") Collection<Long> postIds);
+}
\ No newline at end of file
@@ -12,6 +12,13 @@ import java.util.List;
 public interface NotificationRepository extends JpaRepository<Notification, Long> {
     List<Notification> findByUserOrderByCreatedAtDesc(User user);
     
+    // 알림 키셋 조회 (user_id, id 인덱스 - ID 순서가 생성 순서와 같음)
+    @Query("SELECT n FROM Notification n WHERE n.user.id = :userId AND n.id < :lastId ORDER BY n.id DESC LIMIT :limit")
+    List<Notification> findByUserIdBeforeId(
+            @Param("userId") Long userId,
+            @Param("lastId") Long lastId,
+            @Param("limit") int limit);
+    
     List<Notification> findByUserAndIsReadFalse(User user);
     
     long countByUserAndIsReadFalse(User user);
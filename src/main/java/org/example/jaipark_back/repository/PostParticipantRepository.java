@@ -0,0 +1,42 @@
+package org.example.jaipark_back.repository;
+
+import org.example.jaipark_back.entity.Post;
+import org.example.jaipark_back.entity.PostParticipant;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface PostParticipantRepository extends JpaRepository<PostParticipant, Long> {
+    void deleteByPost(Post post);
+
+    // 댓글 작성 시 참여자 행을 추가하거나 댓글 수 증가 (post_id, user_id 유니크 키 기준 upsert)
+    @Modifying
+    @Query(value = "INSERT INTO post_participants (post_id, user_id, comment_count) VALUES (:postId, :userId, 1) " +
+            "ON DUPLICATE KEY UPDATE comment_count = comment_count + 1", nativeQuery = true)
+    int upsert(@Param("postId") Long postId, @Param("userId") Long userId);
+
+    @Modifying
+    @Query("UPDATE PostParticipant p SET p.commentCount = p.commentCount - :count WHERE p.post.id = :postId AND p.user.id = :userId")
+    int decrement(@Param("postId") Long postId, @Param("userId") Long userId, @Param("count") long count);
+
+    // 남은 댓글이 없는 참여자 행 정리
+    @Modifying
+    @Query("DELETE FROM PostParticipant p WHERE p.post.id = :postId AND p.user.id IN :userIds AND p.commentCount <= 0")
+    int deleteEmpty(@Param("postId") Long postId, @Param("userIds") Collection<Long> userIds);
+
+    // 게시물별 참여자 ID (게시물 ID, 사용자 ID) - 참여자 인덱스 적재용
+    @Query("SELECT p.post.id, p.user.id FROM PostParticipant p WHERE p.post.id IN :postIds")
+    List<Object[]> findMembersByPostIds(@Param("postIds") Collection<Long> postIds);
+
+    // 참여자 테이블 도입 전 댓글로 테이블 채우기 (최초 한 번)
+    // 이미 upsert로 생긴 행은 댓글 테이블 기준 개수로 맞춤
+    @Modifying
+    @Query(value = "INSERT INTO post_participants (post_id, user_id, comment_count) " +
+            "SELECT c.post_id, c.user_id, COUNT(*) FROM comments c GROUP BY c.post_id, c.user_id " +
+            "ON DUPLICATE KEY UPDATE comment_count = VALUES(comment_count)", nativeQuery = true)
+    int backfillFromComments();
+}
@@ -5,11 +5,13 @@ import org.example.jaipark_back.entity.User;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -17,16 +19,40 @@ import java.util.Optional;
 public interface PostRepository extends JpaRepository<Post, Long> {
     List<Post> findAllByUserOrderByCreatedAtDesc(User user);
 
+    // 사용자가 작성한 게시물 키셋 조회 (user_id, id 인덱스)
+    @Query("SELECT p FROM Post p JOIN FETCH p.user WHERE p.user.id = :userId AND p.id < :lastId ORDER BY p.id DESC LIMIT :limit")
+    List<Post> findByUserIdBeforeId(
+        @Param("userId") Long userId,
+        @Param("lastId") Long lastId,
+        @Param("limit") int limit);
+
     List<Post> findAllByUserInOrderByCreatedAtDesc(List<User> users);
 
-    @Query("SELECT p FROM Post p LEFT JOIN FETCH p.user LEFT JOIN FETCH p.comments c LEFT JOIN FETCH c.user WHERE p.id = :id")
-    Optional<Post> findByIdWithUserAndComments(@Param("id") Long id);
+    @Query("SELECT p FROM Post p JOIN FETCH p.user WHERE p.id = :id")
+    Optional<Post> findByIdWithUser(@Param("id") Long id);
+
+    // 목록 1단계: 게시글 ID만 페이지 단위로 조회 (created_at 인덱스만으로 처리)
+    @Query(value = "SELECT p.id FROM Post p ORDER BY p.createdAt DESC, p.id DESC",
+            countQuery = "SELECT COUNT(p) FROM Post p")
+    Page<Long> findPageOfIds(Pageable pageable);
+
+    // 검색 색인 재구성용 (ID, 제목, 본문) 키셋 조회
+    @Query("SELECT p.id, p.title, p.content FROM Post p WHERE p.id > :lastId ORDER BY p.id LIMIT :limit")
+    List<Object[]> findSearchRowsAfterId(@Param("lastId") Long lastId, @Param("limit") int limit);
 
-    @Query("SELECT DISTINCT p FROM Post p LEFT JOIN FETCH p.user LEFT JOIN FETCH p.comments c LEFT JOIN FETCH c.user ORDER BY p.createdAt DESC")
-    Page<Post> findAllWithUserAndComments(Pageable pageable);
+    // 검색 색인 따라잡기용 - since 이후 생성/수정된 게시글 (ID, 제목, 본문, 수정 시각) 키셋 조회
+    @Query("SELECT p.id, p.title, p.content, p.updatedAt FROM Post p WHERE p.updatedAt > :since AND p.id > :lastId ORDER BY p.id LIMIT :limit")
+    List<Object[]> findSearchRowsUpdatedAfter(@Param("since") LocalDateTime since, @Param("lastId") Long lastId, @Param("limit") int limit);
 
-    @Query("SELECT p FROM Post p WHERE p.title LIKE %:keyword% OR p.content LIKE %:keyword% ORDER BY p.createdAt DESC")
-    Page<Post> searchByTitleOrContent(@Param("keyword") String keyword, Pageable pageable);
+    // 검색 색인에서 삭제된 게시글을 찾기 위한 ID 키셋 조회
+    @Query("SELECT p.id FROM Post p WHERE p.id > :lastId ORDER BY p.id LIMIT :limit")
+    List<Long> findIdsAfterId(@Param("lastId") Long lastId, @Param("limit") int limit);
+
+    @Query("SELECT MAX(p.updatedAt) FROM Post p")
+    Optional<LocalDateTime> findMaxUpdatedAt();
+    
+    @Query("SELECT MAX(p.id) FROM Post p")
+    Optional<Long> findMaxId();
     
     // 키셋 페이지네이션을 위한 메서드
     @Query("SELECT p FROM Post p LEFT JOIN FETCH p.user WHERE p.id < :lastPostId ORDER BY p.id DESC LIMIT :limit")
@@ -36,6 +62,10 @@ public interface PostRepository extends JpaRepository<Post, Long> {
     @Query("SELECT p FROM Post p LEFT JOIN FETCH p.user ORDER BY p.id DESC LIMIT :limit")
     List<Post> findFirstPage(@Param("limit") int limit);
     
+    // 시간 기반 키셋 페이지네이션 첫 페이지 (created_at, id 인덱스)
+    @Query("SELECT p FROM Post p LEFT JOIN FETCH p.user ORDER BY p.createdAt DESC, p.id DESC LIMIT :limit")
+    List<Post> findFirstPageByTime(@Param("limit") int limit);
+    
     // 시간 기반 키셋 페이지네이션
     @Query("SELECT p FROM Post p LEFT JOIN FETCH p.user WHERE (p.createdAt < :createdAt) OR (p.createdAt = :createdAt AND p.id < :id) ORDER BY p.createdAt DESC, p.id DESC LIMIT :limit")
     List<Post> findPostsBeforeTimeAndId(
@@ -50,4 +80,36 @@ public interface PostRepository extends JpaRepository<Post, Long> {
         @Param("createdAt") LocalDateTime createdAt,
         @Param("id") Long id,
         @Param("limit") int limit);
+    
+    // 타임라인 구성을 위한 (게시글 ID, 작성자 ID) 목록
+    @Query("SELECT p.id, p.user.id FROM Post p WHERE p.user.id IN :userIds ORDER BY p.id DESC LIMIT :limit")
+    List<Object[]> findRecentPostRefsByUserIds(
+        @Param("userIds") Collection<Long> userIds,
+        @Param("limit") int limit);
+    
+    // 읽기 시점에 병합하는 사용자의 게시글 ID 키셋 조회
+    @Query("SELECT p.id FROM Post p WHERE p.user.id IN :userIds AND p.id < :lastPostId ORDER BY p.id DESC LIMIT :limit")
+    List<Long> findPostIdsByUserIdsBeforeId(
+        @Param("userIds") Collection<Long> userIds,
+        @Param("lastPostId") Long lastPostId,
+        @Param("limit") int limit);
+    
+    // ID 목록으로 게시글과 작성자를 함께 조회
+    @Query("SELECT p FROM Post p LEFT JOIN FETCH p.user WHERE p.id IN :ids")
+    List<Post> findAllByIdInWithUser(@Param("ids") Collection<Long> ids);
+    
+    // 저장된 좋아요/북마크 수만 조회
+    @Query("SELECT p.likeCount FROM Post p WHERE p.id = :id")
+    Optional<Long> findLikeCountById(@Param("id") Long id);
+    
+    @Query("SELECT p.bookmarkCount FROM Post p WHERE p.id = :id")
+    Optional<Long> findBookmarkCountById(@Param("id") Long id);
+    
+    // 비정규화된 카운터를 실제 테이블 기준으로 재계산
+    @Modifying
+    @Query(value = "UPDATE posts p SET " +
+            "p.like_count = (SELECT COUNT(*) FROM likes l WHERE l.post_id = p.id), " +
+            "p.bookmark_count = (SELECT COUNT(*) FROM bookmarks b WHERE b.post_id = p.id), " +
+            "p.comment_count = (SELECT COUNT(*) FROM comments c WHERE c.post_id = p.id)", nativeQuery = true)
+    int recalculateCounts();
 }
\ No newline at end of file
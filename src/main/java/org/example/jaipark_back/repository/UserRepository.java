@@ -2,7 +2,12 @@ package org.example.jaipark_back.repository;
 
 import org.example.jaipark_back.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 public interface UserRepository extends JpaRepository<User, Long> {
@@ -10,4 +15,28 @@ public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByEmail(String email);
     Boolean existsByUsername(String username);
     Boolean existsByEmail(String email);
-} 
\ No newline at end of file
+
+    // username으로 ID만 조회 (엔티티 로딩 없이 유니크 인덱스만 사용)
+    @Query("SELECT u.id FROM User u WHERE u.username = :username")
+    Optional<Long> findIdByUsername(@Param("username") String username);
+
+    // 검색 색인 구성용 (ID, username, nickname, 프로필 이미지) 키셋 조회
+    @Query("SELECT u.id, u.username, u.nickname, u.profileImage FROM User u WHERE u.id > :lastId ORDER BY u.id LIMIT :limit")
+    List<Object[]> findSearchRowsAfterId(@Param("lastId") Long lastId, @Param("limit") int limit);
+
+    // username 목록으로 프로필 요약 (username, nickname, 프로필 이미지) 일괄 조회
+    @Query("SELECT u.username, u.nickname, u.profileImage FROM User u WHERE u.username IN :usernames")
+    List<Object[]> findProfilesByUsernames(@Param("usernames") Collection<String> usernames);
+
+    @Query("SELECT u.tokenEpoch FROM User u WHERE u.id = :id")
+    Optional<Long> findTokenEpochById(@Param("id") Long id);
+
+    // 토큰 일괄 폐기: epoch 증가 (먼저 flush하고, 실행 후 영속성 컨텍스트를 비워 이전 값이 다시 쓰이지 않도록 함)
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE User u SET u.tokenEpoch = u.tokenEpoch + 1 WHERE u.id = :id")
+    int incrementTokenEpoch(@Param("id") Long id);
+
+    // epoch을 올린 적 있는 사용자만 키셋 조회 (ID, epoch)
+    @Query("SELECT u.id, u.tokenEpoch FROM User u WHERE u.tokenEpoch > 0 AND u.id > :lastId ORDER BY u.id LIMIT :limit")
+    List<Object[]> findTokenEpochsAfterId(@Param("lastId") Long lastId, @Param("limit") int limit);
+}
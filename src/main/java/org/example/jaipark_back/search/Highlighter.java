@@ -0,0 +1,69 @@
+package org.example.jaipark_back.search;
+
+import org.springframework.web.util.HtmlUtils;
+
+import java.util.Set;
+
+/**
+ * 검색어와 일치하는 구간을 &lt;em&gt;으로 감싸는 하이라이터
+ * - 원문은 HTML 이스케이프한 뒤 감싸므로 그대로 렌더링해도 안전
+ * - maxLength가 주어지면 첫 일치 구간 주변만 잘라서 반환
+ */
+public final class Highlighter {
+    private static final String OPEN = "<em>";
+    private static final String CLOSE = "</em>";
+    private static final String ELLIPSIS = "...";
+
+    private Highlighter() {
+    }
+
+    public static String highlight(String text, Set<String> queryTerms, int maxLength) {
+        if (text == null || text.isEmpty()) {
+            return text;
+        }
+
+        // 일치한 토큰이 덮는 글자 표시 (bigram이 겹치면 이어진 구간이 됨)
+        boolean[] marked = new boolean[text.length()];
+        int firstMatch = -1;
+        for (Tokenizer.Token token : Tokenizer.tokenize(text)) {
+            if (queryTerms.contains(token.term())) {
+                for (int i = token.start(); i < token.end(); i++) {
+                    marked[i] = true;
+                }
+                if (firstMatch < 0) {
+                    firstMatch = token.start();
+                }
+            }
+        }
+
+        int from = 0;
+        int to = text.length();
+        if (maxLength > 0 && text.length() > maxLength) {
+            from = Math.max(0, (firstMatch < 0 ? 0 : firstMatch) - maxLength / 4);
+            to = Math.min(text.length(), from + maxLength);
+        }
+
+        StringBuilder result = new StringBuilder();
+        if (from > 0) {
+            result.append(ELLIPSIS);
+        }
+        int i = from;
+        while (i < to) {
+            int end = i;
+            while (end < to && marked[end] == marked[i]) {
+                end++;
+            }
+            String segment = HtmlUtils.htmlEscape(text.substring(i, end));
+            if (marked[i]) {
+                result.append(OPEN).append(segment).append(CLOSE);
+            } else {
+                result.append(segment);
+            }
+            i = end;
+        }
+        if (to < text.length()) {
+            result.append(ELLIPSIS);
+        }
+        return result.toString();
+    }
+}
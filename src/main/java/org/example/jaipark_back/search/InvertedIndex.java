@@ -0,0 +1,284 @@
+package org.example.jaipark_back.search;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 게시글 제목/본문 역색인 + BM25 랭킹
+ * - 용어 -> (게시글 ID -> 출현 빈도), 게시글 ID -> (용어 -> 출현 빈도)를 함께 유지해 갱신/삭제를 증분 처리
+ * - 제목 토큰은 TITLE_WEIGHT배로 가중
+ * - 읽기/쓰기는 ReadWriteLock으로 보호 (검색끼리는 동시 실행)
+ */
+public class InvertedIndex {
+    private static final int FILE_MAGIC = 0x4A505849;
+    private static final int FILE_VERSION = 3; // 2: 한글/한자 unigram 색인 추가, 3: 변경 워터마크 추가 (이전 파일은 재구성)
+
+    private static final int TITLE_WEIGHT = 2;
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+
+    private final Map<String, Map<Long, Integer>> postings = new HashMap<>();
+    private final Map<Long, Map<String, Integer>> documents = new HashMap<>();
+    private final Map<Long, Integer> lengths = new HashMap<>();
+    private long totalLength;
+
+    // 이 시각(epoch ms)까지 수정된 문서가 반영됨 - 값은 호출 측이 관리하고 파일에 함께 저장
+    private volatile long watermark;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public record Hits(List<Long> ids, long total) {
+    }
+
+    /**
+     * 게시글을 색인 (이미 있으면 교체)
+     */
+    public void put(Long id, String title, String content) {
+        Map<String, Integer> terms = new HashMap<>();
+        for (Tokenizer.Token token : Tokenizer.tokenize(title)) {
+            terms.merge(token.term(), TITLE_WEIGHT, Integer::sum);
+        }
+        for (Tokenizer.Token token : Tokenizer.tokenize(content)) {
+            terms.merge(token.term(), 1, Integer::sum);
+        }
+
+        lock.writeLock().lock();
+        try {
+            removeLocked(id);
+            addLocked(id, terms);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long id) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public long watermark() {
+        return watermark;
+    }
+
+    public void setWatermark(long watermark) {
+        this.watermark = watermark;
+    }
+
+    /**
+     * 색인된 게시글 ID (오름차순)
+     */
+    public long[] ids() {
+        lock.readLock().lock();
+        try {
+            return documents.keySet().stream().mapToLong(Long::longValue).sorted().toArray();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public long maxId() {
+        lock.readLock().lock();
+        try {
+            return documents.keySet().stream().mapToLong(Long::longValue).max().orElse(0L);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * BM25 점수 순으로 한 페이지의 게시글 ID 반환 (동점이면 최신 게시글 우선)
+     */
+    public Hits search(String query, int offset, int limit) {
+        Set<String> terms = queryTerms(query);
+        if (terms.isEmpty()) {
+            return new Hits(List.of(), 0);
+        }
+
+        lock.readLock().lock();
+        try {
+            int docCount = documents.size();
+            double avgLength = docCount == 0 ? 0 : (double) totalLength / docCount;
+
+            Map<Long, Double> scores = new HashMap<>();
+            for (String term : terms) {
+                Map<Long, Integer> docs = postings.get(term);
+                if (docs == null) {
+                    continue;
+                }
+                double idf = Math.log(1 + (docCount - docs.size() + 0.5) / (docs.size() + 0.5));
+                for (Map.Entry<Long, Integer> entry : docs.entrySet()) {
+                    int tf = entry.getValue();
+                    int length = lengths.get(entry.getKey());
+                    double norm = tf + K1 * (1 - B + B * length / avgLength);
+                    scores.merge(entry.getKey(), idf * tf * (K1 + 1) / norm, Double::sum);
+                }
+            }
+
+            // 필요한 만큼만 남기는 최소 힙으로 상위 offset + limit개 선택
+            Comparator<Map.Entry<Long, Double>> order = Map.Entry.<Long, Double>comparingByValue()
+                    .thenComparing(Map.Entry.comparingByKey());
+            int wanted = offset + limit;
+            PriorityQueue<Map.Entry<Long, Double>> top = new PriorityQueue<>(order);
+            for (Map.Entry<Long, Double> entry : scores.entrySet()) {
+                top.offer(entry);
+                if (top.size() > wanted) {
+                    top.poll();
+                }
+            }
+            List<Long> ranked = new ArrayList<>(top.size());
+            while (!top.isEmpty()) {
+                ranked.add(top.poll().getKey());
+            }
+            Collections.reverse(ranked);
+
+            List<Long> page = offset >= ranked.size() ? List.of() : ranked.subList(offset, ranked.size());
+            return new Hits(List.copyOf(page), scores.size());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 질의를 색인과 같은 규칙으로 분리한 용어 집합 (하이라이트에도 사용)
+     */
+    public static Set<String> queryTerms(String query) {
+        Set<String> terms = new LinkedHashSet<>();
+        for (Tokenizer.Token token : Tokenizer.tokenizeQuery(query)) {
+            terms.add(token.term());
+        }
+        return terms;
+    }
+
+    /**
+     * 색인 파일로 저장 (임시 파일에 쓴 뒤 원자적으로 교체)
+     */
+    public void save(Path file) throws IOException {
+        Files.createDirectories(file.toAbsolutePath().getParent());
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        lock.readLock().lock();
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+            out.writeInt(FILE_MAGIC);
+            out.writeInt(FILE_VERSION);
+            out.writeLong(watermark);
+            out.writeInt(documents.size());
+            for (Map.Entry<Long, Map<String, Integer>> document : documents.entrySet()) {
+                out.writeLong(document.getKey());
+                out.writeInt(document.getValue().size());
+                for (Map.Entry<String, Integer> term : document.getValue().entrySet()) {
+                    out.writeUTF(term.getKey());
+                    out.writeInt(term.getValue());
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * 색인 파일에서 적재 (기존 내용은 교체)
+     */
+    public void load(Path file) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            if (in.readInt() != FILE_MAGIC || in.readInt() != FILE_VERSION) {
+                throw new IOException("Unsupported search index file: " + file);
+            }
+            long loadedWatermark = in.readLong();
+            int docCount = in.readInt();
+            Map<Long, Map<String, Integer>> loaded = new HashMap<>(docCount * 2);
+            for (int i = 0; i < docCount; i++) {
+                long id = in.readLong();
+                int termCount = in.readInt();
+                Map<String, Integer> terms = new HashMap<>(termCount * 2);
+                for (int j = 0; j < termCount; j++) {
+                    terms.put(in.readUTF(), in.readInt());
+                }
+                loaded.put(id, terms);
+            }
+
+            lock.writeLock().lock();
+            try {
+                clearLocked();
+                loaded.forEach(this::addLocked);
+                watermark = loadedWatermark;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+    }
+
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            clearLocked();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void addLocked(Long id, Map<String, Integer> terms) {
+        documents.put(id, terms);
+        int length = 0;
+        for (Map.Entry<String, Integer> term : terms.entrySet()) {
+            postings.computeIfAbsent(term.getKey(), key -> new HashMap<>()).put(id, term.getValue());
+            length += term.getValue();
+        }
+        lengths.put(id, length);
+        totalLength += length;
+    }
+
+    private void removeLocked(Long id) {
+        Map<String, Integer> terms = documents.remove(id);
+        if (terms == null) {
+            return;
+        }
+        totalLength -= lengths.remove(id);
+        for (Map.Entry<String, Integer> term : terms.entrySet()) {
+            Map<Long, Integer> docs = postings.get(term.getKey());
+            if (docs != null) {
+                docs.remove(id);
+                if (docs.isEmpty()) {
+                    postings.remove(term.getKey());
+                }
+            }
+        }
+    }
+
+    private void clearLocked() {
+        postings.clear();
+        documents.clear();
+        lengths.clear();
+        totalLength = 0;
+        watermark = 0;
+    }
+}
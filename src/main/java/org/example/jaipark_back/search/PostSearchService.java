@@ -0,0 +1,234 @@
+package org.example.jaipark_back.search;
+
+import jakarta.annotation.PreDestroy;
+import org.example.jaipark_back.entity.Post;
+import org.example.jaipark_back.repository.PostRepository;
+import org.example.jaipark_back.service.AfterCommit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 게시글 전문 검색 서비스
+ * - 게시글 생성/수정/삭제가 커밋되면 역색인을 증분 갱신
+ * - 변경이 있으면 주기적으로, 그리고 종료 시 색인 파일로 저장 (반영한 마지막 수정 시각 워터마크 포함)
+ * - 기동 시 색인 파일을 읽고 워터마크 이후 DB 변경을 따라잡음, 파일이 없거나 읽을 수 없으면 DB에서 다시 구성
+ * - 다른 노드의 변경도 주기적으로 같은 방식으로 따라잡고, 게시글 수가 맞지 않으면 삭제된 게시글을 정리
+ */
+@Service
+public class PostSearchService {
+    private static final Logger logger = LoggerFactory.getLogger(PostSearchService.class);
+
+    private static final String INDEX_FILE = "posts.idx";
+    private static final int REBUILD_BATCH_SIZE = 1000;
+    private static final int SNIPPET_LENGTH = 120;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Value("${search.index-dir:./data/search-index}")
+    private String indexDir;
+
+    @Value("${search.rebuild-on-startup:false}")
+    private boolean rebuildOnStartup;
+
+    // 늦게 커밋된 트랜잭션의 수정 시각이 워터마크보다 앞설 수 있어 이만큼 겹쳐서 다시 읽음
+    @Value("${search.catch-up-overlap-seconds:120}")
+    private long catchUpOverlapSeconds;
+
+    private final InvertedIndex index = new InvertedIndex();
+
+    private final AtomicBoolean dirty = new AtomicBoolean();
+
+    /**
+     * 기동 시 색인 파일 적재 후 워터마크 이후 변경 반영 (없거나 읽을 수 없으면 DB에서 재구성)
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOrRebuild() {
+        Path file = indexFile();
+        if (!rebuildOnStartup && Files.exists(file)) {
+            try {
+                index.load(file);
+                logger.info("Loaded search index with {} posts from {}", index.size(), file);
+                catchUp();
+                return;
+            } catch (IOException e) {
+                logger.warn("Failed to load search index, rebuilding from database: {}", e.getMessage());
+            }
+        }
+        rebuild();
+    }
+
+    /**
+     * posts 테이블을 ID 순으로 나눠 읽어 색인을 새로 구성
+     */
+    public synchronized void rebuild() {
+        index.clear();
+        // 구성 중에 수정된 게시글은 다음 따라잡기에서 반영
+        long watermark = postRepository.findMaxUpdatedAt().map(PostSearchService::toMillis).orElse(0L);
+        long lastId = 0;
+        List<Object[]> rows;
+        do {
+            rows = postRepository.findSearchRowsAfterId(lastId, REBUILD_BATCH_SIZE);
+            for (Object[] row : rows) {
+                lastId = (Long) row[0];
+                index.put(lastId, (String) row[1], (String) row[2]);
+            }
+        } while (rows.size() == REBUILD_BATCH_SIZE);
+        index.setWatermark(watermark);
+        logger.info("Rebuilt search index with {} posts", index.size());
+        dirty.set(true);
+        snapshot();
+    }
+
+    /**
+     * 워터마크 이후 생성/수정된 게시글을 다시 색인하고, 삭제된 게시글은 색인에서 제거
+     * (다른 노드의 변경과 비정상 종료로 파일에 빠진 변경을 반영)
+     */
+    @Scheduled(initialDelayString = "${search.catch-up-interval-ms:30000}",
+            fixedDelayString = "${search.catch-up-interval-ms:30000}")
+    public synchronized void catchUp() {
+        long watermark = index.watermark();
+        LocalDateTime since = toDateTime(watermark).minusSeconds(catchUpOverlapSeconds);
+        int updated = 0;
+        long lastId = 0;
+        List<Object[]> rows;
+        do {
+            rows = postRepository.findSearchRowsUpdatedAfter(since, lastId, REBUILD_BATCH_SIZE);
+            for (Object[] row : rows) {
+                lastId = (Long) row[0];
+                index.put(lastId, (String) row[1], (String) row[2]);
+                watermark = Math.max(watermark, toMillis((LocalDateTime) row[3]));
+            }
+            updated += rows.size();
+        } while (rows.size() == REBUILD_BATCH_SIZE);
+        index.setWatermark(watermark);
+
+        // 생성/수정은 모두 반영됐으므로 게시글 수가 다르면 삭제된 게시글이 남아 있는 것
+        int removed = index.size() != postRepository.count() ? removeDeleted() : 0;
+        if (updated > 0 || removed > 0) {
+            logger.debug("Search index caught up {} updated and {} deleted posts", updated, removed);
+            dirty.set(true);
+        }
+    }
+
+    // DB의 게시글 ID와 색인의 ID를 정렬 순서로 병합해 DB에 없는 ID 제거
+    private int removeDeleted() {
+        long[] indexed = index.ids();
+        int position = 0;
+        int removed = 0;
+        long lastId = 0;
+        List<Long> ids;
+        do {
+            ids = postRepository.findIdsAfterId(lastId, REBUILD_BATCH_SIZE);
+            for (Long id : ids) {
+                while (position < indexed.length && indexed[position] < id) {
+                    index.remove(indexed[position++]);
+                    removed++;
+                }
+                if (position < indexed.length && indexed[position] == id) {
+                    position++;
+                }
+                lastId = id;
+            }
+        } while (ids.size() == REBUILD_BATCH_SIZE);
+        while (position < indexed.length) {
+            index.remove(indexed[position++]);
+            removed++;
+        }
+        return removed;
+    }
+
+    /**
+     * 게시글 생성/수정 커밋 후 색인 반영
+     */
+    public void indexPost(Post post) {
+        Long id = post.getId();
+        String title = post.getTitle();
+        String content = post.getContent();
+        AfterCommit.run(() -> {
+            index.put(id, title, content);
+            dirty.set(true);
+        });
+    }
+
+    /**
+     * 게시글 삭제 커밋 후 색인에서 제거
+     */
+    public void removePost(Long id) {
+        AfterCommit.run(() -> {
+            index.remove(id);
+            dirty.set(true);
+        });
+    }
+
+    /**
+     * 한 페이지 검색 (page는 0 이상, size는 호출 측에서 제한)
+     */
+    public InvertedIndex.Hits search(String keyword, int page, int size) {
+        // 아주 큰 페이지 번호는 int 범위를 넘지 않게 잘라 빈 페이지로 처리
+        int offset = (int) Math.min((long) page * size, Integer.MAX_VALUE);
+        return index.search(keyword, offset, size);
+    }
+
+    public Set<String> queryTerms(String keyword) {
+        return InvertedIndex.queryTerms(keyword);
+    }
+
+    public String highlightTitle(String title, Set<String> terms) {
+        return Highlighter.highlight(title, terms, 0);
+    }
+
+    public String highlightContent(String content, Set<String> terms) {
+        return Highlighter.highlight(content, terms, SNIPPET_LENGTH);
+    }
+
+    /**
+     * 변경분이 있으면 색인 파일 저장
+     */
+    @Scheduled(fixedDelayString = "${search.snapshot-interval-ms:60000}")
+    public void snapshot() {
+        if (!dirty.getAndSet(false)) {
+            return;
+        }
+        try {
+            index.save(indexFile());
+        } catch (IOException e) {
+            dirty.set(true);
+            logger.error("Failed to save search index: {}", e.getMessage(), e);
+        }
+    }
+
+    @PreDestroy
+    public void snapshotOnShutdown() {
+        snapshot();
+    }
+
+    private Path indexFile() {
+        return Paths.get(indexDir, INDEX_FILE);
+    }
+
+    private static long toMillis(LocalDateTime time) {
+        return time.toInstant(ZoneOffset.UTC).toEpochMilli();
+    }
+
+    private static LocalDateTime toDateTime(long millis) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(millis), ZoneOffset.UTC);
+    }
+}
@@ -0,0 +1,90 @@
+package org.example.jaipark_back.search;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * 검색용 토크나이저
+ * - 한글/한자/가나 구간은 글자 bigram으로 분리 (조사가 붙어도 "게시판에서" -> 게시, 시판, 판에, 에서 로 부분 일치)
+ * - 문서는 글자 unigram도 함께 색인해 한 글자 질의("책", "밥")도 긴 구간 안에서 찾을 수 있음
+ * - 질의는 bigram만 사용하고, 한 글자짜리 구간만 unigram으로 유지 (두 글자 이상 질의의 정밀도 유지)
+ * - 영문/숫자 구간은 소문자로 바꾼 단어 단위
+ * - 하이라이트를 위해 원문 기준 시작/끝 위치를 함께 반환
+ */
+public final class Tokenizer {
+    private Tokenizer() {
+    }
+
+    public record Token(String term, int start, int end) {
+    }
+
+    /**
+     * 문서(색인, 하이라이트)용 토큰
+     */
+    public static List<Token> tokenize(String text) {
+        return tokenize(text, true);
+    }
+
+    /**
+     * 질의용 토큰
+     */
+    public static List<Token> tokenizeQuery(String text) {
+        return tokenize(text, false);
+    }
+
+    private static List<Token> tokenize(String text, boolean unigrams) {
+        List<Token> tokens = new ArrayList<>();
+        if (text == null || text.isEmpty()) {
+            return tokens;
+        }
+        int length = text.length();
+        int i = 0;
+        while (i < length) {
+            char c = text.charAt(i);
+            if (isCjk(c)) {
+                int end = i;
+                while (end < length && isCjk(text.charAt(end))) {
+                    end++;
+                }
+                addCjkTokens(text, i, end, unigrams, tokens);
+                i = end;
+            } else if (Character.isLetterOrDigit(c)) {
+                int end = i;
+                while (end < length && Character.isLetterOrDigit(text.charAt(end)) && !isCjk(text.charAt(end))) {
+                    end++;
+                }
+                tokens.add(new Token(text.substring(i, end).toLowerCase(Locale.ROOT), i, end));
+                i = end;
+            } else {
+                i++;
+            }
+        }
+        return tokens;
+    }
+
+    private static void addCjkTokens(String text, int start, int end, boolean unigrams, List<Token> tokens) {
+        if (end - start == 1) {
+            tokens.add(new Token(text.substring(start, end), start, end));
+            return;
+        }
+        for (int i = start; i < end; i++) {
+            if (unigrams) {
+                tokens.add(new Token(text.substring(i, i + 1), i, i + 1));
+            }
+            if (i + 1 < end) {
+                tokens.add(new Token(text.substring(i, i + 2), i, i + 2));
+            }
+        }
+    }
+
+    private static boolean isCjk(char c) {
+        Character.UnicodeBlock block = Character.UnicodeBlock.of(c);
+        return block == Character.UnicodeBlock.HANGUL_SYLLABLES
+                || block == Character.UnicodeBlock.HANGUL_JAMO
+                || block == Character.UnicodeBlock.HANGUL_COMPATIBILITY_JAMO
+                || block == Character.UnicodeBlock.CJK_UNIFIED_IDEOGRAPHS
+                || block == Character.UnicodeBlock.HIRAGANA
+                || block == Character.UnicodeBlock.KATAKANA;
+    }
+}
@@ -0,0 +1,223 @@
+package org.example.jaipark_back.search;
+
+import org.example.jaipark_back.util.SortedLongSet;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 사용자 username/nickname 메모리 색인
+ * - 접두사 자동완성: 정규화한 이름을 정렬 맵에 보관해 범위 조회 (O(log n + limit))
+ * - 오타 허용: 앞쪽 패딩을 붙인 trigram 역색인으로 후보를 좁힌 뒤 편집 거리로 검증
+ *   (편집 1회는 trigram을 최대 3개 깨뜨리므로, 가장 드문 3k+1개 trigram의 합집합만 보면 누락이 없음)
+ * - 읽기/쓰기는 ReadWriteLock으로 보호
+ */
+public class UserNameIndex {
+    private static final char PAD = '\u0002';
+    private static final char SEPARATOR = '\u0000';
+    private static final int MAX_FUZZY_CANDIDATES = 20000;
+
+    public record Entry(long id, String username, String nickname, String profileImage) {
+    }
+
+    private final Map<Long, Entry> entries = new HashMap<>();
+    // "정규화한 이름 + 구분자 + ID" -> ID
+    private final NavigableMap<String, Long> names = new TreeMap<>();
+    // trigram -> 사용자 ID 집합
+    private final Map<String, SortedLongSet> trigrams = new HashMap<>();
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public void put(Entry entry) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(entry.id());
+            entries.put(entry.id(), entry);
+            for (String name : namesOf(entry)) {
+                names.put(name + SEPARATOR + entry.id(), entry.id());
+                for (String gram : trigramsOf(name)) {
+                    trigrams.computeIfAbsent(gram, key -> new SortedLongSet()).add(entry.id());
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(long id) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return entries.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 접두사 일치를 먼저, 부족하면 편집 거리가 가까운 순으로 채워 최대 limit명 반환
+     */
+    public List<Entry> search(String query, int limit) {
+        String q = normalize(query);
+        if (q.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+
+        lock.readLock().lock();
+        try {
+            Map<Long, Entry> result = new LinkedHashMap<>();
+            for (Long id : names.subMap(q, true, q + Character.MAX_VALUE, false).values()) {
+                if (result.size() >= limit) {
+                    return List.copyOf(result.values());
+                }
+                result.putIfAbsent(id, entries.get(id));
+            }
+
+            int maxEdits = q.length() >= 8 ? 2 : 1;
+            List<String> grams = new ArrayList<>(trigramsOf(q));
+            if (result.size() < limit && grams.size() > 3 * maxEdits) {
+                for (Entry entry : fuzzyMatches(q, grams, maxEdits)) {
+                    if (result.size() >= limit) {
+                        break;
+                    }
+                    result.putIfAbsent(entry.id(), entry);
+                }
+            }
+            return List.copyOf(result.values());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private List<Entry> fuzzyMatches(String q, List<String> grams, int maxEdits) {
+        grams.sort(Comparator.comparingInt(gram -> {
+            SortedLongSet ids = trigrams.get(gram);
+            return ids == null ? 0 : ids.size();
+        }));
+
+        Set<Long> seen = new HashSet<>();
+        Map<Long, Integer> distances = new HashMap<>();
+        for (String gram : grams.subList(0, 3 * maxEdits + 1)) {
+            SortedLongSet ids = trigrams.get(gram);
+            if (ids == null) {
+                continue;
+            }
+            for (int i = 0; i < ids.size() && seen.size() < MAX_FUZZY_CANDIDATES; i++) {
+                long id = ids.get(i);
+                if (!seen.add(id)) {
+                    continue;
+                }
+                int distance = maxEdits + 1;
+                for (String name : namesOf(entries.get(id))) {
+                    distance = Math.min(distance, prefixDistance(q, name, maxEdits));
+                }
+                if (distance <= maxEdits) {
+                    distances.put(id, distance);
+                }
+            }
+        }
+
+        List<Entry> matches = new ArrayList<>(distances.size());
+        for (Long id : distances.keySet()) {
+            matches.add(entries.get(id));
+        }
+        matches.sort(Comparator.<Entry>comparingInt(entry -> distances.get(entry.id()))
+                .thenComparingInt(entry -> entry.username().length()));
+        return matches;
+    }
+
+    /**
+     * query와 name의 접두사들 사이의 최소 편집 거리 (maxEdits를 넘으면 maxEdits + 1)
+     */
+    static int prefixDistance(String query, String name, int maxEdits) {
+        int n = Math.min(name.length(), query.length() + maxEdits);
+        int[] previous = new int[n + 1];
+        int[] current = new int[n + 1];
+        for (int j = 0; j <= n; j++) {
+            previous[j] = j;
+        }
+        for (int i = 1; i <= query.length(); i++) {
+            current[0] = i;
+            int rowMin = i;
+            for (int j = 1; j <= n; j++) {
+                int cost = query.charAt(i - 1) == name.charAt(j - 1) ? 0 : 1;
+                current[j] = Math.min(Math.min(current[j - 1] + 1, previous[j] + 1), previous[j - 1] + cost);
+                rowMin = Math.min(rowMin, current[j]);
+            }
+            // 행 최솟값이 한도를 넘으면 더 볼 필요 없음
+            if (rowMin > maxEdits) {
+                return maxEdits + 1;
+            }
+            int[] swap = previous;
+            previous = current;
+            current = swap;
+        }
+        int best = maxEdits + 1;
+        for (int j = 0; j <= n; j++) {
+            best = Math.min(best, previous[j]);
+        }
+        return best;
+    }
+
+    private void removeLocked(long id) {
+        Entry entry = entries.remove(id);
+        if (entry == null) {
+            return;
+        }
+        for (String name : namesOf(entry)) {
+            names.remove(name + SEPARATOR + id);
+            for (String gram : trigramsOf(name)) {
+                SortedLongSet ids = trigrams.get(gram);
+                if (ids != null) {
+                    ids.remove(id);
+                    if (ids.size() == 0) {
+                        trigrams.remove(gram);
+                    }
+                }
+            }
+        }
+    }
+
+    private static Set<String> namesOf(Entry entry) {
+        Set<String> result = new LinkedHashSet<>();
+        result.add(normalize(entry.username()));
+        if (entry.nickname() != null) {
+            result.add(normalize(entry.nickname()));
+        }
+        return result;
+    }
+
+    // 앞쪽에만 패딩을 붙여 접두사 기준 trigram 생성
+    private static Set<String> trigramsOf(String name) {
+        String padded = "" + PAD + PAD + name;
+        Set<String> result = new LinkedHashSet<>();
+        for (int i = 0; i + 3 <= padded.length(); i++) {
+            result.add(padded.substring(i, i + 3));
+        }
+        return result;
+    }
+
+    private static String normalize(String value) {
+        return value == null ? "" : value.strip().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,69 @@
+package org.example.jaipark_back.search;
+
+import org.example.jaipark_back.dto.UserResponse;
+import org.example.jaipark_back.entity.User;
+import org.example.jaipark_back.repository.UserRepository;
+import org.example.jaipark_back.service.AfterCommit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+/**
+ * 사용자 검색 서비스
+ * - 기동 시 users 테이블을 ID 순으로 나눠 읽어 메모리 색인을 구성
+ * - 가입/프로필 수정이 커밋되면 색인 갱신
+ * - 검색은 DB를 거치지 않고 색인에 있는 요약 정보만으로 응답
+ */
+@Service
+public class UserSearchService {
+    private static final Logger logger = LoggerFactory.getLogger(UserSearchService.class);
+
+    private static final int LOAD_BATCH_SIZE = 5000;
+    private static final int MAX_LIMIT = 50;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private final UserNameIndex index = new UserNameIndex();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        long lastId = 0;
+        List<Object[]> rows;
+        do {
+            rows = userRepository.findSearchRowsAfterId(lastId, LOAD_BATCH_SIZE);
+            for (Object[] row : rows) {
+                lastId = (Long) row[0];
+                index.put(new UserNameIndex.Entry(lastId, (String) row[1], (String) row[2], (String) row[3]));
+            }
+        } while (rows.size() == LOAD_BATCH_SIZE);
+        logger.info("Loaded {} users into search index", index.size());
+    }
+
+    /**
+     * 가입/프로필 수정 커밋 후 색인 반영
+     */
+    public void indexUser(User user) {
+        UserNameIndex.Entry entry = new UserNameIndex.Entry(
+                user.getId(), user.getUsername(), user.getNickname(), user.getProfileImage());
+        AfterCommit.run(() -> index.put(entry));
+    }
+
+    public List<UserResponse> search(String query, int limit) {
+        return index.search(query, Math.min(limit, MAX_LIMIT)).stream()
+                .map(entry -> {
+                    UserResponse response = new UserResponse();
+                    response.setId(entry.id());
+                    response.setUsername(entry.username());
+                    response.setNickname(entry.nickname());
+                    response.setProfileImage(entry.profileImage());
+                    return response;
+                })
+                .toList();
+    }
+}
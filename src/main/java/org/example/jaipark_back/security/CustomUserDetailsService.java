@@ -11,7 +11,11 @@ import org.springframework.stereotype.Service;
 @RequiredArgsConstructor
 public class CustomUserDetailsService implements UserDetailsService {
     private final UserRepository userRepository;
+    private final PrincipalCache principalCache;
 
+    /**
+     * 로그인(비밀번호 확인)용 조회 - 바뀐 비밀번호가 바로 반영되도록 항상 DB에서 읽음
+     */
     @Override
     public UserDetails loadUserByUsername(String usernameOrEmail) throws UsernameNotFoundException {
         return userRepository.findByUsername(usernameOrEmail)
@@ -19,4 +23,19 @@ public class CustomUserDetailsService implements UserDetailsService {
                 .map(UserPrincipal::create)
                 .orElseThrow(() -> new UsernameNotFoundException("User not found with username or email: " + usernameOrEmail));
     }
-} 
\ No newline at end of file
+
+    /**
+     * 이미 검증된 토큰의 사용자 조회 (principal 캐시 경유, 비밀번호 확인에는 쓰지 않음)
+     */
+    public UserPrincipal loadPrincipal(String username) throws UsernameNotFoundException {
+        UserPrincipal cached = principalCache.getIfPresent(username);
+        if (cached != null) {
+            return cached;
+        }
+        UserPrincipal principal = userRepository.findByUsername(username)
+                .map(UserPrincipal::create)
+                .orElseThrow(() -> new UsernameNotFoundException("User not found with username: " + username));
+        principalCache.put(principal);
+        return principal;
+    }
+}
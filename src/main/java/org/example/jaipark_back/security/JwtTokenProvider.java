@@ -1,22 +1,46 @@
 package org.example.jaipark_back.security;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
-import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
 import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
 
+/**
+ * JWT 발급/검증
+ * - 서명 키와 파서는 기동 시 한 번 만들어 재사용 (JwtParser는 불변이라 스레드 안전)
+ * - 토큰에 사용자 ID와 권한을 담아, 검증만으로 UserPrincipal을 만들고 DB는 조회하지 않음
+ * - 검증된 토큰은 SHA-256 해시를 키로 만료 시각까지 캐시해 같은 토큰의 서명 검증을 반복하지 않음
+ * - ID 클레임이 없는 이전 토큰은 username으로 사용자 정보를 읽음 (principal 캐시 경유)
+ * - 토큰의 epoch이 사용자의 현재 epoch보다 낮으면 폐기된 토큰으로 거부 (캐시 적중 시에도 매번 확인)
+ */
 @Component
 @RequiredArgsConstructor
 public class JwtTokenProvider {
+    private static final String EMAIL_CLAIM = "email";
+    private static final String USER_ID_CLAIM = "uid";
+    private static final String ROLE_CLAIM = "role";
+    private static final String EPOCH_CLAIM = "ep";
 
     private final CustomUserDetailsService customUserDetailsService;
+    private final TokenEpochService tokenEpochService;
 
     @Value("${jwt.secret}")
     private String jwtSecret;
@@ -24,8 +48,53 @@ public class JwtTokenProvider {
     @Value("${jwt.expiration}")
     private int jwtExpirationInMs;
 
-    private SecretKey getSigningKey() {
-        return Keys.hmacShaKeyFor(jwtSecret.getBytes());
+    @Value("${jwt.verified-cache-size:100000}")
+    private long verifiedCacheSize;
+
+    private SecretKey signingKey;
+    private JwtParser parser;
+    private Cache<String, VerifiedToken> verifiedTokens;
+
+    private static final ThreadLocal<MessageDigest> SHA256 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    });
+
+    /**
+     * 검증된 토큰 (principal은 ID 클레임이 없는 이전 토큰이면 null, epoch 클레임이 없으면 0)
+     */
+    private record VerifiedToken(String username, UserPrincipal principal, long epoch, long expiresAtMillis) {
+    }
+
+    @PostConstruct
+    public void init() {
+        signingKey = Keys.hmacShaKeyFor(jwtSecret.getBytes());
+        parser = Jwts.parserBuilder()
+                .setSigningKey(signingKey)
+                .build();
+        verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(verifiedCacheSize)
+                .expireAfter(new Expiry<String, VerifiedToken>() {
+                    @Override
+                    public long expireAfterCreate(String key, VerifiedToken token, long currentTime) {
+                        long remaining = token.expiresAtMillis() - System.currentTimeMillis();
+                        return TimeUnit.MILLISECONDS.toNanos(Math.max(0, remaining));
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, VerifiedToken token, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, VerifiedToken token, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .build();
     }
 
     public String generateToken(Authentication authentication) {
@@ -36,51 +105,80 @@ public class JwtTokenProvider {
 
         return Jwts.builder()
                 .setSubject(userPrincipal.getUsername())
-                .claim("email", userPrincipal.getEmail())
-                .setIssuedAt(new Date())
+                .claim(EMAIL_CLAIM, userPrincipal.getEmail())
+                .claim(USER_ID_CLAIM, userPrincipal.getId())
+                .claim(ROLE_CLAIM, userPrincipal.getAuthorities().iterator().next().getAuthority())
+                .claim(EPOCH_CLAIM, tokenEpochService.issueEpoch(userPrincipal.getId()))
+                .setIssuedAt(now)
                 .setExpiration(expiryDate)
-                .signWith(getSigningKey(), SignatureAlgorithm.HS512)
+                .signWith(signingKey, SignatureAlgorithm.HS512)
                 .compact();
     }
 
     public String getUsernameFromJWT(String token) {
-        Claims claims = Jwts.parserBuilder()
-                .setSigningKey(getSigningKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
-
-        return claims.getSubject();
+        return verify(token).username();
     }
 
     public boolean validateToken(String authToken) {
+        return authenticate(authToken) != null;
+    }
+
+    /**
+     * 토큰을 한 번 검증해 Authentication 생성 (유효하지 않으면 null)
+     */
+    public Authentication authenticate(String token) {
+        VerifiedToken verified;
         try {
-            Jwts.parserBuilder()
-                .setSigningKey(getSigningKey())
-                .build()
-                .parseClaimsJws(authToken);
-            return true;
-        } catch (SignatureException ex) {
-            // Invalid JWT signature
-            return false;
-        } catch (MalformedJwtException ex) {
-            // Invalid JWT token
-            return false;
-        } catch (ExpiredJwtException ex) {
-            // Expired JWT token
-            return false;
-        } catch (UnsupportedJwtException ex) {
-            // Unsupported JWT token
-            return false;
-        } catch (IllegalArgumentException ex) {
-            // JWT claims string is empty
-            return false;
+            verified = verify(token);
+        } catch (JwtException | IllegalArgumentException ex) {
+            // 서명 불일치, 형식 오류, 만료, 빈 토큰
+            return null;
         }
+        UserPrincipal userDetails = verified.principal() != null
+                ? verified.principal()
+                : customUserDetailsService.loadPrincipal(verified.username());
+        if (!tokenEpochService.isCurrent(userDetails.getId(), verified.epoch())) {
+            // 비밀번호 변경/전체 로그아웃으로 폐기된 토큰
+            return null;
+        }
+        return new UsernamePasswordAuthenticationToken(userDetails, "", userDetails.getAuthorities());
     }
 
     public Authentication getAuthentication(String token) {
-        String username = getUsernameFromJWT(token);
-        UserDetails userDetails = customUserDetailsService.loadUserByUsername(username);
-        return new UsernamePasswordAuthenticationToken(userDetails, "", userDetails.getAuthorities());
+        Authentication authentication = authenticate(token);
+        if (authentication == null) {
+            throw new MalformedJwtException("Invalid JWT token");
+        }
+        return authentication;
+    }
+
+    private VerifiedToken verify(String token) {
+        String key = hash(token);
+        VerifiedToken verified = verifiedTokens.getIfPresent(key);
+        if (verified != null) {
+            return verified;
+        }
+        Claims claims = parser.parseClaimsJws(token).getBody();
+        Number epoch = claims.get(EPOCH_CLAIM, Number.class);
+        verified = new VerifiedToken(claims.getSubject(), toPrincipal(claims),
+                epoch == null ? 0L : epoch.longValue(), claims.getExpiration().getTime());
+        verifiedTokens.put(key, verified);
+        return verified;
+    }
+
+    private static UserPrincipal toPrincipal(Claims claims) {
+        Number userId = claims.get(USER_ID_CLAIM, Number.class);
+        String role = claims.get(ROLE_CLAIM, String.class);
+        if (userId == null || role == null) {
+            return null;
+        }
+        List<GrantedAuthority> authorities = List.of(new SimpleGrantedAuthority(role));
+        return new UserPrincipal(userId.longValue(), claims.getSubject(), null,
+                claims.get(EMAIL_CLAIM, String.class), authorities);
+    }
+
+    private static String hash(String token) {
+        byte[] digest = SHA256.get().digest(token.getBytes(StandardCharsets.UTF_8));
+        return Base64.getEncoder().encodeToString(digest);
     }
-} 
\ No newline at end of file
+}
@@ -0,0 +1,61 @@
+package org.example.jaipark_back.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import org.example.jaipark_back.service.AfterCommit;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * 인증된 사용자 UserPrincipal 캐시 (username 기준)
+ * - 요청마다 users 테이블을 다시 읽지 않도록 크기와 짧은 TTL로 제한해 보관
+ * - 토큰 인증(JwtTokenProvider)에서만 사용하고, 로그인 비밀번호 확인은 항상 DB에서 읽음
+ * - 프로필/비밀번호/권한이 바뀌면 커밋 후 무효화
+ * - 적중률은 Micrometer 지표(cache=principals)로 노출
+ */
+@Component
+public class PrincipalCache {
+    private static final String CACHE_NAME = "principals";
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${principal-cache.max-size:50000}")
+    private long maxSize;
+
+    @Value("${principal-cache.ttl-seconds:60}")
+    private long ttlSeconds;
+
+    private Cache<String, UserPrincipal> cache;
+
+    @PostConstruct
+    public void init() {
+        cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    public UserPrincipal getIfPresent(String username) {
+        return cache.getIfPresent(username);
+    }
+
+    public void put(UserPrincipal principal) {
+        cache.put(principal.getUsername(), principal);
+    }
+
+    /**
+     * 현재 트랜잭션이 커밋된 뒤 사용자 principal 무효화 (프로필/비밀번호/권한 변경 시)
+     */
+    public void invalidate(String username) {
+        AfterCommit.run(() -> cache.invalidate(username));
+    }
+}
@@ -0,0 +1,119 @@
+package org.example.jaipark_back.security;
+
+import org.example.jaipark_back.repository.UserRepository;
+import org.example.jaipark_back.service.AfterCommit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 사용자별 토큰 epoch (토큰 일괄 폐기용)
+ * - 토큰에는 발급 시점의 epoch을 담고, epoch이 올라가면 그보다 낮은 토큰은 모두 거부
+ * - 검증은 메모리 맵 조회 한 번 (epoch을 올린 적 있는 사용자만 보관, 없으면 0)
+ * - epoch 변경은 커밋 후 token-epoch 토픽으로 전파해 다른 노드도 수 초 안에 반영
+ * - 유실 대비로 기동 시와 주기적으로 DB에서 다시 맞춤 (값은 항상 큰 쪽으로만 갱신)
+ */
+@Component
+public class TokenEpochService {
+    private static final Logger logger = LoggerFactory.getLogger(TokenEpochService.class);
+
+    private static final String TOKEN_EPOCH_TOPIC = "token-epoch";
+    private static final int LOAD_BATCH_SIZE = 10000;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private KafkaTemplate<String, String> tokenEpochKafkaTemplate;
+
+    private final Map<Long, Long> epochs = new ConcurrentHashMap<>();
+
+    /**
+     * 토큰의 epoch이 사용자의 현재 epoch 이상이면 유효
+     */
+    public boolean isCurrent(long userId, long tokenEpoch) {
+        return tokenEpoch >= epochs.getOrDefault(userId, 0L);
+    }
+
+    /**
+     * 새 토큰에 담을 epoch (다른 노드의 변경이 아직 도착하지 않았을 수 있어 DB 값을 읽음)
+     */
+    @Transactional(readOnly = true)
+    public long issueEpoch(Long userId) {
+        long epoch = userRepository.findTokenEpochById(userId).orElse(0L);
+        apply(userId, epoch);
+        return epoch;
+    }
+
+    /**
+     * epoch을 올려 지금까지 발급된 토큰을 모두 폐기 (커밋 후 로컬 반영 + 전파)
+     * - 벌크 UPDATE 전에 영속성 컨텍스트를 flush하므로, 같은 트랜잭션의 엔티티 변경은 먼저 저장한 뒤 호출
+     */
+    @Transactional
+    public void revokeAll(Long userId) {
+        userRepository.incrementTokenEpoch(userId);
+        long epoch = userRepository.findTokenEpochById(userId).orElseThrow();
+        AfterCommit.run(() -> {
+            apply(userId, epoch);
+            tokenEpochKafkaTemplate.send(TOKEN_EPOCH_TOPIC, String.valueOf(userId), userId + ":" + epoch)
+                    .whenComplete((result, ex) -> {
+                        if (ex != null) {
+                            logger.error("Error publishing token epoch for user {}: {}", userId, ex.getMessage(), ex);
+                        }
+                    });
+        });
+    }
+
+    /**
+     * 다른 노드의 epoch 변경 수신 (노드마다 별도 그룹으로 모든 변경을 받음)
+     */
+    @KafkaListener(topics = TOKEN_EPOCH_TOPIC,
+            groupId = "token-epoch-#{T(java.util.UUID).randomUUID()}",
+            containerFactory = "tokenEpochListenerContainerFactory")
+    public void consume(String value) {
+        int separator = value.indexOf(':');
+        try {
+            apply(Long.parseLong(value.substring(0, separator)), Long.parseLong(value.substring(separator + 1)));
+        } catch (RuntimeException e) {
+            logger.warn("Ignoring malformed token epoch event: {}", value);
+        }
+    }
+
+    /**
+     * epoch을 올린 적 있는 사용자만 DB에서 읽어 반영
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${token-epoch.resync-interval-ms:60000}",
+            fixedDelayString = "${token-epoch.resync-interval-ms:60000}")
+    public void resync() {
+        long lastId = 0;
+        int loaded = 0;
+        List<Object[]> rows;
+        do {
+            rows = userRepository.findTokenEpochsAfterId(lastId, LOAD_BATCH_SIZE);
+            for (Object[] row : rows) {
+                lastId = (Long) row[0];
+                apply(lastId, (Long) row[1]);
+            }
+            loaded += rows.size();
+        } while (rows.size() == LOAD_BATCH_SIZE);
+        logger.debug("Synchronized token epochs for {} users", loaded);
+    }
+
+    private void apply(long userId, long epoch) {
+        if (epoch > 0) {
+            epochs.merge(userId, epoch, Math::max);
+        }
+    }
+}
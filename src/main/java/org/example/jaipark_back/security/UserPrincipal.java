@@ -4,6 +4,7 @@ import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import org.example.jaipark_back.entity.User;
+import org.springframework.security.core.Authentication;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -22,6 +23,13 @@ public class UserPrincipal implements UserDetails {
     private String email;
     private Collection<? extends GrantedAuthority> authorities;
 
+    /**
+     * 인증 필터가 채운 현재 사용자 ID (DB 조회 없음)
+     */
+    public static Long currentId(Authentication authentication) {
+        return ((UserPrincipal) authentication.getPrincipal()).getId();
+    }
+
     public static UserPrincipal create(User user) {
         List<GrantedAuthority> authorities = List.of(new SimpleGrantedAuthority(user.getRole()));
 
@@ -1,19 +1,20 @@
 package org.example.jaipark_back.service;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import org.example.jaipark_back.dto.ChatEvent;
 import org.example.jaipark_back.dto.ChatMessageDto;
-import org.example.jaipark_back.entity.ChatMessage;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.kafka.annotation.KafkaListener;
 import org.springframework.kafka.support.Acknowledgment;
 import org.springframework.messaging.simp.SimpMessagingTemplate;
 import org.springframework.stereotype.Service;
 
-import java.time.LocalDateTime;
-import java.util.LinkedHashMap;
-import java.util.List;
+import java.time.Duration;
 
 @Service
 @RequiredArgsConstructor
@@ -23,90 +24,38 @@ public class ChatConsumer {
     private final ChatService chatService;
     private final SimpMessagingTemplate messagingTemplate;
     
+    @Value("${chat.dedupe-window-seconds:300}")
+    private long dedupeWindowSeconds;
+    
+    @Value("${chat.dedupe-max-size:100000}")
+    private long dedupeMaxSize;
+    
+    // 최근 WebSocket으로 보낸 메시지 ID (프로듀서 재시도/재전달로 같은 메시지가 다시 와도 한 번만 전송)
+    private Cache<Long, Boolean> pushedMessageIds;
+    
+    @PostConstruct
+    public void init() {
+        pushedMessageIds = Caffeine.newBuilder()
+                .maximumSize(dedupeMaxSize)
+                .expireAfterWrite(Duration.ofSeconds(dedupeWindowSeconds))
+                .build();
+    }
+    
     /**
      * 채팅 메시지 토픽의 메시지를 소비합니다.
+     * (type 값으로 하위 타입이 정해지므로 data는 이미 ChatMessageDto)
      */
-    @KafkaListener(topics = "chat-message", groupId = "chat-group")
-    public void consumeChatMessage(ChatEvent event, Acknowledgment ack) {
+    @KafkaListener(topics = "chat-message", groupId = "chat-group", containerFactory = "chatKafkaListenerContainerFactory")
+    public void consumeChatMessage(ChatEvent.MessageEvent event, Acknowledgment ack) {
         try {
             logger.info("Received chat message event: {}", event);
+            ChatMessageDto messageDto = event.getData();
             
-            // 이벤트에서 메시지 추출 - LinkedHashMap을 ChatMessageDto로 변환
-            var data = event.getData();
-            ChatMessageDto messageDto;
-            
-            if (data instanceof LinkedHashMap) {
-                // JSON 역직렬화 과정에서 LinkedHashMap으로 변환된 경우
-                LinkedHashMap<String, Object> map = (LinkedHashMap<String, Object>) data;
-                
-                messageDto = new ChatMessageDto();
-                messageDto.setId(map.containsKey("id") ? ((Number) map.get("id")).longValue() : null);
-                messageDto.setSenderId((String) map.get("senderId"));
-                messageDto.setReceiverId((String) map.get("receiverId"));
-                messageDto.setContent((String) map.get("content"));
-                messageDto.setChatRoomId((String) map.get("chatRoomId"));
-                
-                // timestamp 처리
-                if (map.containsKey("timestamp")) {
-                    Object timestamp = map.get("timestamp");
-                    if (timestamp instanceof String) {
-                        messageDto.setTimestamp(LocalDateTime.parse((String) timestamp));
-                    } else if (timestamp instanceof LinkedHashMap) {
-                        // 아무것도 하지 않음
-                        messageDto.setTimestamp(LocalDateTime.now());
-                    } else if (timestamp instanceof List) {
-                        // [2025, 5, 15, 11, 32, 51, 957000000] 형태
-                        List<?> timestampList = (List<?>) timestamp;
-                        if (timestampList.size() >= 7) {
-                            try {
-                                int year = ((Number) timestampList.get(0)).intValue();
-                                int month = ((Number) timestampList.get(1)).intValue();
-                                int day = ((Number) timestampList.get(2)).intValue();
-                                int hour = ((Number) timestampList.get(3)).intValue();
-                                int minute = ((Number) timestampList.get(4)).intValue();
-                                int second = ((Number) timestampList.get(5)).intValue();
-                                int nano = ((Number) timestampList.get(6)).intValue();
-                                
-                                messageDto.setTimestamp(LocalDateTime.of(year, month, day, hour, minute, second, nano));
-                            } catch (Exception e) {
-                                logger.error("Error parsing timestamp list: {}", e.getMessage());
-                                messageDto.setTimestamp(LocalDateTime.now());
-                            }
-                        } else {
-                            messageDto.setTimestamp(LocalDateTime.now());
-                        }
-                    } else {
-                        messageDto.setTimestamp(LocalDateTime.now());
-                    }
-                } else {
-                    messageDto.setTimestamp(LocalDateTime.now());
-                }
-                
-                // read 처리
-                if (map.containsKey("read")) {
-                    messageDto.setRead((Boolean) map.get("read"));
-                } else {
-                    messageDto.setRead(false);
-                }
-                
-                // type 처리
-                if (map.containsKey("type")) {
-                    String typeStr = (String) map.get("type");
-                    try {
-                        messageDto.setType(ChatMessage.MessageType.valueOf(typeStr));
-                    } catch (IllegalArgumentException e) {
-                        messageDto.setType(ChatMessage.MessageType.TEXT); // 기본값
-                    }
-                } else {
-                    messageDto.setType(ChatMessage.MessageType.TEXT); // 기본값
-                }
-                
-            } else if (data instanceof ChatMessageDto) {
-                // 이미 ChatMessageDto 객체인 경우
-                messageDto = (ChatMessageDto) data;
-            } else {
-                logger.error("Unknown data type: {}", data.getClass().getName());
-                ack.acknowledge(); // 오류가 있어도 확인하여 다음 메시지 처리
+            // 이미 전송한 메시지면 건너뜀
+            if (messageDto.getId() != null
+                    && pushedMessageIds.asMap().putIfAbsent(messageDto.getId(), Boolean.TRUE) != null) {
+                logger.debug("Skipping duplicate chat message {}", messageDto.getId());
+                ack.acknowledge();
                 return;
             }
             
@@ -125,8 +74,8 @@ public class ChatConsumer {
     /**
      * 읽음 확인 토픽의 메시지를 소비합니다.
      */
-    @KafkaListener(topics = "chat-read", groupId = "chat-read-group")
-    public void consumeReadReceipt(ChatEvent event, Acknowledgment ack) {
+    @KafkaListener(topics = "chat-read", groupId = "chat-read-group", containerFactory = "chatKafkaListenerContainerFactory")
+    public void consumeReadReceipt(ChatEvent.ReadEvent event, Acknowledgment ack) {
         try {
             logger.info("Received read receipt event: {}", event);
             
@@ -143,8 +92,8 @@ public class ChatConsumer {
     /**
      * 타이핑 상태 토픽의 메시지를 소비합니다.
      */
-    @KafkaListener(topics = "chat-typing", groupId = "chat-typing-group")
-    public void consumeTypingStatus(ChatEvent event, Acknowledgment ack) {
+    @KafkaListener(topics = "chat-typing", groupId = "chat-typing-group", containerFactory = "chatKafkaListenerContainerFactory")
+    public void consumeTypingStatus(ChatEvent.TypingEvent event, Acknowledgment ack) {
         try {
             logger.info("Received typing status event: {}", event);
             
@@ -161,8 +110,8 @@ public class ChatConsumer {
     /**
      * 온라인 상태 토픽의 메시지를 소비합니다.
      */
-    @KafkaListener(topics = "chat-status", groupId = "chat-status-group")
-    public void consumeOnlineStatus(ChatEvent event, Acknowledgment ack) {
+    @KafkaListener(topics = "chat-status", groupId = "chat-status-group", containerFactory = "chatKafkaListenerContainerFactory")
+    public void consumeOnlineStatus(ChatEvent.StatusEvent event, Acknowledgment ack) {
         try {
             logger.info("Received online status event: {}", event);
             
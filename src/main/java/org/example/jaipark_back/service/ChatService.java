@@ -1,17 +1,25 @@
 package org.example.jaipark_back.service;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import org.example.jaipark_back.dto.ChatEvent;
 import org.example.jaipark_back.dto.ChatMessageDto;
 import org.example.jaipark_back.dto.ChatRoomDto;
+import org.example.jaipark_back.dto.CursorPage;
 import org.example.jaipark_back.entity.ChatMessage;
 import org.example.jaipark_back.entity.ChatRoom;
-import org.example.jaipark_back.entity.User;
 import org.example.jaipark_back.repository.ChatMessageRepository;
 import org.example.jaipark_back.repository.ChatRoomRepository;
 import org.example.jaipark_back.repository.UserRepository;
+import org.example.jaipark_back.util.Cursor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
@@ -19,13 +27,19 @@ import org.springframework.data.domain.Sort;
 import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
@@ -39,95 +53,144 @@ public class ChatService {
     private final ChatRoomRepository chatRoomRepository;
     private final UserRepository userRepository;
     private final KafkaTemplate<String, ChatEvent> kafkaTemplate;
+    private final ReadReceiptCoalescer readReceiptCoalescer;
+    private final ChatProducer chatProducer;
+    private final PlatformTransactionManager transactionManager;
+    private final OneTimeMigrations migrations;
+    
+    @Value("${chat.dedupe-window-seconds:300}")
+    private long dedupeWindowSeconds;
+    
+    @Value("${chat.dedupe-max-size:100000}")
+    private long dedupeMaxSize;
+    
+    // 최근 저장한 메시지 ("보낸 사람:클라이언트 메시지 ID" -> 저장된 메시지), 재전송은 DB 조회 없이 같은 결과 반환
+    private Cache<String, ChatMessageDto> recentSends;
+    
+    // 메시지 저장 트랜잭션 (중복 저장 실패는 트랜잭션 밖에서 처리)
+    private TransactionTemplate sendTransaction;
     
     // 실시간 사용자 온라인 상태 관리
     private final Map<String, Boolean> userOnlineStatus = new ConcurrentHashMap<>();
     
-    private static final String CHAT_MESSAGE_TOPIC = "chat-message";
-    private static final String CHAT_READ_TOPIC = "chat-read";
+    private static final int MAX_SEND_ATTEMPTS = 2;
+    
+    private static final String ROOM_SUMMARY_MIGRATION = "chat-room-summaries";
+    
     private static final String CHAT_TYPING_TOPIC = "chat-typing";
     private static final String CHAT_STATUS_TOPIC = "chat-status";
     
+    @PostConstruct
+    public void init() {
+        recentSends = Caffeine.newBuilder()
+                .maximumSize(dedupeMaxSize)
+                .expireAfterWrite(Duration.ofSeconds(dedupeWindowSeconds))
+                .build();
+        sendTransaction = new TransactionTemplate(transactionManager);
+    }
+    
     /**
      * 채팅 메시지 저장 및 전송
+     * - 같은 클라이언트 메시지 ID로 다시 보내면 (재시도) 저장/전송 없이 처음 저장된 메시지를 반환
+     * - 같은 ID로 동시에 보낸 요청은 유니크 인덱스에서 하나만 저장되고, 나머지는 롤백 후 저장된 메시지를 다시 읽어 반환
+     * - Kafka 발행은 커밋 후 ChatProducer 한 곳에서만 수행
      */
-    @Transactional
     public ChatMessageDto sendMessage(ChatMessageDto messageDto) {
         logger.info("Sending message: {}", messageDto);
         
+        // 채팅방 ID는 클라이언트 값을 쓰지 않고 보낸 사람/받는 사람으로 계산 (요약 갱신과 채팅방 생성이 같은 방을 가리키도록)
+        messageDto.setChatRoomId(ChatMessage.generateChatRoomId(messageDto.getSenderId(), messageDto.getReceiverId()));
+        
+        // 0. 재전송 중복 제거 (최근 전송 캐시 -> 유니크 인덱스 순으로 확인)
+        String clientMessageId = messageDto.getClientMessageId();
+        if (clientMessageId == null || clientMessageId.isBlank()) {
+            // 클라이언트 ID가 없는 이전 클라이언트는 서버에서 발급 (재전송 중복 제거는 되지 않음)
+            clientMessageId = UUID.randomUUID().toString();
+            messageDto.setClientMessageId(clientMessageId);
+        } else if (clientMessageId.length() > ChatMessage.CLIENT_MESSAGE_ID_LENGTH) {
+            throw new RuntimeException("클라이언트 메시지 ID가 너무 깁니다.");
+        }
+        String dedupeKey = messageDto.getSenderId() + ":" + clientMessageId;
+        ChatMessageDto recent = recentSends.getIfPresent(dedupeKey);
+        if (recent != null) {
+            return recent;
+        }
+        ChatMessageDto existing = findSent(messageDto.getSenderId(), clientMessageId, dedupeKey);
+        if (existing != null) {
+            return existing;
+        }
+        
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return sendTransaction.execute(status -> saveMessage(messageDto, dedupeKey));
+            } catch (DataIntegrityViolationException e) {
+                // 같은 클라이언트 메시지 ID의 다른 요청이 먼저 커밋됨 (실패한 트랜잭션은 롤백된 뒤 새로 조회)
+                existing = findSent(messageDto.getSenderId(), clientMessageId, dedupeKey);
+                if (existing != null) {
+                    return existing;
+                }
+                // 두 사용자의 첫 메시지가 동시에 채팅방을 만든 경우: 이제 채팅방이 있으므로 다시 시도
+                if (attempt >= MAX_SEND_ATTEMPTS) {
+                    throw e;
+                }
+                logger.info("Retrying message send after concurrent chat room creation: {}", messageDto.getChatRoomId());
+            }
+        }
+    }
+    
+    private ChatMessageDto findSent(String senderId, String clientMessageId, String dedupeKey) {
+        Optional<ChatMessage> existing = chatMessageRepository.findBySenderIdAndClientMessageId(senderId, clientMessageId);
+        if (existing.isEmpty()) {
+            return null;
+        }
+        ChatMessageDto existingDto = ChatMessageDto.fromEntity(existing.get());
+        recentSends.put(dedupeKey, existingDto);
+        return existingDto;
+    }
+    
+    private ChatMessageDto saveMessage(ChatMessageDto messageDto, String dedupeKey) {
         // 1. 채팅 메시지 저장
         final ChatMessage chatMessage = messageDto.toEntity();
         final ChatMessage savedChatMessage = chatMessageRepository.save(chatMessage);
         
-        // 2. 채팅방 생성 또는 업데이트
-        String chatRoomId = savedChatMessage.getChatRoomId();
-        ChatRoom chatRoom = chatRoomRepository.findById(chatRoomId)
-                .orElseGet(() -> {
-                    // 새 채팅방 생성
-                    return chatRoomRepository.save(
-                            new ChatRoom(savedChatMessage.getSenderId(), savedChatMessage.getReceiverId())
-                    );
-                });
-        
-        // 최근 메시지 시간 업데이트
-        chatRoom.setLastMessageTime(savedChatMessage.getTimestamp());
-        chatRoomRepository.save(chatRoom);
+        // 2. 채팅방 요약(마지막 메시지, 안 읽은 수) 갱신, 채팅방이 없으면 빈 채팅방을 INSERT한 뒤 다시 갱신
+        //    (동시에 만들면 한쪽 INSERT가 실패해 트랜잭션째 다시 시도하므로 요약이 덮어써지지 않음)
+        if (recordMessage(savedChatMessage) == 0) {
+            ChatRoom chatRoom = new ChatRoom(savedChatMessage.getSenderId(), savedChatMessage.getReceiverId());
+            chatRoomRepository.insertEmpty(chatRoom.getId(), chatRoom.getUser1Id(), chatRoom.getUser2Id(), chatRoom.getCreatedAt());
+            recordMessage(savedChatMessage);
+        }
         
-        // 3. 상대방에게 메시지 전송 (Kafka)
+        // 3. 커밋 후 상대방에게 메시지 전송 (Kafka, 수신자를 키로 사용)
         ChatMessageDto savedDto = ChatMessageDto.fromEntity(savedChatMessage);
-        ChatEvent chatEvent = ChatEvent.messageEvent(
-                savedChatMessage.getSenderId(), 
-                savedChatMessage.getReceiverId(), 
-                savedDto
-        );
-        
-        // 수신자를 키로 사용하여 해당 사용자만 구독하도록
-        kafkaTemplate.send(CHAT_MESSAGE_TOPIC, savedChatMessage.getReceiverId(), chatEvent);
+        AfterCommit.run(() -> {
+            recentSends.put(dedupeKey, savedDto);
+            chatProducer.sendChatMessage(savedDto);
+        });
         
         return savedDto;
     }
     
+    private int recordMessage(ChatMessage message) {
+        return chatRoomRepository.recordMessage(
+                message.getChatRoomId(),
+                message.getId(),
+                message.getTimestamp(),
+                ChatRoom.preview(message.getContent()),
+                message.getSenderId(),
+                message.getReceiverId()
+        );
+    }
+    
     /**
      * 메시지 읽음 표시 및 알림
+     * - 읽음 상태는 채팅방의 사용자별 마지막 읽은 메시지 ID로만 관리 (메시지 행은 건드리지 않음)
+     * - UPDATE 한 번으로 읽은 위치를 마지막 메시지로 옮기고, 위치가 바뀐 경우에만 읽음 확인을 예약
      */
     @Transactional
     public void markMessagesAsRead(String chatRoomId, String userId) {
-        ChatRoom chatRoom = chatRoomRepository.findById(chatRoomId)
-                .orElseThrow(() -> new RuntimeException("채팅방을 찾을 수 없습니다."));
-        
-        // 가장 최근 메시지 찾기
-        ChatMessage latestMessage = chatMessageRepository.findTopByChatRoomIdOrderByTimestampDesc(chatRoomId);
-        if (latestMessage == null) {
-            return;
-        }
-        
-        // 채팅방의 상대방 유저 ID 찾기
-        String otherUserId = chatRoom.getUser1Id().equals(userId) ? chatRoom.getUser2Id() : chatRoom.getUser1Id();
-        
-        // 읽지 않은 메시지 조회 및 업데이트
-        Pageable pageable = PageRequest.of(0, 100); // 한 번에 최대 100개 처리
-        Page<ChatMessage> messagesPage = chatMessageRepository.findByChatRoomIdOrderByTimestampDesc(chatRoomId, pageable);
-        
-        List<ChatMessage> unreadMessages = messagesPage.getContent().stream()
-                .filter(message -> message.getReceiverId().equals(userId) && !message.isRead())
-                .collect(Collectors.toList());
-        
-        List<ChatMessage> updatedMessages = new ArrayList<>();
-        unreadMessages.forEach(message -> {
-            message.setRead(true);
-            updatedMessages.add(message);
-        });
-        
-        if (!updatedMessages.isEmpty()) {
-            chatMessageRepository.saveAll(updatedMessages);
-            
-            // 채팅방의 마지막 읽은 메시지 ID 업데이트
-            chatRoom.updateLastReadMessageId(userId, latestMessage.getId());
-            chatRoomRepository.save(chatRoom);
-            
-            // 상대방에게 읽음 이벤트 전송
-            ChatEvent readEvent = ChatEvent.readEvent(userId, otherUserId, chatRoomId, latestMessage.getId());
-            kafkaTemplate.send(CHAT_READ_TOPIC, otherUserId, readEvent);
+        if (chatRoomRepository.markRead(chatRoomId, userId) > 0) {
+            readReceiptCoalescer.schedule(chatRoomId, userId);
         }
     }
     
@@ -149,50 +212,69 @@ public class ChatService {
         Pageable pageable = PageRequest.of(page, size, Sort.by(Sort.Direction.DESC, "timestamp"));
         Page<ChatMessage> messages = chatMessageRepository.findByChatRoomIdOrderByTimestampDesc(chatRoomId, pageable);
         
-        // 4. Entity -> DTO 변환
-        return messages.map(ChatMessageDto::fromEntity);
+        // 4. Entity -> DTO 변환 (읽음 여부는 받는 사람의 마지막 읽은 메시지 ID로 판단)
+        return messages.map(message -> {
+            ChatMessageDto dto = ChatMessageDto.fromEntity(message);
+            dto.setRead(chatRoom.isReadBy(message.getReceiverId(), message.getId()));
+            return dto;
+        });
     }
     
     /**
-     * 사용자의 채팅방 목록 조회
+     * 사용자의 채팅방 목록 조회 (최근 메시지 순 키셋 페이지네이션)
+     * - 마지막 메시지/안 읽은 수는 채팅방 요약 컬럼에서 읽고, 상대방 프로필은 페이지 단위로 한 번에 조회
      */
     @Transactional(readOnly = true)
-    public List<ChatRoomDto> getChatRooms(String userId) {
-        List<ChatRoom> chatRooms = chatRoomRepository.findChatRoomsByUserId(userId);
-        List<ChatRoomDto> chatRoomDtos = new ArrayList<>();
+    public CursorPage<ChatRoomDto> getChatRooms(String userId, String cursor, int limit) {
+        int size = Cursor.limit(limit);
+        long[] keys = Cursor.decode(cursor, 2);
+        List<ChatRoom> chatRooms = keys == null
+                ? chatRoomRepository.findInboxFirstPage(userId, size + 1)
+                : chatRoomRepository.findInboxBefore(userId, Cursor.fromTimeKey(keys[0]), keys[1], size + 1);
+        return CursorPage.of(chatRooms, size,
+                chatRoom -> Cursor.encode(Cursor.timeKey(chatRoom.getLastMessageTime()), chatRoom.getLastMessageId()),
+                page -> convertToRoomDtos(page, userId));
+    }
+    
+    private List<ChatRoomDto> convertToRoomDtos(List<ChatRoom> chatRooms, String userId) {
+        if (chatRooms.isEmpty()) {
+            return List.of();
+        }
+        Set<String> otherUserIds = chatRooms.stream()
+                .map(chatRoom -> otherUserId(chatRoom, userId))
+                .collect(Collectors.toSet());
         
-        for (ChatRoom chatRoom : chatRooms) {
-            // 상대방 ID 확인
-            String otherUserId = chatRoom.getUser1Id().equals(userId) ? 
-                    chatRoom.getUser2Id() : chatRoom.getUser1Id();
-            
-            // 상대방 정보 조회
-            User otherUser = userRepository.findByUsername(otherUserId)
-                    .orElseThrow(() -> new RuntimeException("사용자를 찾을 수 없습니다."));
-            
-            // 최신 메시지 조회
-            ChatMessage latestMessage = chatMessageRepository.findTopByChatRoomIdOrderByTimestampDesc(chatRoom.getId());
-            String lastMessageContent = latestMessage != null ? latestMessage.getContent() : "";
-            
-            // 안 읽은 메시지 수 조회
-            int unreadCount = chatMessageRepository.countUnreadMessagesInChatRoom(chatRoom.getId(), userId);
-            
-            // DTO 생성
-            ChatRoomDto chatRoomDto = ChatRoomDto.fromEntity(
-                    chatRoom, 
-                    userId, 
-                    lastMessageContent, 
-                    unreadCount, 
-                    otherUser.getNickname(),
-                    otherUser.getProfileImage()
-            );
-            
-            chatRoomDtos.add(chatRoomDto);
+        // username -> [nickname, 프로필 이미지]
+        Map<String, Object[]> profiles = new HashMap<>();
+        for (Object[] row : userRepository.findProfilesByUsernames(otherUserIds)) {
+            profiles.put((String) row[0], row);
         }
         
+        List<ChatRoomDto> chatRoomDtos = new ArrayList<>(chatRooms.size());
+        for (ChatRoom chatRoom : chatRooms) {
+            Object[] profile = profiles.get(otherUserId(chatRoom, userId));
+            chatRoomDtos.add(ChatRoomDto.fromEntity(
+                    chatRoom,
+                    userId,
+                    profile != null ? (String) profile[1] : null,
+                    profile != null ? (String) profile[2] : null
+            ));
+        }
         return chatRoomDtos;
     }
     
+    private static String otherUserId(ChatRoom chatRoom, String userId) {
+        return chatRoom.getUser1Id().equals(userId) ? chatRoom.getUser2Id() : chatRoom.getUser1Id();
+    }
+    
+    /**
+     * 요약 컬럼이 추가되기 전에 만들어진 채팅방 채우기 (최초 한 번)
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillRoomSummaries() {
+        migrations.runOnce(ROOM_SUMMARY_MIGRATION, chatRoomRepository::backfillSummaries);
+    }
+    
     /**
      * 채팅방 찾기 또는 생성
      */
@@ -252,7 +334,7 @@ public class ChatService {
      */
     @Transactional(readOnly = true)
     public int getTotalUnreadMessageCount(String userId) {
-        return chatMessageRepository.countUnreadMessagesByReceiverId(userId);
+        return (int) chatRoomRepository.sumUnreadCount(userId);
     }
     
     /**
@@ -260,6 +342,8 @@ public class ChatService {
      */
     @Transactional(readOnly = true)
     public int getUnreadMessageCount(String chatRoomId, String userId) {
-        return chatMessageRepository.countUnreadMessagesInChatRoom(chatRoomId, userId);
+        return chatRoomRepository.findById(chatRoomId)
+                .map(chatRoom -> chatRoom.getUnreadCount(userId))
+                .orElse(0);
     }
 }
@@ -0,0 +1,109 @@
+package org.example.jaipark_back.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PostConstruct;
+import org.example.jaipark_back.entity.Post;
+import org.example.jaipark_back.repository.PostParticipantRepository;
+import org.example.jaipark_back.util.SortedLongSet;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 게시물별 댓글 참여자 ID 집합 인덱스
+ * - post_participants 테이블에 (게시물, 사용자, 댓글 수)로 저장하고 댓글 작성/삭제 시 증분 갱신
+ * - 메모리에는 게시물 단위로 지연 로딩한 정렬 집합을 두고, 전체 원소 수 기준으로 제한(초과 시 축출)
+ */
+@Service
+public class CommentParticipantService {
+    private static final String PARTICIPANTS_MIGRATION = "post-participants";
+
+    @Autowired
+    private PostParticipantRepository participantRepository;
+
+    @Autowired
+    private OneTimeMigrations migrations;
+
+    @Value("${participants.max-members:2000000}")
+    private long maxMembers;
+
+    @Value("${participants.expire-minutes:30}")
+    private long expireMinutes;
+
+    private Cache<Long, SortedLongSet> cache;
+
+    @PostConstruct
+    public void init() {
+        cache = Caffeine.newBuilder()
+                .maximumWeight(maxMembers)
+                .weigher((Long postId, SortedLongSet members) -> 1 + members.size())
+                .expireAfterWrite(Duration.ofMinutes(expireMinutes))
+                .build();
+    }
+
+    /**
+     * 참여자 테이블 도입 전 댓글로 테이블을 채움 (최초 한 번)
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfill() {
+        migrations.runOnce(PARTICIPANTS_MIGRATION, participantRepository::backfillFromComments);
+    }
+
+    /**
+     * 게시물의 참여자 ID (오름차순)
+     */
+    public long[] participants(Long postId) {
+        SortedLongSet members = cache.get(postId, this::load);
+        synchronized (members) {
+            return members.toArray();
+        }
+    }
+
+    /**
+     * 댓글 작성 반영 (커밋 후 로딩된 집합에 추가)
+     */
+    public void recordComment(Long postId, Long userId) {
+        participantRepository.upsert(postId, userId);
+        AfterCommit.run(() -> cache.asMap().computeIfPresent(postId, (key, members) -> {
+            synchronized (members) {
+                members.add(userId);
+            }
+            return members;
+        }));
+    }
+
+    /**
+     * 댓글 삭제 반영 (작성자 ID -> 삭제된 댓글 수)
+     */
+    public void recordRemoved(Long postId, Map<Long, Long> removedByUser) {
+        if (removedByUser.isEmpty()) {
+            return;
+        }
+        removedByUser.forEach((userId, count) -> participantRepository.decrement(postId, userId, count));
+        participantRepository.deleteEmpty(postId, removedByUser.keySet());
+        // 누가 빠졌는지는 남은 댓글 수에 달려 있으므로 다음 조회 때 다시 적재
+        AfterCommit.run(() -> cache.invalidate(postId));
+    }
+
+    public void removePost(Post post) {
+        participantRepository.deleteByPost(post);
+        Long postId = post.getId();
+        AfterCommit.run(() -> cache.invalidate(postId));
+    }
+
+    private SortedLongSet load(Long postId) {
+        List<Object[]> rows = participantRepository.findMembersByPostIds(List.of(postId));
+        long[] ids = new long[rows.size()];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = (Long) rows.get(i)[1];
+        }
+        return SortedLongSet.of(ids, ids.length);
+    }
+}
@@ -2,29 +2,45 @@ package org.example.jaipark_back.service;
 
 import org.example.jaipark_back.dto.CommentRequest;
 import org.example.jaipark_back.dto.CommentResponse;
+import org.example.jaipark_back.dto.CursorPage;
 import org.example.jaipark_back.dto.NotificationEvent;
 import org.example.jaipark_back.entity.Comment;
 import org.example.jaipark_back.entity.Post;
 import org.example.jaipark_back.entity.User;
 import org.example.jaipark_back.repository.CommentRepository;
 import org.example.jaipark_back.repository.PostRepository;
+import org.example.jaipark_back.exception.InvalidCursorException;
 import org.example.jaipark_back.repository.UserRepository;
+import org.example.jaipark_back.util.CommentPath;
+import org.example.jaipark_back.util.Cursor;
+import org.example.jaipark_back.util.NativeRows;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
 
 @Service
 public class CommentService {
     private static final Logger logger = LoggerFactory.getLogger(CommentService.class);
+
+    private static final String THREAD_PATH_MIGRATION = "comment-thread-paths";
+    private static final int BACKFILL_BATCH_SIZE = 1000;
+    private static final String BACKFILL_SQL = "UPDATE comments SET root_id = ?, path = ? WHERE id = ?";
     
     @Autowired
     private CommentRepository commentRepository;
@@ -38,6 +54,27 @@ public class CommentService {
     @Autowired
     private NotificationProducer notificationProducer;
 
+    @Autowired
+    private EngagementCounterService counterService;
+
+    @Autowired
+    private PostCacheService postCacheService;
+
+    @Autowired
+    private CommentParticipantService participantService;
+
+    @Autowired
+    private OneTimeMigrations migrations;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Value("${comments.reply-preview-size:3}")
+    private int replyPreviewSize;
+
+    @Value("${participants.notification-chunk-size:500}")
+    private int notificationChunkSize;
+
     /**
      * 댓글 생성 메서드 - 비동기 처리를 통해 메인 작업과 알림 전송을 분리
      */
@@ -48,12 +85,39 @@ public class CommentService {
         User user = userRepository.findByUsername(username)
                 .orElseThrow(() -> new RuntimeException("User not found"));
 
+        Comment parent = null;
+        if (request.getParentId() != null) {
+            parent = commentRepository.findById(request.getParentId())
+                    .orElseThrow(() -> new RuntimeException("Parent comment not found"));
+            if (!parent.getPost().getId().equals(postId)) {
+                throw new RuntimeException("Parent comment belongs to another post");
+            }
+            if (parent.getDepth() + 1 >= CommentPath.MAX_DEPTH) {
+                throw new RuntimeException("Reply thread is too deep");
+            }
+        }
+
         Comment comment = new Comment();
         comment.setContent(request.getContent());
         comment.setPost(post);
         comment.setUser(user);
 
         Comment savedComment = commentRepository.save(comment);
+        // 경로에 자기 ID가 들어가므로 저장 후 스레드 컬럼을 채움
+        if (parent == null) {
+            savedComment.setRootId(savedComment.getId());
+            savedComment.setPath(CommentPath.root(savedComment.getId()));
+        } else {
+            savedComment.setParentId(parent.getId());
+            savedComment.setRootId(parent.getRootId());
+            savedComment.setDepth(parent.getDepth() + 1);
+            savedComment.setPath(CommentPath.child(parent.getPath(), savedComment.getId()));
+            // 부모와 그 위 모든 댓글의 답글 수를 UPDATE 한 번으로 증가
+            commentRepository.incrementReplyCounts(CommentPath.ids(parent.getPath()), 1);
+        }
+        counterService.increment(postId, EngagementCounterService.Counter.COMMENT, 1);
+        participantService.recordComment(postId, user.getId());
+        postCacheService.invalidate(postId);
         
         // 비동기로 알림 처리
         sendCommentNotificationAsync(savedComment, post, user);
@@ -94,48 +158,125 @@ public class CommentService {
     
     /**
      * 댓글 참여자들에게 알림을 보내는 메서드
+     * 참여자 인덱스에서 ID만 읽고, 참여자가 많으면 일정 크기로 나눠 배치 전송
      */
     private void sendNotificationsToCommentParticipants(Comment newComment, Post post, User commentAuthor) {
-        // 해당 게시물의 모든 댓글 작성자를 찾음 (중복 제거, 본인과 게시글 작성자 제외)
-        List<User> commentParticipants = commentRepository.findByPostId(post.getId()).stream()
-            .map(Comment::getUser)
-            .filter(user -> !user.getUsername().equals(commentAuthor.getUsername())) // 자기 자신 제외
-            .filter(user -> !user.getUsername().equals(post.getUser().getUsername())) // 게시글 작성자 제외 (이미 위에서 알림 보냄)
-            .distinct()
-            .collect(Collectors.toList());
-        
-        if (commentParticipants.isEmpty()) {
-            return;
-        }
-        
-        // 배치 알림 처리를 위한 이벤트 리스트
-        List<NotificationEvent> events = new ArrayList<>();
-        
-        for (User participant : commentParticipants) {
+        long authorId = commentAuthor.getId();
+        long postOwnerId = post.getUser().getId(); // 게시글 작성자는 이미 위에서 알림 보냄
+        String message = commentAuthor.getNickname() + "님이 회원님이 댓글 단 게시글에 새 댓글을 남겼습니다.";
+
+        List<NotificationEvent> chunk = new ArrayList<>();
+        int sent = 0;
+        for (long participantId : participantService.participants(post.getId())) {
+            if (participantId == authorId || participantId == postOwnerId) {
+                continue;
+            }
             NotificationEvent event = new NotificationEvent();
-            event.setUsername(participant.getUsername());
+            event.setUserId(participantId);
             event.setType("COMMENT_REPLY");
-            event.setMessage(commentAuthor.getNickname() + "님이 회원님이 댓글 단 게시글에 새 댓글을 남겼습니다.");
+            event.setMessage(message);
             event.setPostId(post.getId());
-            events.add(event);
+            chunk.add(event);
+
+            if (chunk.size() == notificationChunkSize) {
+                notificationProducer.sendBatchNotifications("comment-participants-" + post.getId(), chunk);
+                sent += chunk.size();
+                chunk = new ArrayList<>();
+            }
         }
-        
-        // 배치로 알림 전송
-        if (!events.isEmpty()) {
-            notificationProducer.sendBatchNotifications("comment-participants", events);
-            logger.info("Batch notifications sent to {} comment participants", events.size());
+        if (!chunk.isEmpty()) {
+            notificationProducer.sendBatchNotifications("comment-participants-" + post.getId(), chunk);
+            sent += chunk.size();
+        }
+        if (sent > 0) {
+            logger.info("Batch notifications sent to {} comment participants", sent);
         }
     }
 
     /**
-     * 게시물 ID로 댓글 목록 조회
+     * 게시물의 루트 댓글을 최신순 키셋 페이지로 조회 (작성자는 같은 쿼리에서 fetch)
+     * 각 루트 댓글에는 스레드 순서로 상위 N개 답글을 쿼리 한 번으로 붙임
      */
     @Transactional(readOnly = true)
-    public List<CommentResponse> getCommentsByPostId(Long postId) {
-        return commentRepository.findByPostIdOrderByCreatedAtDesc(postId)
-                .stream()
-                .map(this::convertToResponse)
-                .collect(Collectors.toList());
+    public CursorPage<CommentResponse> getCommentsByPostId(Long postId, String cursor, int limit) {
+        int size = Cursor.limit(limit);
+        List<Comment> comments = commentRepository.findPageByPostId(postId, Cursor.lastId(cursor), size + 1);
+        CursorPage<CommentResponse> page = CursorPage.of(comments, size, comment -> Cursor.encode(comment.getId()),
+                rows -> rows.stream().map(this::convertToPostCommentResponse).collect(Collectors.toList()));
+        attachReplyPreviews(page.getItems());
+        return page;
+    }
+
+    /**
+     * 댓글 아래 답글 전체를 스레드 순서(깊이 우선)로 키셋 조회 (커서는 마지막 답글의 경로)
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<CommentResponse> getReplies(Long commentId, String cursor, int limit) {
+        Comment comment = commentRepository.findById(commentId)
+                .orElseThrow(() -> new RuntimeException("Comment not found"));
+        int size = Cursor.limit(limit);
+
+        long[] lastPathIds = Cursor.decodeAll(cursor);
+        String afterPath = lastPathIds == null ? comment.getPath() : CommentPath.fromIds(lastPathIds);
+        if (!afterPath.startsWith(comment.getPath())) {
+            throw new InvalidCursorException();
+        }
+
+        List<Comment> replies = commentRepository.findSubtreePage(comment.getRootId(), comment.getPath(), afterPath, size + 1);
+        return CursorPage.of(replies, size,
+                reply -> Cursor.encode(CommentPath.ids(reply.getPath()).stream().mapToLong(Long::longValue).toArray()),
+                rows -> rows.stream().map(this::convertToPostCommentResponse).collect(Collectors.toList()));
+    }
+
+    private void attachReplyPreviews(List<CommentResponse> roots) {
+        Map<Long, CommentResponse> threads = new HashMap<>();
+        for (CommentResponse root : roots) {
+            root.setReplies(new ArrayList<>());
+            if (root.getReplyCount() > 0) {
+                threads.put(root.getId(), root);
+            }
+        }
+        if (threads.isEmpty() || replyPreviewSize <= 0) {
+            return;
+        }
+        for (Object[] row : commentRepository.findTopRepliesByRootIds(threads.keySet(), replyPreviewSize)) {
+            CommentResponse reply = new CommentResponse();
+            reply.setId(NativeRows.toLong(row[0]));
+            reply.setPostId(NativeRows.toLong(row[1]));
+            reply.setContent((String) row[2]);
+            reply.setCreatedAt(NativeRows.toLocalDateTime(row[3]));
+            reply.setUpdatedAt(NativeRows.toLocalDateTime(row[4]));
+            reply.setUsername((String) row[5]);
+            reply.setNickname((String) row[6]);
+            reply.setParentId(NativeRows.toLong(row[7]));
+            reply.setRootId(NativeRows.toLong(row[8]));
+            reply.setDepth(((Number) row[9]).intValue());
+            reply.setReplyCount(NativeRows.toLong(row[10]));
+            threads.get(reply.getRootId()).getReplies().add(reply);
+        }
+    }
+
+    /**
+     * 스레드 컬럼이 추가되기 전에 작성된 댓글을 루트 댓글로 채움 (최초 한 번만)
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillThreadColumns() {
+        migrations.runOnce(THREAD_PATH_MIGRATION, this::backfillRootPaths);
+    }
+
+    // path는 CommentPath로 계산해 DB 방언 함수(CONV 등)에 의존하지 않음
+    private int backfillRootPaths() {
+        int updated = 0;
+        List<Long> ids;
+        while (!(ids = commentRepository.findIdsWithoutPath(PageRequest.of(0, BACKFILL_BATCH_SIZE))).isEmpty()) {
+            List<Object[]> args = new ArrayList<>(ids.size());
+            for (Long id : ids) {
+                args.add(new Object[]{id, CommentPath.root(id), id});
+            }
+            jdbcTemplate.batchUpdate(BACKFILL_SQL, args);
+            updated += ids.size();
+        }
+        return updated;
     }
 
     /**
@@ -152,6 +293,7 @@ public class CommentService {
 
         comment.setContent(request.getContent());
         Comment updatedComment = commentRepository.save(comment);
+        postCacheService.invalidate(comment.getPost().getId());
         return convertToResponse(updatedComment);
     }
 
@@ -167,19 +309,30 @@ public class CommentService {
             throw new RuntimeException("Not authorized to delete this comment");
         }
 
-        commentRepository.delete(comment);
+        Map<Long, Long> removedByUser = new HashMap<>();
+        for (Object[] row : commentRepository.countAuthorsInSubtree(comment.getRootId(), comment.getPath())) {
+            removedByUser.put((Long) row[0], (Long) row[1]);
+        }
+
+        // 댓글과 하위 답글을 한 번에 삭제하고 상위 댓글들의 답글 수에서 차감
+        int removed = commentRepository.deleteSubtree(comment.getRootId(), comment.getPath());
+        if (comment.getParentId() != null) {
+            commentRepository.incrementReplyCounts(CommentPath.ancestorIds(comment.getPath()), -removed);
+        }
+        counterService.increment(comment.getPost().getId(), EngagementCounterService.Counter.COMMENT, -removed);
+        participantService.recordRemoved(comment.getPost().getId(), removedByUser);
+        postCacheService.invalidate(comment.getPost().getId());
     }
 
     /**
      * 사용자가 작성한 댓글 목록 조회
      */
     @Transactional(readOnly = true)
-    public List<CommentResponse> getCommentsByUsername(String username) {
-        User user = userRepository.findByUsername(username).orElseThrow();
-        return commentRepository.findAllByUserOrderByCreatedAtDesc(user)
-                .stream()
-                .map(this::convertToResponse)
-                .collect(Collectors.toList());
+    public CursorPage<CommentResponse> getCommentsByUserId(Long userId, String cursor, int limit) {
+        int size = Cursor.limit(limit);
+        List<Comment> comments = commentRepository.findByUserIdBeforeId(userId, Cursor.lastId(cursor), size + 1);
+        return CursorPage.of(comments, size, comment -> Cursor.encode(comment.getId()),
+                page -> page.stream().map(this::convertToResponse).collect(Collectors.toList()));
     }
     
     /**
@@ -187,15 +340,9 @@ public class CommentService {
      */
     @Transactional(readOnly = true)
     public List<CommentResponse> getCommentsBatch(Long postId, int limit, Long lastCommentId) {
-        List<Comment> comments;
-        if (lastCommentId == null) {
-            comments = commentRepository.findTopCommentsByPostId(postId, limit);
-        } else {
-            comments = commentRepository.findCommentsByPostIdWithCursor(postId, lastCommentId, limit);
-        }
-        
-        return comments.stream()
-                .map(this::convertToResponse)
+        long lastId = lastCommentId == null ? Long.MAX_VALUE : lastCommentId;
+        return commentRepository.findPageByPostId(postId, lastId, limit).stream()
+                .map(this::convertToPostCommentResponse)
                 .collect(Collectors.toList());
     }
 
@@ -212,6 +359,30 @@ public class CommentService {
         response.setUpdatedAt(comment.getUpdatedAt());
         response.setPostId(comment.getPost().getId());
         response.setPostTitle(comment.getPost().getTitle());
+        setThreadFields(response, comment);
         return response;
     }
+
+    /**
+     * 게시물 하위 댓글 목록용 변환 - 게시물 제목은 이미 알고 있으므로 게시물을 로딩하지 않음
+     */
+    private CommentResponse convertToPostCommentResponse(Comment comment) {
+        CommentResponse response = new CommentResponse();
+        response.setId(comment.getId());
+        response.setContent(comment.getContent());
+        response.setUsername(comment.getUser().getUsername());
+        response.setNickname(comment.getUser().getNickname());
+        response.setCreatedAt(comment.getCreatedAt());
+        response.setUpdatedAt(comment.getUpdatedAt());
+        response.setPostId(comment.getPost().getId());
+        setThreadFields(response, comment);
+        return response;
+    }
+
+    private void setThreadFields(CommentResponse response, Comment comment) {
+        response.setParentId(comment.getParentId());
+        response.setRootId(comment.getRootId());
+        response.setDepth(comment.getDepth());
+        response.setReplyCount(comment.getReplyCount());
+    }
 }
\ No newline at end of file
@@ -0,0 +1,198 @@
+package org.example.jaipark_back.service;
+
+import org.example.jaipark_back.repository.PostRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import jakarta.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 게시물 좋아요/북마크/댓글 수 write-behind 카운터
+ * - 변경분은 게시물 ID별 LongAdder에 모았다가 짧은 주기로 posts 테이블에 배치 반영
+ * - 조회 시에는 저장된 값 + 아직 반영되지 않은 변경분을 돌려줌
+ * - 인기 게시물에 좋아요가 몰려도 요청마다 posts 행 잠금을 잡지 않음
+ */
+@Service
+public class EngagementCounterService {
+    private static final Logger logger = LoggerFactory.getLogger(EngagementCounterService.class);
+
+    private static final String FLUSH_SQL =
+            "UPDATE posts SET like_count = like_count + ?, bookmark_count = bookmark_count + ?, " +
+            "comment_count = comment_count + ? WHERE id = ?";
+
+    private static final String COUNTS_MIGRATION = "post-engagement-counts";
+
+    public enum Counter {
+        LIKE, BOOKMARK, COMMENT
+    }
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private OneTimeMigrations migrations;
+
+    @Value("${counters.rebuild-on-startup:false}")
+    private boolean rebuildOnStartup;
+
+    // 게시물 ID -> 아직 반영되지 않은 변경분
+    private final Map<Long, Deltas> pending = new ConcurrentHashMap<>();
+
+    // 맵에서 제거된 직후 들어온 변경분을 놓치지 않도록 한 주기 더 반영하는 항목
+    private final Queue<Deltas> retired = new ConcurrentLinkedQueue<>();
+
+    /**
+     * 트랜잭션이 커밋된 뒤 변경분을 누적 (롤백되면 반영하지 않음)
+     */
+    public void increment(Long postId, Counter counter, long delta) {
+        AfterCommit.run(() -> add(postId, counter, delta));
+    }
+
+    /**
+     * 아직 DB에 반영되지 않은 변경분
+     */
+    public long pendingDelta(Long postId, Counter counter) {
+        Deltas deltas = pending.get(postId);
+        return deltas == null ? 0 : deltas.get(counter).sum();
+    }
+
+    /**
+     * 삭제된 게시물의 변경분 폐기
+     */
+    public void discard(Long postId) {
+        pending.remove(postId);
+    }
+
+    /**
+     * 누적된 변경분을 배치 UPDATE로 반영
+     */
+    @Scheduled(fixedDelayString = "${counters.flush-interval-ms:1000}")
+    public void flush() {
+        List<Deltas> batch = new ArrayList<>();
+        List<long[]> drained = new ArrayList<>();
+
+        for (Deltas deltas = retired.poll(); deltas != null; deltas = retired.poll()) {
+            collect(deltas, batch, drained);
+        }
+        for (Map.Entry<Long, Deltas> entry : pending.entrySet()) {
+            Deltas deltas = entry.getValue();
+            if (!collect(deltas, batch, drained)) {
+                // 변경이 없는 항목은 정리하고 다음 주기에 한 번 더 확인
+                if (pending.remove(entry.getKey(), deltas)) {
+                    retired.add(deltas);
+                }
+            }
+        }
+        if (drained.isEmpty()) {
+            return;
+        }
+
+        List<Object[]> args = new ArrayList<>(drained.size());
+        for (int i = 0; i < drained.size(); i++) {
+            long[] values = drained.get(i);
+            args.add(new Object[]{values[0], values[1], values[2], batch.get(i).postId});
+        }
+        try {
+            // 한 트랜잭션으로 실행해 일부만 반영된 채 실패하는 일이 없게 함 (실패하면 전부 롤백 후 재시도)
+            new TransactionTemplate(transactionManager).executeWithoutResult(
+                    status -> jdbcTemplate.batchUpdate(FLUSH_SQL, args));
+        } catch (Exception e) {
+            logger.error("Failed to flush engagement counters, will retry: {}", e.getMessage(), e);
+            // 빼지 않았으므로 변경분은 그대로 남음, 맵에서 빠진 항목만 다음 주기에 다시 확인
+            for (Deltas deltas : batch) {
+                if (pending.get(deltas.postId) != deltas) {
+                    retired.add(deltas);
+                }
+            }
+            return;
+        }
+        // 커밋된 뒤에 반영한 만큼 빼서, 반영 중에도 조회 값(컬럼 + 변경분)이 줄어들지 않게 함
+        for (int i = 0; i < drained.size(); i++) {
+            long[] values = drained.get(i);
+            for (Counter counter : Counter.values()) {
+                if (values[counter.ordinal()] != 0) {
+                    batch.get(i).get(counter).add(-values[counter.ordinal()]);
+                }
+            }
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+
+    /**
+     * 기동 시 카운터 컬럼을 실제 테이블 기준으로 채움
+     * - 컬럼이 추가된 뒤 처음 한 번은 항상 실행 (기존 게시물이 0으로 보이지 않도록)
+     * - counters.rebuild-on-startup=true면 매 기동마다 다시 계산
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildCounts() {
+        if (rebuildOnStartup) {
+            migrations.rerun(COUNTS_MIGRATION, postRepository::recalculateCounts);
+        } else {
+            migrations.runOnce(COUNTS_MIGRATION, postRepository::recalculateCounts);
+        }
+    }
+
+    private void add(Long postId, Counter counter, long delta) {
+        pending.computeIfAbsent(postId, Deltas::new).get(counter).add(delta);
+    }
+
+    // 현재 값을 읽어 두고, 반영이 끝나면 그만큼만 빼서 동시에 들어온 증가분은 그대로 남김
+    private boolean collect(Deltas deltas, List<Deltas> batch, List<long[]> drained) {
+        long[] values = new long[Counter.values().length];
+        boolean changed = false;
+        for (Counter counter : Counter.values()) {
+            long value = deltas.get(counter).sum();
+            if (value != 0) {
+                values[counter.ordinal()] = value;
+                changed = true;
+            }
+        }
+        if (changed) {
+            batch.add(deltas);
+            drained.add(values);
+        }
+        return changed;
+    }
+
+    private static class Deltas {
+        private final Long postId;
+        private final LongAdder[] adders = new LongAdder[Counter.values().length];
+
+        Deltas(Long postId) {
+            this.postId = postId;
+            for (int i = 0; i < adders.length; i++) {
+                adders[i] = new LongAdder();
+            }
+        }
+
+        LongAdder get(Counter counter) {
+            return adders[counter.ordinal()];
+        }
+    }
+}
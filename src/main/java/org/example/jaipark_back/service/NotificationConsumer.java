@@ -94,7 +94,7 @@ public class NotificationConsumer {
     /**
      * 일괄 처리 토픽의 메시지를 소비합니다.
      */
-    @KafkaListener(topics = "notification-batch", groupId = "notification-batch-group")
+    @KafkaListener(topics = "notification-batch", groupId = "notification-batch-group", containerFactory = "batchKafkaListenerContainerFactory")
     public void consumeBatch(List<NotificationEvent> events, Acknowledgment ack) {
         try {
             logger.info("Received batch notification with {} events", events.size());
@@ -1,10 +1,12 @@
 package org.example.jaipark_back.service;
 
+import org.example.jaipark_back.dto.CursorPage;
 import org.example.jaipark_back.dto.NotificationEvent;
 import org.example.jaipark_back.entity.Notification;
 import org.example.jaipark_back.entity.User;
 import org.example.jaipark_back.repository.NotificationRepository;
 import org.example.jaipark_back.repository.UserRepository;
+import org.example.jaipark_back.util.Cursor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
@@ -33,7 +35,7 @@ public class NotificationService {
     @Transactional(propagation = Propagation.REQUIRES_NEW, isolation = Isolation.READ_COMMITTED)
     public CompletableFuture<Void> saveNotificationAsync(NotificationEvent event) {
         try {
-            User user = userRepository.findByUsername(event.getUsername()).orElseThrow();
+            User user = recipient(event);
             Notification notification = new Notification();
             notification.setUser(user);
             notification.setType(event.getType());
@@ -58,7 +60,7 @@ public class NotificationService {
             List<Notification> notifications = new ArrayList<>();
             
             for (NotificationEvent event : events) {
-                User user = userRepository.findByUsername(event.getUsername()).orElseThrow();
+                User user = recipient(event);
                 Notification notification = new Notification();
                 notification.setUser(user);
                 notification.setType(event.getType());
@@ -79,7 +81,7 @@ public class NotificationService {
      */
     @Transactional
     public void saveNotification(NotificationEvent event) {
-        User user = userRepository.findByUsername(event.getUsername()).orElseThrow();
+        User user = recipient(event);
         Notification notification = new Notification();
         notification.setUser(user);
         notification.setType(event.getType());
@@ -88,13 +90,22 @@ public class NotificationService {
         notificationRepository.save(notification);
     }
 
+    // 수신자 ID가 있으면 조회 없이 참조만 사용
+    private User recipient(NotificationEvent event) {
+        if (event.getUserId() != null) {
+            return userRepository.getReferenceById(event.getUserId());
+        }
+        return userRepository.findByUsername(event.getUsername()).orElseThrow();
+    }
+
     /**
-     * 사용자의 모든 알림을 조회합니다.
+     * 사용자의 알림을 최신순으로 한 페이지씩 조회합니다.
      */
     @Transactional(readOnly = true)
-    public List<Notification> getNotifications(String username) {
-        User user = userRepository.findByUsername(username).orElseThrow();
-        return notificationRepository.findByUserOrderByCreatedAtDesc(user);
+    public CursorPage<Notification> getNotifications(Long userId, String cursor, int limit) {
+        int size = Cursor.limit(limit);
+        List<Notification> notifications = notificationRepository.findByUserIdBeforeId(userId, Cursor.lastId(cursor), size + 1);
+        return CursorPage.of(notifications, size, notification -> Cursor.encode(notification.getId()), page -> page);
     }
 
     /**
@@ -133,8 +144,7 @@ public class NotificationService {
      * 읽지 않은 알림 개수를 조회합니다.
      */
     @Transactional(readOnly = true)
-    public long countUnread(String username) {
-        User user = userRepository.findByUsername(username).orElseThrow();
-        return notificationRepository.countByUserAndIsReadFalse(user);
+    public long countUnread(Long userId) {
+        return notificationRepository.countByUserAndIsReadFalse(userRepository.getReferenceById(userId));
     }
 }
\ No newline at end of file
@@ -0,0 +1,78 @@
+package org.example.jaipark_back.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.dao.PessimisticLockingFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.function.IntSupplier;
+
+/**
+ * 기동 시 한 번만 실행하는 데이터 마이그레이션 (ddl-auto로 추가된 컬럼 채우기 등)
+ * - 적용한 마이그레이션 이름을 data_migrations 테이블에 남기고, 이미 있으면 건너뜀
+ * - 이름 기록과 작업을 한 트랜잭션에서 실행하므로 실패하면 기록도 남지 않아 다음 기동 때 다시 실행
+ * - 여러 노드가 동시에 기동하면 이름 INSERT에서 하나만 통과 (나머지는 중복 키/잠금 대기로 건너뜀)
+ */
+@Component
+public class OneTimeMigrations {
+    private static final Logger logger = LoggerFactory.getLogger(OneTimeMigrations.class);
+
+    private static final String CREATE_TABLE_SQL =
+            "CREATE TABLE IF NOT EXISTS data_migrations (" +
+            "name VARCHAR(100) NOT NULL PRIMARY KEY, applied_at TIMESTAMP NOT NULL)";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    /**
+     * 아직 적용되지 않았으면 migration을 실행 (실행했으면 true)
+     */
+    public boolean runOnce(String name, IntSupplier migration) {
+        createTable();
+        if (isApplied(name)) {
+            return false;
+        }
+        try {
+            Integer rows = new TransactionTemplate(transactionManager).execute(status -> {
+                jdbcTemplate.update("INSERT INTO data_migrations (name, applied_at) VALUES (?, ?)",
+                        name, Timestamp.valueOf(LocalDateTime.now()));
+                return migration.getAsInt();
+            });
+            logger.info("Applied data migration {} ({} rows)", name, rows);
+            return true;
+        } catch (DuplicateKeyException | PessimisticLockingFailureException e) {
+            logger.info("Data migration {} was applied by another node", name);
+            return false;
+        }
+    }
+
+    /**
+     * 적용 기록을 지우고 다시 실행 (수동 재계산용)
+     */
+    public boolean rerun(String name, IntSupplier migration) {
+        createTable();
+        jdbcTemplate.update("DELETE FROM data_migrations WHERE name = ?", name);
+        return runOnce(name, migration);
+    }
+
+    // DDL은 트랜잭션 밖에서 실행 (MySQL은 DDL에서 암묵적으로 커밋)
+    private void createTable() {
+        jdbcTemplate.execute(CREATE_TABLE_SQL);
+    }
+
+    private boolean isApplied(String name) {
+        Integer count = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM data_migrations WHERE name = ?", Integer.class, name);
+        return count != null && count > 0;
+    }
+}
@@ -0,0 +1,57 @@
+package org.example.jaipark_back.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import org.example.jaipark_back.dto.PostResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.function.Function;
+
+/**
+ * 게시물 상세 응답 read-through 캐시
+ * - 크기와 TTL로 제한되며, 같은 게시물에 대한 동시 미스는 한 번의 로딩을 공유
+ * - 게시물/댓글/반응이 바뀌면 커밋 후 무효화 (로딩 중인 항목은 로딩이 끝난 뒤 제거됨)
+ * - 적중률은 cache.gets / cache.puts 등 Micrometer 지표(cache=postResponses)로 노출
+ */
+@Service
+public class PostCacheService {
+    private static final String CACHE_NAME = "postResponses";
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${post-cache.max-size:10000}")
+    private long maxSize;
+
+    @Value("${post-cache.ttl-seconds:30}")
+    private long ttlSeconds;
+
+    private Cache<Long, PostResponse> cache;
+
+    @PostConstruct
+    public void init() {
+        cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    public PostResponse get(Long postId, Function<Long, PostResponse> loader) {
+        return cache.get(postId, loader);
+    }
+
+    /**
+     * 현재 트랜잭션이 커밋된 뒤 게시물 캐시 무효화
+     */
+    public void invalidate(Long postId) {
+        AfterCommit.run(() -> cache.invalidate(postId));
+    }
+}
@@ -0,0 +1,173 @@
+package org.example.jaipark_back.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PostConstruct;
+import org.example.jaipark_back.repository.BookmarkRepository;
+import org.example.jaipark_back.repository.LikeRepository;
+import org.example.jaipark_back.util.SortedLongSet;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 게시물별 좋아요/북마크 사용자 ID 집합 인덱스
+ * - 게시물 단위로 지연 로딩하고, 한 페이지의 누락분은 쿼리 한 번으로 적재
+ * - 토글 경로에서 커밋 후 갱신되며, 전체 원소 수 기준으로 메모리를 제한(초과 시 축출)
+ * - 로딩 중(DB 조회 후 캐시 적재 전)에 커밋된 변경은 쓰기 세대로 감지해 그 결과를 캐시에 넣지 않음
+ */
+@Service
+public class PostMembershipService {
+
+    public enum Relation {
+        LIKE, BOOKMARK
+    }
+
+    @Autowired
+    private LikeRepository likeRepository;
+
+    @Autowired
+    private BookmarkRepository bookmarkRepository;
+
+    @Value("${membership.max-members:5000000}")
+    private long maxMembers;
+
+    @Value("${membership.expire-minutes:30}")
+    private long expireMinutes;
+
+    private static final int GENERATION_STRIPES = 1024;
+
+    private final Map<Relation, Cache<Long, SortedLongSet>> caches = new EnumMap<>(Relation.class);
+
+    // 게시물별 쓰기 세대 (게시물 ID 해시로 나눈 스트라이프, 커밋 후 반영할 때마다 증가)
+    private final AtomicLongArray generations = new AtomicLongArray(GENERATION_STRIPES);
+
+    @PostConstruct
+    public void init() {
+        for (Relation relation : Relation.values()) {
+            caches.put(relation, Caffeine.newBuilder()
+                    .maximumWeight(maxMembers)
+                    .weigher((Long postId, SortedLongSet members) -> 1 + members.size())
+                    .expireAfterWrite(Duration.ofMinutes(expireMinutes))
+                    .build());
+        }
+    }
+
+    public boolean contains(Relation relation, Long postId, Long userId) {
+        return containedIn(relation, userId, List.of(postId)).contains(postId);
+    }
+
+    /**
+     * 주어진 게시물 중 사용자가 좋아요(북마크)한 게시물 ID
+     */
+    public Set<Long> containedIn(Relation relation, Long userId, Collection<Long> postIds) {
+        Cache<Long, SortedLongSet> cache = caches.get(relation);
+        Map<Long, SortedLongSet> members = new HashMap<>(cache.getAllPresent(postIds));
+        List<Long> missing = postIds.stream().filter(postId -> !members.containsKey(postId)).distinct().toList();
+        if (!missing.isEmpty()) {
+            long[] before = new long[missing.size()];
+            for (int i = 0; i < before.length; i++) {
+                before[i] = generations.get(stripe(missing.get(i)));
+            }
+            Map<Long, SortedLongSet> loaded = load(relation, missing);
+            for (int i = 0; i < before.length; i++) {
+                Long postId = missing.get(i);
+                long generation = before[i];
+                // 조회 이후 변경이 커밋됐으면 적재하지 않음 (반영 쪽과 같은 키의 compute로 직렬화됨)
+                SortedLongSet set = cache.asMap().compute(postId, (key, existing) -> existing != null ? existing
+                        : generations.get(stripe(key)) == generation ? loaded.get(key) : null);
+                members.put(postId, set != null ? set : loaded.get(postId));
+            }
+        }
+        Set<Long> result = new LinkedHashSet<>();
+        for (Long postId : postIds) {
+            SortedLongSet set = members.get(postId);
+            if (set != null) {
+                synchronized (set) {
+                    if (set.contains(userId)) {
+                        result.add(postId);
+                    }
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 커밋 후 로딩된 집합에 사용자 추가
+     * - 세대를 먼저 올리므로 진행 중인 로딩은 이전 조회 결과를 적재하지 않음
+     * - compute로 값을 다시 넣어 가중치도 다시 계산됨
+     */
+    public void recordAdded(Relation relation, Long postId, Long userId) {
+        AfterCommit.run(() -> {
+            generations.incrementAndGet(stripe(postId));
+            caches.get(relation).asMap().computeIfPresent(postId, (key, set) -> {
+                synchronized (set) {
+                    set.add(userId);
+                }
+                return set;
+            });
+        });
+    }
+
+    public void recordRemoved(Relation relation, Long postId, Long userId) {
+        AfterCommit.run(() -> {
+            generations.incrementAndGet(stripe(postId));
+            caches.get(relation).asMap().computeIfPresent(postId, (key, set) -> {
+                synchronized (set) {
+                    set.remove(userId);
+                }
+                return set;
+            });
+        });
+    }
+
+    public void invalidate(Long postId) {
+        generations.incrementAndGet(stripe(postId));
+        caches.values().forEach(cache -> cache.invalidate(postId));
+    }
+
+    private static int stripe(Long postId) {
+        return Long.hashCode(postId) & (GENERATION_STRIPES - 1);
+    }
+
+    private Map<Long, SortedLongSet> load(Relation relation, List<Long> ids) {
+        List<Object[]> rows = relation == Relation.LIKE
+                ? likeRepository.findMembersByPostIds(ids)
+                : bookmarkRepository.findMembersByPostIds(ids);
+
+        Map<Long, long[]> buffers = new HashMap<>();
+        Map<Long, Integer> lengths = new HashMap<>();
+        for (Object[] row : rows) {
+            Long postId = (Long) row[0];
+            long userId = (Long) row[1];
+            long[] buffer = buffers.computeIfAbsent(postId, id -> new long[16]);
+            int length = lengths.getOrDefault(postId, 0);
+            if (length == buffer.length) {
+                buffer = Arrays.copyOf(buffer, length * 2);
+                buffers.put(postId, buffer);
+            }
+            buffer[length] = userId;
+            lengths.put(postId, length + 1);
+        }
+
+        // 반응이 없는 게시물도 빈 집합으로 캐시해 다시 조회하지 않음
+        Map<Long, SortedLongSet> loaded = new HashMap<>();
+        for (Long postId : ids) {
+            long[] buffer = buffers.get(postId);
+            loaded.put(postId, buffer == null ? new SortedLongSet() : SortedLongSet.of(buffer, lengths.get(postId)));
+        }
+        return loaded;
+    }
+}
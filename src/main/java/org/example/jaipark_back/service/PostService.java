@@ -1,18 +1,30 @@
 package org.example.jaipark_back.service;
 
 import org.example.jaipark_back.dto.CommentResponse;
+import org.example.jaipark_back.dto.CursorPage;
+import org.example.jaipark_back.dto.PostCreatedEvent;
 import org.example.jaipark_back.dto.PostRequest;
 import org.example.jaipark_back.dto.PostResponse;
 import org.example.jaipark_back.entity.*;
+import org.example.jaipark_back.repository.CommentRepository;
 import org.example.jaipark_back.repository.PostRepository;
 import org.example.jaipark_back.repository.UserRepository;
 import org.example.jaipark_back.repository.LikeRepository;
 import org.example.jaipark_back.repository.BookmarkRepository;
 import org.example.jaipark_back.repository.FollowRepository;
 import org.example.jaipark_back.exception.PostException;
+import org.example.jaipark_back.search.InvertedIndex;
+import org.example.jaipark_back.search.PostSearchService;
+import org.example.jaipark_back.service.EngagementCounterService.Counter;
+import org.example.jaipark_back.service.PostMembershipService.Relation;
+import org.example.jaipark_back.util.Cursor;
+import org.example.jaipark_back.util.NativeRows;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -21,8 +33,13 @@ import jakarta.validation.Valid;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 public class PostService {
@@ -41,6 +58,39 @@ public class PostService {
     @Autowired
     private FollowRepository followRepository;
 
+    @Autowired
+    private CommentRepository commentRepository;
+
+    @Autowired
+    private EngagementCounterService counterService;
+
+    @Autowired
+    private PostMembershipService membershipService;
+
+    @Autowired
+    private CommentParticipantService participantService;
+
+    @Autowired
+    private TimelineService timelineService;
+
+    @Autowired
+    private PostSearchService searchService;
+
+    @Autowired
+    private PostCacheService postCacheService;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    // 피드 요청에서 받을 수 있는 게시글당 댓글 미리보기 최대 개수
+    private static final int MAX_FEED_COMMENT_PREVIEWS = 10;
+
+    @Value("${posts.comment-preview-size:3}")
+    private int commentPreviewSize;
+
+    @Value("${posts.detail-comment-page-size:20}")
+    private int commentPageSize;
+
     @Transactional
     public PostResponse createPost(@Valid PostRequest request, String username) {
         User user = userRepository.findByUsername(username)
@@ -52,20 +102,43 @@ public class PostService {
         post.setUser(user);
 
         Post savedPost = postRepository.save(post);
+        // 커밋 후 팔로워 타임라인으로 팬아웃
+        eventPublisher.publishEvent(new PostCreatedEvent(savedPost.getId(), user.getId()));
+        searchService.indexPost(savedPost);
         return convertToResponse(savedPost);
     }
 
     @Transactional(readOnly = true)
     public Page<PostResponse> getAllPosts(Pageable pageable) {
-        return postRepository.findAllWithUserAndComments(pageable)
-                .map(this::convertToResponse);
+        // 1단계: 게시글 ID만 페이지 단위로 조회 (컬렉션 fetch join + 페이징으로 인한 메모리 내 페이징 방지)
+        Page<Long> idPage = postRepository.findPageOfIds(pageable);
+
+        // 2단계: 해당 ID의 게시글/작성자와 게시글별 최신 댓글 일부만 배치 조회
+        List<PostResponse> responses = convertToResponses(findPostsInOrder(idPage.getContent()));
+        attachCommentPreviews(responses, commentPreviewSize);
+        return new PageImpl<>(responses, idPage.getPageable(), idPage.getTotalElements());
     }
 
-    @Transactional(readOnly = true)
+    /**
+     * 게시물 상세 - 캐시 적중 시 트랜잭션/DB 접근 없이 응답
+     */
     public PostResponse getPost(Long id) {
-        Post post = postRepository.findByIdWithUserAndComments(id)
+        return postCacheService.get(id, this::loadPost);
+    }
+
+    // 게시물 + 첫 댓글 페이지만 조회 (댓글 수와 상관없이 쿼리 2번)
+    private PostResponse loadPost(Long id) {
+        Post post = postRepository.findByIdWithUser(id)
                 .orElseThrow(PostException.PostNotFoundException::new);
-        return convertToResponse(post);
+        PostResponse response = convertToResponse(post);
+
+        List<Comment> comments = commentRepository.findPageByPostId(id, Long.MAX_VALUE, commentPageSize + 1);
+        CursorPage<CommentResponse> page = CursorPage.of(comments, commentPageSize,
+                comment -> Cursor.encode(comment.getId()),
+                rows -> rows.stream().map(this::convertToCommentResponse).toList());
+        response.setComments(page.getItems());
+        response.setCommentsNextCursor(page.getNextCursor());
+        return response;
     }
 
     @Transactional
@@ -81,6 +154,8 @@ public class PostService {
         post.setContent(request.getContent());
 
         Post updatedPost = postRepository.save(post);
+        searchService.indexPost(updatedPost);
+        postCacheService.invalidate(id);
         return convertToResponse(updatedPost);
     }
 
@@ -98,210 +173,341 @@ public class PostService {
         
         // 연관된 북마크 삭제
         bookmarkRepository.deleteByPost(post);
+
+        // 댓글 참여자 삭제
+        participantService.removePost(post);
         
         // 게시글 삭제 (댓글은 cascade로 자동 삭제)
         postRepository.delete(post);
+        counterService.discard(id);
+        membershipService.invalidate(id);
+        searchService.removePost(id);
+        postCacheService.invalidate(id);
     }
 
     @Transactional
-    public boolean toggleLike(Long postId, String username) {
-        User user = userRepository.findByUsername(username).orElseThrow();
+    public boolean toggleLike(Long postId, Long userId) {
+        User user = userRepository.getReferenceById(userId);
         Post post = postRepository.findById(postId).orElseThrow();
         if (likeRepository.existsByUserAndPost(user, post)) {
             likeRepository.deleteByUserAndPost(user, post);
+            counterService.increment(postId, Counter.LIKE, -1);
+            postCacheService.invalidate(postId);
+            membershipService.recordRemoved(Relation.LIKE, postId, user.getId());
             return false;
         } else {
             Like like = new Like();
             like.setUser(user);
             like.setPost(post);
             likeRepository.save(like);
+            counterService.increment(postId, Counter.LIKE, 1);
+            postCacheService.invalidate(postId);
+            membershipService.recordAdded(Relation.LIKE, postId, user.getId());
             return true;
         }
     }
 
+    /**
+     * 멱등 좋아요 - INSERT IGNORE 한 번으로 처리 (추가되지 않았을 때만 게시물 존재 확인)
+     * @return 상태가 바뀌었는지 여부
+     * @throws PostException.PostNotFoundException 게시물이 없는 경우
+     */
+    @Transactional
+    public boolean like(Long postId, Long userId) {
+        boolean changed = likeRepository.insertIgnore(userId, postId) > 0;
+        if (changed) {
+            counterService.increment(postId, Counter.LIKE, 1);
+            postCacheService.invalidate(postId);
+            membershipService.recordAdded(Relation.LIKE, postId, userId);
+        } else if (!postRepository.existsById(postId)) {
+            // INSERT IGNORE는 외래 키 오류도 무시하므로, 추가되지 않았으면 게시물이 있는지 확인
+            throw new PostException.PostNotFoundException();
+        }
+        return changed;
+    }
+
+    /**
+     * 멱등 좋아요 취소 - DELETE 한 번으로 처리
+     * @return 상태가 바뀌었는지 여부
+     */
+    @Transactional
+    public boolean unlike(Long postId, Long userId) {
+        boolean changed = likeRepository.deleteByUserIdAndPostId(userId, postId) > 0;
+        if (changed) {
+            counterService.increment(postId, Counter.LIKE, -1);
+            postCacheService.invalidate(postId);
+            membershipService.recordRemoved(Relation.LIKE, postId, userId);
+        }
+        return changed;
+    }
+
     @Transactional(readOnly = true)
     public long countLikes(Long postId) {
-        Post post = postRepository.findById(postId).orElseThrow();
-        return likeRepository.countByPost(post);
+        long stored = postRepository.findLikeCountById(postId).orElseThrow();
+        return stored + counterService.pendingDelta(postId, Counter.LIKE);
     }
 
-    @Transactional(readOnly = true)
-    public boolean isLiked(Long postId, String username) {
-        User user = userRepository.findByUsername(username).orElseThrow();
-        Post post = postRepository.findById(postId).orElseThrow();
-        return likeRepository.existsByUserAndPost(user, post);
+    public boolean isLiked(Long postId, Long userId) {
+        return membershipService.contains(Relation.LIKE, postId, userId);
     }
 
     @Transactional
-    public boolean toggleBookmark(Long postId, String username) {
-        User user = userRepository.findByUsername(username).orElseThrow();
+    public boolean toggleBookmark(Long postId, Long userId) {
+        User user = userRepository.getReferenceById(userId);
         Post post = postRepository.findById(postId).orElseThrow();
         if (bookmarkRepository.existsByUserAndPost(user, post)) {
             bookmarkRepository.deleteByUserAndPost(user, post);
+            counterService.increment(postId, Counter.BOOKMARK, -1);
+            postCacheService.invalidate(postId);
+            membershipService.recordRemoved(Relation.BOOKMARK, postId, user.getId());
             return false;
         } else {
             Bookmark bookmark = new Bookmark();
             bookmark.setUser(user);
             bookmark.setPost(post);
             bookmarkRepository.save(bookmark);
+            counterService.increment(postId, Counter.BOOKMARK, 1);
+            postCacheService.invalidate(postId);
+            membershipService.recordAdded(Relation.BOOKMARK, postId, user.getId());
             return true;
         }
     }
 
+    /**
+     * 멱등 북마크 - INSERT IGNORE 한 번으로 처리 (추가되지 않았을 때만 게시물 존재 확인)
+     * @return 상태가 바뀌었는지 여부
+     * @throws PostException.PostNotFoundException 게시물이 없는 경우
+     */
+    @Transactional
+    public boolean bookmark(Long postId, Long userId) {
+        boolean changed = bookmarkRepository.insertIgnore(userId, postId) > 0;
+        if (changed) {
+            counterService.increment(postId, Counter.BOOKMARK, 1);
+            postCacheService.invalidate(postId);
+            membershipService.recordAdded(Relation.BOOKMARK, postId, userId);
+        } else if (!postRepository.existsById(postId)) {
+            // INSERT IGNORE는 외래 키 오류도 무시하므로, 추가되지 않았으면 게시물이 있는지 확인
+            throw new PostException.PostNotFoundException();
+        }
+        return changed;
+    }
+
+    /**
+     * 멱등 북마크 취소 - DELETE 한 번으로 처리
+     * @return 상태가 바뀌었는지 여부
+     */
+    @Transactional
+    public boolean unbookmark(Long postId, Long userId) {
+        boolean changed = bookmarkRepository.deleteByUserIdAndPostId(userId, postId) > 0;
+        if (changed) {
+            counterService.increment(postId, Counter.BOOKMARK, -1);
+            postCacheService.invalidate(postId);
+            membershipService.recordRemoved(Relation.BOOKMARK, postId, userId);
+        }
+        return changed;
+    }
+
     @Transactional(readOnly = true)
     public long countBookmarks(Long postId) {
-        Post post = postRepository.findById(postId).orElseThrow();
-        return bookmarkRepository.countByPost(post);
+        long stored = postRepository.findBookmarkCountById(postId).orElseThrow();
+        return stored + counterService.pendingDelta(postId, Counter.BOOKMARK);
     }
 
-    @Transactional(readOnly = true)
-    public boolean isBookmarked(Long postId, String username) {
-        User user = userRepository.findByUsername(username).orElseThrow();
-        Post post = postRepository.findById(postId).orElseThrow();
-        return bookmarkRepository.existsByUserAndPost(user, post);
+    public boolean isBookmarked(Long postId, Long userId) {
+        return membershipService.contains(Relation.BOOKMARK, postId, userId);
+    }
+
+    /**
+     * 한 페이지의 게시물에 대해 사용자의 좋아요/북마크 여부를 한 번에 조회
+     */
+    public Map<String, Object> getReactions(List<Long> postIds, Long userId) {
+        Map<String, Object> result = new HashMap<>();
+        result.put("liked", membershipService.containedIn(Relation.LIKE, userId, postIds));
+        result.put("bookmarked", membershipService.containedIn(Relation.BOOKMARK, userId, postIds));
+        return result;
     }
 
     @Transactional(readOnly = true)
-    public List<PostResponse> getPostsByUsername(String username) {
-        User user = userRepository.findByUsername(username).orElseThrow();
-        return postRepository.findAllByUserOrderByCreatedAtDesc(user).stream().map(this::convertToResponse).toList();
+    public CursorPage<PostResponse> getPostsByUserId(Long userId, String cursor, int limit) {
+        int size = Cursor.limit(limit);
+        List<Post> posts = postRepository.findByUserIdBeforeId(userId, Cursor.lastId(cursor), size + 1);
+        return CursorPage.of(posts, size, post -> Cursor.encode(post.getId()), this::convertToResponses);
     }
 
     @Transactional(readOnly = true)
-    public List<PostResponse> getLikedPosts(String username) {
-        User user = userRepository.findByUsername(username).orElseThrow();
-        return likeRepository.findAllByUser(user).stream().map(like -> convertToResponse(like.getPost())).toList();
+    public CursorPage<PostResponse> getLikedPosts(Long userId, String cursor, int limit) {
+        int size = Cursor.limit(limit);
+        List<Like> likes = likeRepository.findByUserIdBeforeId(userId, Cursor.lastId(cursor), size + 1);
+        return CursorPage.of(likes, size, like -> Cursor.encode(like.getId()),
+                page -> convertToResponses(page.stream().map(Like::getPost).toList()));
     }
 
     @Transactional(readOnly = true)
-    public List<PostResponse> getBookmarkedPosts(String username) {
-        User user = userRepository.findByUsername(username).orElseThrow();
-        return bookmarkRepository.findAllByUser(user).stream().map(bookmark -> convertToResponse(bookmark.getPost())).toList();
+    public CursorPage<PostResponse> getBookmarkedPosts(Long userId, String cursor, int limit) {
+        int size = Cursor.limit(limit);
+        List<Bookmark> bookmarks = bookmarkRepository.findByUserIdBeforeId(userId, Cursor.lastId(cursor), size + 1);
+        return CursorPage.of(bookmarks, size, bookmark -> Cursor.encode(bookmark.getId()),
+                page -> convertToResponses(page.stream().map(Bookmark::getPost).toList()));
     }
 
     @Transactional(readOnly = true)
-    public List<PostResponse> getFollowingsPosts(String username) {
-        // 사용자 찾기
-        User user = userRepository.findByUsername(username)
-                .orElseThrow(() -> new RuntimeException("사용자를 찾을 수 없습니다: " + username));
-        
-        // 팔로우 관계 조회
-        List<Follow> followings = followRepository.findByFollower(user);
-        
-        if (followings.isEmpty()) {
-            // 팔로우한 사용자가 없는 경우
-            return Collections.emptyList();
-        }
-        
-        // 팔로우한 사용자 목록 추출
-        List<User> followingUsers = followings.stream()
-                .map(Follow::getFollowing)
-                .collect(java.util.stream.Collectors.toList());
-        
-        // 해당 사용자들의 게시글 조회
-        List<Post> posts = postRepository.findAllByUserInOrderByCreatedAtDesc(followingUsers);
-        
-        // 응답 변환
-        return posts.stream()
-                .map(this::convertToResponse)
-                .collect(java.util.stream.Collectors.toList());
+    public List<PostResponse> getFollowingsPosts(Long userId) {
+        // 홈 타임라인 전체 (타임라인 최대 크기로 제한됨)
+        List<Long> postIds = timelineService.getTimelinePage(userId, null, Integer.MAX_VALUE);
+        return convertToResponses(findPostsInOrder(postIds));
     }
     
     /**
      * 키셋 페이지네이션을 이용한 게시물 조회
-     * @param lastPostId 마지막으로 조회한 게시물 ID
+     * @param cursor 이전 페이지의 nextCursor (첫 페이지면 null)
      * @param limit 페이지 크기
-     * @return 게시물 목록
+     * @param comments 게시글당 함께 내려줄 최신 댓글 수 (0이면 생략)
+     * @return 게시물 목록과 다음 커서
      */
     @Transactional(readOnly = true)
-    public List<PostResponse> getPostsWithCursor(Long lastPostId, int limit) {
+    public CursorPage<PostResponse> getPostsWithCursor(String cursor, int limit, int comments) {
+        int size = Cursor.limit(limit);
         List<Post> posts;
-        if (lastPostId == null) {
-            posts = postRepository.findFirstPage(limit);
+        if (cursor == null) {
+            posts = postRepository.findFirstPage(size + 1);
         } else {
-            posts = postRepository.findPostsBeforeId(lastPostId, limit);
+            posts = postRepository.findPostsBeforeId(Cursor.lastId(cursor), size + 1);
         }
-        return posts.stream().map(this::convertToResponse).toList();
+        return withCommentPreviews(
+                CursorPage.of(posts, size, post -> Cursor.encode(post.getId()), this::convertToResponses), comments);
     }
     
     /**
-     * 시간 기반 키셋 페이지네이션
-     * @param cursorParams 커서 파라미터 (시간, ID)
+     * 시간 기반 키셋 페이지네이션 (커서에는 작성 시각과 ID가 담김)
+     * @param cursor 이전 페이지의 nextCursor (첫 페이지면 null)
      * @param limit 페이지 크기
-     * @return 게시물 목록
+     * @param comments 게시글당 함께 내려줄 최신 댓글 수 (0이면 생략)
+     * @return 게시물 목록과 다음 커서
      */
     @Transactional(readOnly = true)
-    public List<PostResponse> getPostsWithTimeCursor(Map<String, Object> cursorParams, int limit) {
+    public CursorPage<PostResponse> getPostsWithTimeCursor(String cursor, int limit, int comments) {
+        int size = Cursor.limit(limit);
+        long[] keys = Cursor.decode(cursor, 2);
         List<Post> posts;
-        if (cursorParams == null || cursorParams.isEmpty()) {
+        if (keys == null) {
             // 커서가 없으면 최근 게시물부터 조회
-            posts = postRepository.findFirstPage(limit);
+            posts = postRepository.findFirstPageByTime(size + 1);
         } else {
-            LocalDateTime createdAt = (LocalDateTime) cursorParams.get("createdAt");
-            Long id = (Long) cursorParams.get("id");
-            posts = postRepository.findPostsBeforeTimeAndId(createdAt, id, limit);
+            posts = postRepository.findPostsBeforeTimeAndId(Cursor.fromTimeKey(keys[0]), keys[1], size + 1);
         }
-        return posts.stream().map(this::convertToResponse).toList();
+        return withCommentPreviews(CursorPage.of(posts, size,
+                post -> Cursor.encode(Cursor.timeKey(post.getCreatedAt()), post.getId()),
+                this::convertToResponses), comments);
     }
     
     /**
      * 팔로우한 사용자의 게시물을 키셋 페이지네이션으로 조회
-     * @param username 사용자명
-     * @param cursorParams 커서 파라미터
+     * @param userId 사용자 ID
+     * @param cursor 이전 페이지의 nextCursor (첫 페이지면 null)
      * @param limit 페이지 크기
-     * @return 리스트 데이터와 마지막 커서 정보
+     * @param comments 게시글당 함께 내려줄 최신 댓글 수 (0이면 생략)
+     * @return 게시물 목록과 다음 커서
      */
     @Transactional(readOnly = true)
-    public Map<String, Object> getFollowingsPostsWithCursor(String username, Map<String, Object> cursorParams, int limit) {
-        User user = userRepository.findByUsername(username).orElseThrow();
-        var followings = followRepository.findByFollower(user);
-        var followingUsers = followings.stream().map(f -> f.getFollowing()).toList();
+    public CursorPage<PostResponse> getFollowingsPostsWithCursor(Long userId, String cursor, int limit, int comments) {
+        int size = Cursor.limit(limit);
         
-        if (followingUsers.isEmpty()) {
-            return Map.of(
-                "posts", Collections.emptyList(),
-                "nextCursor", null
-            );
-        }
+        // 게시글 ID는 생성 순서대로 증가하므로 ID만으로 커서를 판단
+        Long lastPostId = cursor == null ? null : Cursor.lastId(cursor);
+        List<Long> postIds = timelineService.getTimelinePage(userId, lastPostId, size + 1);
         
-        List<Post> posts;
-        if (cursorParams == null || cursorParams.isEmpty()) {
-            // 커서가 없으면 최근 게시물부터 조회 (겹치는 코드지만 예제를 위해 함수 추가)
-            posts = postRepository.findAllByUserInOrderByCreatedAtDesc(followingUsers)
-                     .stream()
-                     .limit(limit)
-                     .toList();
-        } else {
-            LocalDateTime createdAt = (LocalDateTime) cursorParams.get("createdAt");
-            Long id = (Long) cursorParams.get("id");
-            posts = postRepository.findPostsByUsersBeforeTimeAndId(followingUsers, createdAt, id, limit);
+        // 삭제된 게시글은 건너뛰므로 다음 커서는 타임라인의 ID 기준으로 생성
+        boolean hasNext = postIds.size() > size;
+        List<Long> pageIds = hasNext ? postIds.subList(0, size) : postIds;
+        String nextCursor = hasNext ? Cursor.encode(pageIds.get(pageIds.size() - 1)) : null;
+        return withCommentPreviews(new CursorPage<>(convertToResponses(findPostsInOrder(pageIds)), nextCursor), comments);
+    }
+
+    /**
+     * 타임라인 순서를 유지하며 게시글을 한 번에 조회 (삭제된 게시글은 건너뜀)
+     */
+    private List<Post> findPostsInOrder(List<Long> postIds) {
+        if (postIds.isEmpty()) {
+            return Collections.emptyList();
         }
-        
-        List<PostResponse> postResponses = posts.stream().map(this::convertToResponse).toList();
-        
-        // 다음 커서 정보 생성
-        Map<String, Object> nextCursor = null;
-        if (!posts.isEmpty() && posts.size() == limit) {
-            Post lastPost = posts.get(posts.size() - 1);
-            nextCursor = Map.of(
-                "createdAt", lastPost.getCreatedAt(),
-                "id", lastPost.getId()
-            );
+        Map<Long, Post> postsById = postRepository.findAllByIdInWithUser(postIds).stream()
+                .collect(Collectors.toMap(Post::getId, Function.identity()));
+        return postIds.stream()
+                .map(postsById::get)
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    private CursorPage<PostResponse> withCommentPreviews(CursorPage<PostResponse> page, int comments) {
+        attachCommentPreviews(page.getItems(), Math.min(comments, MAX_FEED_COMMENT_PREVIEWS));
+        return page;
+    }
+
+    /**
+     * 게시글별 최신 댓글 미리보기를 작성자와 함께 쿼리 한 번으로 채움 (게시글당 perPost개까지)
+     */
+    private void attachCommentPreviews(List<PostResponse> responses, int perPost) {
+        if (responses.isEmpty() || perPost <= 0) {
+            return;
+        }
+        Map<Long, PostResponse> responsesById = responses.stream()
+                .collect(Collectors.toMap(PostResponse::getId, Function.identity()));
+        for (Object[] row : commentRepository.findLatestCommentsByPostIds(responsesById.keySet(), perPost)) {
+            CommentResponse comment = new CommentResponse();
+            comment.setId(NativeRows.toLong(row[0]));
+            comment.setPostId(NativeRows.toLong(row[1]));
+            comment.setContent((String) row[2]);
+            comment.setCreatedAt(NativeRows.toLocalDateTime(row[3]));
+            comment.setUpdatedAt(NativeRows.toLocalDateTime(row[4]));
+            comment.setUsername((String) row[5]);
+            comment.setNickname((String) row[6]);
+            responsesById.get(comment.getPostId()).getComments().add(comment);
         }
-        
-        return Map.of(
-            "posts", postResponses,
-            "nextCursor", nextCursor
-        );
     }
 
     @Transactional(readOnly = true)
     public Page<PostResponse> searchPosts(String keyword, int page, int size) {
-        Page<Post> posts = postRepository.searchByTitleOrContent(keyword, PageRequest.of(page, size));
-        return posts.map(this::convertToResponse);
+        if (page < 0) {
+            throw new PostException.InvalidInputException("페이지 번호는 0 이상이어야 합니다.");
+        }
+        size = Cursor.limit(size);
+        // 역색인에서 BM25 순으로 ID만 얻은 뒤 해당 게시글만 조회
+        InvertedIndex.Hits hits = searchService.search(keyword, page, size);
+        List<PostResponse> responses = convertToResponses(findPostsInOrder(hits.ids()));
+
+        Set<String> terms = searchService.queryTerms(keyword);
+        for (PostResponse response : responses) {
+            response.setTitleHighlight(searchService.highlightTitle(response.getTitle(), terms));
+            response.setContentHighlight(searchService.highlightContent(response.getContent(), terms));
+        }
+        return new PageImpl<>(responses, PageRequest.of(page, size), hits.total());
     }
 
     private PostResponse convertToResponse(Post post) {
+        return convertToResponses(List.of(post)).get(0);
+    }
+
+    private Page<PostResponse> convertToResponses(Page<Post> posts) {
+        return new PageImpl<>(convertToResponses(posts.getContent()), posts.getPageable(), posts.getTotalElements());
+    }
+
+    /**
+     * 페이지 단위 응답 변환
+     * 반응 수는 posts 테이블의 비정규화 컬럼 + 아직 반영되지 않은 변경분으로 채움 (추가 쿼리 없음)
+     */
+    private List<PostResponse> convertToResponses(List<Post> posts) {
+        List<PostResponse> responses = new ArrayList<>(posts.size());
+        for (Post post : posts) {
+            PostResponse response = buildResponse(post);
+            response.setLikeCount(post.getLikeCount() + counterService.pendingDelta(post.getId(), Counter.LIKE));
+            response.setBookmarkCount(post.getBookmarkCount() + counterService.pendingDelta(post.getId(), Counter.BOOKMARK));
+            response.setCommentCount(post.getCommentCount() + counterService.pendingDelta(post.getId(), Counter.COMMENT));
+            responses.add(response);
+        }
+        return responses;
+    }
+
+    private PostResponse buildResponse(Post post) {
         PostResponse response = new PostResponse();
         response.setId(post.getId());
         response.setTitle(post.getTitle());
@@ -311,28 +517,24 @@ public class PostService {
         response.setCreatedAt(post.getCreatedAt());
         response.setUpdatedAt(post.getUpdatedAt());
         
-        // 좋아요 및 북마크 수 추가
-        response.setLikeCount(likeRepository.countByPost(post));
-        response.setBookmarkCount(bookmarkRepository.countByPost(post));
-        
-        // 게시물 목록에서는 대부분 댓글이 아직 로드되지 않았을 것임 (Lazy Loading)
-        // 댓글이 존재하는지 확인하고 로드된 경우에만 처리
-        if (post.getComments() != null && !post.getComments().isEmpty()) {
-            response.setComments(post.getComments().stream()
-                    .map(comment -> {
-                        CommentResponse commentResponse = new CommentResponse();
-                        commentResponse.setId(comment.getId());
-                        commentResponse.setContent(comment.getContent());
-                        commentResponse.setUsername(comment.getUser().getUsername());
-                        commentResponse.setCreatedAt(comment.getCreatedAt());
-                        commentResponse.setUpdatedAt(comment.getUpdatedAt());
-                        return commentResponse;
-                    })
-                    .collect(java.util.stream.Collectors.toList()));
-        } else {
-            response.setComments(new ArrayList<>());
-        }
-        
+        // 댓글 컬렉션은 건드리지 않음 (상세는 첫 페이지, 목록은 미리보기를 별도 쿼리로 채움)
+        response.setComments(new ArrayList<>());
+        return response;
+    }
+
+    private CommentResponse convertToCommentResponse(Comment comment) {
+        CommentResponse response = new CommentResponse();
+        response.setId(comment.getId());
+        response.setContent(comment.getContent());
+        response.setUsername(comment.getUser().getUsername());
+        response.setNickname(comment.getUser().getNickname());
+        response.setCreatedAt(comment.getCreatedAt());
+        response.setUpdatedAt(comment.getUpdatedAt());
+        response.setPostId(comment.getPost().getId());
+        response.setParentId(comment.getParentId());
+        response.setRootId(comment.getRootId());
+        response.setDepth(comment.getDepth());
+        response.setReplyCount(comment.getReplyCount());
         return response;
     }
 } 
\ No newline at end of file
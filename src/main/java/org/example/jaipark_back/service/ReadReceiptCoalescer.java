@@ -0,0 +1,75 @@
+package org.example.jaipark_back.service;
+
+import org.example.jaipark_back.dto.ChatEvent;
+import org.example.jaipark_back.entity.ChatRoom;
+import org.example.jaipark_back.repository.ChatRoomRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 읽음 확인 이벤트 묶음 전송
+ * - 읽음 처리가 커밋되면 (채팅방, 읽은 사용자)만 기록하고, 짧은 주기마다 채팅방별로 한 번만 전송
+ * - 전송 시점의 최신 읽은 위치를 채팅방 일괄 조회로 읽으므로 그 사이 여러 번 읽어도 마지막 위치 하나만 나감
+ */
+@Component
+public class ReadReceiptCoalescer {
+    private static final String CHAT_READ_TOPIC = "chat-read";
+
+    @Autowired
+    private ChatRoomRepository chatRoomRepository;
+
+    @Autowired
+    private KafkaTemplate<String, ChatEvent> kafkaTemplate;
+
+    private record Pending(String chatRoomId, String readerId) {
+    }
+
+    private final Set<Pending> pending = ConcurrentHashMap.newKeySet();
+
+    /**
+     * 현재 트랜잭션이 커밋된 뒤 읽음 확인 예약
+     */
+    public void schedule(String chatRoomId, String readerId) {
+        AfterCommit.run(() -> pending.add(new Pending(chatRoomId, readerId)));
+    }
+
+    @Scheduled(fixedDelayString = "${chat.read-receipt-window-ms:500}")
+    public void flush() {
+        if (pending.isEmpty()) {
+            return;
+        }
+        List<Pending> batch = new ArrayList<>();
+        for (Iterator<Pending> it = pending.iterator(); it.hasNext(); ) {
+            batch.add(it.next());
+            it.remove();
+        }
+
+        Set<String> chatRoomIds = new HashSet<>();
+        batch.forEach(receipt -> chatRoomIds.add(receipt.chatRoomId()));
+        Map<String, ChatRoom> chatRooms = new HashMap<>();
+        chatRoomRepository.findAllById(chatRoomIds).forEach(chatRoom -> chatRooms.put(chatRoom.getId(), chatRoom));
+
+        for (Pending receipt : batch) {
+            ChatRoom chatRoom = chatRooms.get(receipt.chatRoomId());
+            if (chatRoom == null) {
+                continue;
+            }
+            String readerId = receipt.readerId();
+            String otherUserId = chatRoom.getUser1Id().equals(readerId) ? chatRoom.getUser2Id() : chatRoom.getUser1Id();
+            ChatEvent readEvent = ChatEvent.readEvent(readerId, otherUserId, chatRoom.getId(),
+                    chatRoom.getLastReadMessageId(readerId));
+            kafkaTemplate.send(CHAT_READ_TOPIC, otherUserId, readEvent);
+        }
+    }
+}
@@ -0,0 +1,245 @@
+package org.example.jaipark_back.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PostConstruct;
+import org.example.jaipark_back.dto.PostCreatedEvent;
+import org.example.jaipark_back.repository.FollowRepository;
+import org.example.jaipark_back.repository.PostRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * 팔로잉 피드용 홈 타임라인 저장소 (fan-out-on-write)
+ * - 게시글 작성이 커밋되면 팔로워별 타임라인에 (게시글 ID, 작성자 ID)를 밀어 넣음
+ * - 팔로워가 많은 계정은 팬아웃하지 않고 읽는 시점에 병합
+ * - 타임라인은 사용자별로 최대 크기가 제한되며, 처음 조회할 때 DB에서 한 번 구성함
+ * - 보관하는 타임라인 수와 미사용 기간을 제한하고, 밀려난 타임라인은 다음 조회 때 다시 구성
+ * - 팔로우 중인 병합 대상 계정도 타임라인과 함께 보관해 조회마다 팔로잉 목록을 읽지 않음
+ */
+@Service
+public class TimelineService {
+    private static final Logger logger = LoggerFactory.getLogger(TimelineService.class);
+
+    @Autowired
+    private FollowRepository followRepository;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Value("${timeline.max-size:800}")
+    private int maxSize;
+
+    @Value("${timeline.celebrity-threshold:10000}")
+    private long celebrityThreshold;
+
+    @Value("${timeline.max-users:100000}")
+    private long maxUsers;
+
+    @Value("${timeline.expire-minutes:60}")
+    private long expireMinutes;
+
+    private Cache<Long, Timeline> timelines;
+
+    // 읽기 시점 병합 대상 계정 ID
+    private final Set<Long> celebrityIds = ConcurrentHashMap.newKeySet();
+
+    @PostConstruct
+    public void init() {
+        timelines = Caffeine.newBuilder()
+                .maximumSize(maxUsers)
+                .expireAfterAccess(Duration.ofMinutes(expireMinutes))
+                .build();
+    }
+
+    /**
+     * 팔로워 수가 많은 계정 목록을 기동 시 적재하고 주기적으로 다시 계산
+     * (다른 노드에서 생긴 팔로우/언팔로우도 여기서 반영됨)
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${timeline.celebrity-refresh-ms:600000}",
+            fixedDelayString = "${timeline.celebrity-refresh-ms:600000}")
+    public void refreshCelebrities() {
+        Set<Long> current = new HashSet<>(followRepository.findUserIdsWithFollowersAtLeast(celebrityThreshold));
+        for (Long accountId : List.copyOf(celebrityIds)) {
+            if (!current.contains(accountId)) {
+                demote(accountId);
+            }
+        }
+        for (Long accountId : current) {
+            promote(accountId);
+        }
+        logger.info("Loaded {} read-time merged accounts for timelines", celebrityIds.size());
+    }
+
+    /**
+     * 게시글 생성 커밋 후 팔로워 타임라인으로 팬아웃
+     */
+    @Async
+    @TransactionalEventListener
+    public void onPostCreated(PostCreatedEvent event) {
+        if (celebrityIds.contains(event.getAuthorId())) {
+            return;
+        }
+        // 이미 구성된 타임라인에만 반영 (구성되지 않은 타임라인은 첫 조회 시 DB에서 만들어짐)
+        // compute는 같은 사용자의 구성 중인 타임라인이 적재될 때까지 기다린 뒤 반영하므로,
+        // 구성용 조회 이후 커밋된 게시글도 빠지지 않음
+        for (Long followerId : followRepository.findFollowerIds(event.getAuthorId())) {
+            timelines.asMap().compute(followerId, (id, timeline) -> {
+                if (timeline != null) {
+                    push(timeline.posts, event.getPostId(), event.getAuthorId());
+                }
+                return timeline;
+            });
+        }
+    }
+
+    /**
+     * 팔로우 시 대상 사용자의 최근 게시글로 타임라인을 채움
+     */
+    public void onFollow(Long followerId, Long followingId) {
+        if (followRepository.countByFollowingId(followingId) >= celebrityThreshold) {
+            promote(followingId);
+        }
+        timelines.asMap().compute(followerId, (id, timeline) -> {
+            if (timeline == null) {
+                return null;
+            }
+            if (celebrityIds.contains(followingId)) {
+                timeline.mergedAuthors.add(followingId);
+            } else {
+                for (Object[] ref : postRepository.findRecentPostRefsByUserIds(List.of(followingId), maxSize)) {
+                    push(timeline.posts, (Long) ref[0], (Long) ref[1]);
+                }
+            }
+            return timeline;
+        });
+    }
+
+    /**
+     * 언팔로우 시 대상 사용자의 게시글을 타임라인에서 제거하고,
+     * 팔로워 수가 기준 아래로 내려간 계정은 읽기 시점 병합 대상에서 제외
+     */
+    public void onUnfollow(Long followerId, Long followingId) {
+        timelines.asMap().compute(followerId, (id, timeline) -> {
+            if (timeline != null) {
+                timeline.mergedAuthors.remove(followingId);
+                timeline.posts.values().removeIf(authorId -> authorId.equals(followingId));
+            }
+            return timeline;
+        });
+        if (celebrityIds.contains(followingId)
+                && followRepository.countByFollowingId(followingId) < celebrityThreshold) {
+            demote(followingId);
+        }
+    }
+
+    /**
+     * 읽기 시점 병합 대상으로 전환 (팔로워 타임라인의 병합 대상 목록이 바뀌므로 버리고 다시 구성)
+     */
+    private void promote(Long accountId) {
+        // 기동 직후처럼 보관 중인 타임라인이 없으면 팔로워 조회 생략
+        if (celebrityIds.add(accountId) && timelines.estimatedSize() > 0) {
+            timelines.invalidateAll(followRepository.findFollowerIds(accountId));
+        }
+    }
+
+    /**
+     * 읽기 시점 병합 대상에서 제외 (팔로워 타임라인에는 이 계정 게시글이 없으므로 버리고 다시 구성)
+     */
+    private void demote(Long accountId) {
+        if (celebrityIds.remove(accountId)) {
+            timelines.invalidateAll(followRepository.findFollowerIds(accountId));
+        }
+    }
+
+    /**
+     * 타임라인 한 페이지의 게시글 ID를 최신순으로 반환
+     * @param userId 조회하는 사용자 ID
+     * @param lastPostId 마지막으로 조회한 게시글 ID (첫 페이지면 null)
+     * @param limit 페이지 크기 (타임라인 최대 크기로 제한)
+     */
+    public List<Long> getTimelinePage(Long userId, Long lastPostId, int limit) {
+        limit = Math.min(limit, maxSize);
+        Timeline timeline = timelines.get(userId, this::buildTimeline);
+        NavigableMap<Long, Long> window = lastPostId == null ? timeline.posts : timeline.posts.tailMap(lastPostId, false);
+
+        TreeSet<Long> merged = new TreeSet<>(Comparator.reverseOrder());
+        for (Long postId : window.keySet()) {
+            if (merged.size() >= limit) {
+                break;
+            }
+            merged.add(postId);
+        }
+
+        // 팔로워가 많은 계정의 게시글은 읽는 시점에 병합
+        if (!timeline.mergedAuthors.isEmpty()) {
+            merged.addAll(postRepository.findPostIdsByUserIdsBeforeId(
+                    List.copyOf(timeline.mergedAuthors), lastPostId == null ? Long.MAX_VALUE : lastPostId, limit));
+        }
+
+        List<Long> page = new ArrayList<>();
+        for (Long postId : merged) {
+            if (page.size() >= limit) {
+                break;
+            }
+            page.add(postId);
+        }
+        return page;
+    }
+
+    private Timeline buildTimeline(Long userId) {
+        Timeline timeline = new Timeline();
+        List<Long> followingIds = new ArrayList<>();
+        for (Long followingId : followRepository.findFollowingIds(userId)) {
+            if (celebrityIds.contains(followingId)) {
+                timeline.mergedAuthors.add(followingId);
+            } else {
+                followingIds.add(followingId);
+            }
+        }
+        if (!followingIds.isEmpty()) {
+            for (Object[] ref : postRepository.findRecentPostRefsByUserIds(followingIds, maxSize)) {
+                timeline.posts.put((Long) ref[0], (Long) ref[1]);
+            }
+        }
+        return timeline;
+    }
+
+    private void push(NavigableMap<Long, Long> timeline, Long postId, Long authorId) {
+        timeline.put(postId, authorId);
+        // 오래된 항목부터 잘라 최대 크기 유지
+        while (timeline.size() > maxSize) {
+            timeline.pollLastEntry();
+        }
+    }
+
+    /**
+     * 사용자 한 명의 홈 타임라인
+     */
+    private static class Timeline {
+        // 게시글 ID 내림차순 -> 작성자 ID
+        private final NavigableMap<Long, Long> posts = new ConcurrentSkipListMap<>(Comparator.reverseOrder());
+        // 팔로우 중인 읽기 시점 병합 대상 계정 ID
+        private final Set<Long> mergedAuthors = ConcurrentHashMap.newKeySet();
+    }
+}
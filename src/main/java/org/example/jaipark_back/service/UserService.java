@@ -1,30 +1,52 @@
 package org.example.jaipark_back.service;
 
 import lombok.RequiredArgsConstructor;
+import org.example.jaipark_back.dto.CursorPage;
 import org.example.jaipark_back.dto.SignupRequest;
 import org.example.jaipark_back.entity.User;
+import org.example.jaipark_back.graph.FollowGraph;
+import org.example.jaipark_back.graph.FollowGraphSync;
+import org.example.jaipark_back.graph.FollowSuggestionService;
 import org.example.jaipark_back.repository.UserRepository;
+import org.example.jaipark_back.search.UserSearchService;
+import org.example.jaipark_back.security.PrincipalCache;
+import org.example.jaipark_back.security.TokenEpochService;
+import org.example.jaipark_back.util.Cursor;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.example.jaipark_back.dto.UserUpdateRequest;
 import org.example.jaipark_back.dto.PasswordChangeRequest;
 import org.example.jaipark_back.dto.UserResponse;
+import org.example.jaipark_back.dto.UserSuggestionResponse;
+import org.example.jaipark_back.dto.UserSummaryResponse;
 import java.util.Optional;
 import org.springframework.transaction.annotation.Transactional;
 import org.example.jaipark_back.entity.Follow;
 import org.example.jaipark_back.repository.FollowRepository;
 import java.util.stream.Collectors;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import org.example.jaipark_back.dto.NotificationEvent;
 import org.example.jaipark_back.service.NotificationProducer;
 
 @Service
 @RequiredArgsConstructor
 public class UserService {
+    private static final int MAX_SUGGESTIONS = 50;
+
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
     private final FollowRepository followRepository;
     private final NotificationProducer notificationProducer;
+    private final TimelineService timelineService;
+    private final UserSearchService userSearchService;
+    private final FollowGraph followGraph;
+    private final FollowGraphSync followGraphSync;
+    private final FollowSuggestionService followSuggestionService;
+    private final PrincipalCache principalCache;
+    private final TokenEpochService tokenEpochService;
 
     public User createUser(SignupRequest signupRequest) {
         if (userRepository.existsByUsername(signupRequest.getUsername())) {
@@ -43,7 +65,9 @@ public class UserService {
         user.setGender(signupRequest.getGender());
         user.setBirth(signupRequest.getBirth());
 
-        return userRepository.save(user);
+        User savedUser = userRepository.save(user);
+        userSearchService.indexUser(savedUser);
+        return savedUser;
     }
 
     @Transactional
@@ -53,6 +77,8 @@ public class UserService {
         if (request.getEmail() != null) user.setEmail(request.getEmail());
         if (request.getProfileImage() != null) user.setProfileImage(request.getProfileImage());
         userRepository.save(user);
+        userSearchService.indexUser(user);
+        principalCache.invalidate(username);
         return convertToResponse(user);
     }
 
@@ -64,6 +90,17 @@ public class UserService {
         }
         user.setPassword(passwordEncoder.encode(request.getNewPassword()));
         userRepository.save(user);
+        principalCache.invalidate(username);
+        // 기존 토큰 전부 폐기 (비밀번호 변경이 먼저 flush된 뒤 epoch 증가)
+        tokenEpochService.revokeAll(user.getId());
+    }
+
+    /**
+     * 모든 기기에서 로그아웃 (지금까지 발급된 토큰 전부 폐기)
+     */
+    @Transactional
+    public void logoutEverywhere(Long userId) {
+        tokenEpochService.revokeAll(userId);
     }
 
     public UserResponse getMe(String username) {
@@ -71,6 +108,11 @@ public class UserService {
         return convertToResponse(user);
     }
 
+    // 사용자 검색 (접두사 자동완성 + 오타 허용)
+    public List<UserResponse> searchUsers(String query, int limit) {
+        return userSearchService.search(query, limit);
+    }
+
     public UserResponse getPublicProfile(String username) {
         User user = userRepository.findByUsername(username)
             .orElseThrow(() -> new RuntimeException("해당 사용자를 찾을 수 없습니다."));
@@ -84,23 +126,33 @@ public class UserService {
         response.setEmail(user.getEmail());
         response.setProfileImage(user.getProfileImage());
         response.setNickname(user.getNickname());
-        // 팔로워/팔로잉 수
-        response.setFollowerCount(followRepository.countByFollowing(user));
-        response.setFollowingCount(followRepository.countByFollower(user));
-        // 팔로워/팔로잉 목록
-        response.setFollowers(followRepository.findByFollowing(user).stream().map(f -> convertToSimpleUserResponse(f.getFollower())).collect(java.util.stream.Collectors.toList()));
-        response.setFollowings(followRepository.findByFollower(user).stream().map(f -> convertToSimpleUserResponse(f.getFollowing())).collect(java.util.stream.Collectors.toList()));
+        // 팔로워/팔로잉 수 (목록은 별도 키셋 API로 조회)
+        response.setFollowerCount(followerCount(user.getId()));
+        response.setFollowingCount(followingCount(user.getId()));
         return response;
     }
 
-    // 팔로워/팔로잉 목록용(재귀 방지)
-    private UserResponse convertToSimpleUserResponse(User user) {
-        UserResponse response = new UserResponse();
-        response.setId(user.getId());
-        response.setUsername(user.getUsername());
-        response.setNickname(user.getNickname());
-        response.setProfileImage(user.getProfileImage());
-        return response;
+    // 팔로워/팔로잉 목록용 요약 (조회자의 팔로우 여부는 페이지 단위로 한 번에 조회)
+    private List<UserSummaryResponse> convertToSummaries(List<User> users, Long viewerId) {
+        Set<Long> followed;
+        if (users.isEmpty()) {
+            followed = Set.of();
+        } else if (followGraph.isReady()) {
+            followed = users.stream().map(User::getId)
+                .filter(id -> followGraph.follows(viewerId, id)).collect(Collectors.toSet());
+        } else {
+            followed = new HashSet<>(followRepository.findFollowingIdsAmong(
+                viewerId, users.stream().map(User::getId).collect(Collectors.toList())));
+        }
+        return users.stream().map(user -> {
+            UserSummaryResponse summary = new UserSummaryResponse();
+            summary.setId(user.getId());
+            summary.setUsername(user.getUsername());
+            summary.setNickname(user.getNickname());
+            summary.setProfileImage(user.getProfileImage());
+            summary.setFollowedByMe(followed.contains(user.getId()));
+            return summary;
+        }).collect(Collectors.toList());
     }
 
     // 팔로우
@@ -114,6 +166,12 @@ public class UserService {
         follow.setFollower(follower);
         follow.setFollowing(following);
         followRepository.save(follow);
+        AfterCommit.run(() -> {
+            followGraphSync.publish(follower.getId(), following.getId(), true);
+            followSuggestionService.onFollow(follower.getId(), following.getId());
+        });
+        // 홈 타임라인에 대상 사용자의 최근 게시글 반영
+        timelineService.onFollow(follower.getId(), following.getId());
         // 팔로우 당한 사용자에게 알림
         NotificationEvent event = new NotificationEvent();
         event.setUsername(following.getUsername());
@@ -128,39 +186,105 @@ public class UserService {
     public void unfollow(String followerUsername, String followingUsername) {
         User follower = userRepository.findByUsername(followerUsername).orElseThrow();
         User following = userRepository.findByUsername(followingUsername).orElseThrow();
-        followRepository.deleteByFollowerAndFollowing(follower, following);
+        if (followRepository.deleteByFollowerAndFollowing(follower, following) > 0) {
+            AfterCommit.run(() -> {
+                followGraphSync.publish(follower.getId(), following.getId(), false);
+                followSuggestionService.onUnfollow(follower.getId(), following.getId());
+            });
+        }
+        // 홈 타임라인에서 대상 사용자의 게시글 제거
+        timelineService.onUnfollow(follower.getId(), following.getId());
     }
 
-    // 팔로잉 목록
-    public List<UserResponse> getFollowing(String username) {
-        User user = userRepository.findByUsername(username).orElseThrow();
-        return followRepository.findByFollower(user).stream()
-            .map(f -> convertToResponse(f.getFollowing()))
-            .collect(Collectors.toList());
+    // 팔로잉 목록 (커서는 팔로우 ID, 페이지당 쿼리 2번)
+    @Transactional(readOnly = true)
+    public CursorPage<UserSummaryResponse> getFollowing(String username, Long viewerId, String cursor, int limit) {
+        Long userId = userId(username);
+        int size = Cursor.limit(limit);
+        List<Follow> follows = followRepository.findFollowingsBeforeId(userId, Cursor.lastId(cursor), size + 1);
+        return CursorPage.of(follows, size, f -> Cursor.encode(f.getId()),
+            page -> convertToSummaries(page.stream().map(Follow::getFollowing).collect(Collectors.toList()), viewerId));
     }
 
-    // 팔로워 목록
-    public List<UserResponse> getFollowers(String username) {
-        User user = userRepository.findByUsername(username).orElseThrow();
-        return followRepository.findByFollowing(user).stream()
-            .map(f -> convertToResponse(f.getFollower()))
-            .collect(Collectors.toList());
+    // 팔로워 목록 (커서는 팔로우 ID, 페이지당 쿼리 2번)
+    @Transactional(readOnly = true)
+    public CursorPage<UserSummaryResponse> getFollowers(String username, Long viewerId, String cursor, int limit) {
+        Long userId = userId(username);
+        int size = Cursor.limit(limit);
+        List<Follow> follows = followRepository.findFollowersBeforeId(userId, Cursor.lastId(cursor), size + 1);
+        return CursorPage.of(follows, size, f -> Cursor.encode(f.getId()),
+            page -> convertToSummaries(page.stream().map(Follow::getFollower).collect(Collectors.toList()), viewerId));
     }
 
-    // 팔로우 여부
+
+    // 팔로우 여부 (그래프 적재 전에는 DB 조회)
     public boolean isFollowing(String followerUsername, String followingUsername) {
-        User follower = userRepository.findByUsername(followerUsername).orElseThrow();
-        User following = userRepository.findByUsername(followingUsername).orElseThrow();
-        return followRepository.existsByFollowerAndFollowing(follower, following);
+        return isFollowing(userId(followerUsername), userId(followingUsername));
     }
 
     // 팔로잉/팔로워 수
     public long countFollowing(String username) {
-        User user = userRepository.findByUsername(username).orElseThrow();
-        return followRepository.countByFollower(user);
+        return followingCount(userId(username));
     }
     public long countFollowers(String username) {
-        User user = userRepository.findByUsername(username).orElseThrow();
-        return followRepository.countByFollowing(user);
+        return followerCount(userId(username));
+    }
+
+    // 팔로우 여부와 카운트를 한 번에 (조회자 ID는 인증 정보에서 받음)
+    public Map<String, Object> getFollowStatus(Long viewerId, String username) {
+        Long userId = userId(username);
+        boolean following = viewerId != null && isFollowing(viewerId, userId);
+        return Map.of(
+            "isFollowing", following,
+            "followingCount", followingCount(userId),
+            "followerCount", followerCount(userId)
+        );
+    }
+
+    // 알 수도 있는 사람 (친구의 친구, 겹치는 팔로잉 수 순)
+    @Transactional(readOnly = true)
+    public List<UserSuggestionResponse> getSuggestions(Long userId, int limit) {
+        List<FollowSuggestionService.Suggestion> suggestions =
+            followSuggestionService.suggest(userId, Math.min(Math.max(limit, 1), MAX_SUGGESTIONS));
+        if (suggestions.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, User> users = userRepository.findAllById(
+                suggestions.stream().map(FollowSuggestionService.Suggestion::userId).collect(Collectors.toList()))
+            .stream().collect(Collectors.toMap(User::getId, user -> user));
+        return suggestions.stream()
+            .filter(suggestion -> users.containsKey(suggestion.userId()))
+            .map(suggestion -> {
+                User user = users.get(suggestion.userId());
+                UserSuggestionResponse response = new UserSuggestionResponse();
+                response.setId(user.getId());
+                response.setUsername(user.getUsername());
+                response.setNickname(user.getNickname());
+                response.setProfileImage(user.getProfileImage());
+                response.setMutualCount(suggestion.mutualCount());
+                return response;
+            })
+            .collect(Collectors.toList());
+    }
+
+    private Long userId(String username) {
+        return userRepository.findIdByUsername(username).orElseThrow();
+    }
+
+    private boolean isFollowing(Long followerId, Long followingId) {
+        if (followGraph.isReady()) {
+            return followGraph.follows(followerId, followingId);
+        }
+        return followRepository.existsByFollowerAndFollowing(userRepository.getReferenceById(followerId),
+            userRepository.getReferenceById(followingId));
+    }
+
+    private long followingCount(Long userId) {
+        return followGraph.isReady() ? followGraph.followingCount(userId)
+            : followRepository.countByFollower(userRepository.getReferenceById(userId));
+    }
+
+    private long followerCount(Long userId) {
+        return followGraph.isReady() ? followGraph.followerCount(userId) : followRepository.countByFollowingId(userId);
     }
 } 
\ No newline at end of file
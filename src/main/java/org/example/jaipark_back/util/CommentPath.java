@@ -0,0 +1,63 @@
+package org.example.jaipark_back.util;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 댓글 스레드의 materialized path
+ * - 루트부터 자기 자신까지의 댓글 ID를 고정폭 base36(8자리) + '.'으로 이어 붙임 (예: "0000002s.0000003a.")
+ * - 고정폭이라 문자열 순서 = 스레드의 깊이 우선 순서이고, 서브트리는 접두사 범위 조회 한 번으로 읽힘
+ */
+public final class CommentPath {
+    private static final int SEGMENT_WIDTH = 8;
+    private static final char SEPARATOR = '.';
+
+    // path 컬럼 길이(760) 안에 들어가는 최대 깊이
+    public static final int MAX_DEPTH = 64;
+
+    private CommentPath() {
+    }
+
+    public static String root(long id) {
+        return segment(id);
+    }
+
+    public static String child(String parentPath, long id) {
+        return parentPath + segment(id);
+    }
+
+    /**
+     * 경로에 포함된 댓글 ID (루트부터 자기 자신까지)
+     */
+    public static List<Long> ids(String path) {
+        List<Long> ids = new ArrayList<>();
+        for (int start = 0; start < path.length(); start += SEGMENT_WIDTH + 1) {
+            ids.add(Long.parseLong(path.substring(start, start + SEGMENT_WIDTH), 36));
+        }
+        return ids;
+    }
+
+    /**
+     * 상위 댓글 ID (루트부터 부모까지, 자기 자신 제외)
+     */
+    public static List<Long> ancestorIds(String path) {
+        List<Long> ids = ids(path);
+        return ids.subList(0, ids.size() - 1);
+    }
+
+    public static String fromIds(long[] ids) {
+        StringBuilder path = new StringBuilder();
+        for (long id : ids) {
+            path.append(segment(id));
+        }
+        return path.toString();
+    }
+
+    private static String segment(long id) {
+        String encoded = Long.toString(id, 36);
+        if (encoded.length() > SEGMENT_WIDTH) {
+            throw new IllegalArgumentException("Comment id too large for path: " + id);
+        }
+        return "0".repeat(SEGMENT_WIDTH - encoded.length()) + encoded + SEPARATOR;
+    }
+}
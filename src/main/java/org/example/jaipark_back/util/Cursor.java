@@ -0,0 +1,98 @@
+package org.example.jaipark_back.util;
+
+import org.example.jaipark_back.exception.InvalidCursorException;
+
+import java.nio.ByteBuffer;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Base64;
+
+/**
+ * 키셋 페이지네이션용 불투명 커서 토큰
+ * - 정렬 키(long 값들)를 [버전 1바이트 + 키 8바이트씩]으로 묶어 URL-safe Base64로 인코딩
+ * - 시간 키는 UTC 기준 epoch 나노초로 변환해 담음
+ */
+public final class Cursor {
+    private static final byte VERSION = 1;
+    private static final int DEFAULT_LIMIT = 20;
+    private static final int MAX_LIMIT = 100;
+
+    private Cursor() {
+    }
+
+    public static String encode(long... keys) {
+        ByteBuffer buffer = ByteBuffer.allocate(1 + Long.BYTES * keys.length);
+        buffer.put(VERSION);
+        for (long key : keys) {
+            buffer.putLong(key);
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(buffer.array());
+    }
+
+    /**
+     * 토큰을 정렬 키로 복원 (토큰이 없으면 null)
+     */
+    public static long[] decode(String token, int keyCount) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+        byte[] bytes;
+        try {
+            bytes = Base64.getUrlDecoder().decode(token);
+        } catch (IllegalArgumentException e) {
+            throw new InvalidCursorException();
+        }
+        if (bytes.length != 1 + Long.BYTES * keyCount || bytes[0] != VERSION) {
+            throw new InvalidCursorException();
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(bytes, 1, bytes.length - 1);
+        long[] keys = new long[keyCount];
+        for (int i = 0; i < keyCount; i++) {
+            keys[i] = buffer.getLong();
+        }
+        return keys;
+    }
+
+    /**
+     * 키 개수가 정해지지 않은 토큰 복원 (토큰이 없으면 null)
+     */
+    public static long[] decodeAll(String token) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+        int keyCount;
+        try {
+            keyCount = (Base64.getUrlDecoder().decode(token).length - 1) / Long.BYTES;
+        } catch (IllegalArgumentException e) {
+            throw new InvalidCursorException();
+        }
+        return decode(token, keyCount);
+    }
+
+    /**
+     * ID 하나로 이루어진 커서의 마지막 ID (첫 페이지면 Long.MAX_VALUE)
+     */
+    public static long lastId(String token) {
+        long[] keys = decode(token, 1);
+        return keys == null ? Long.MAX_VALUE : keys[0];
+    }
+
+    public static long timeKey(LocalDateTime time) {
+        return time.toEpochSecond(ZoneOffset.UTC) * 1_000_000_000L + time.getNano();
+    }
+
+    public static LocalDateTime fromTimeKey(long key) {
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(key, 1_000_000_000L),
+                (int) Math.floorMod(key, 1_000_000_000L), ZoneOffset.UTC);
+    }
+
+    /**
+     * 페이지 크기를 1 ~ MAX_LIMIT 범위로 제한
+     */
+    public static int limit(int requested) {
+        if (requested <= 0) {
+            return DEFAULT_LIMIT;
+        }
+        return Math.min(requested, MAX_LIMIT);
+    }
+}
@@ -0,0 +1,23 @@
+package org.example.jaipark_back.util;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+
+/**
+ * 네이티브 쿼리 결과(Object[]) 값 변환 헬퍼 (드라이버/방언에 따라 타입이 달라지는 값 처리)
+ */
+public final class NativeRows {
+    private NativeRows() {
+    }
+
+    public static Long toLong(Object value) {
+        return value == null ? null : ((Number) value).longValue();
+    }
+
+    public static LocalDateTime toLocalDateTime(Object value) {
+        if (value instanceof Timestamp timestamp) {
+            return timestamp.toLocalDateTime();
+        }
+        return (LocalDateTime) value;
+    }
+}
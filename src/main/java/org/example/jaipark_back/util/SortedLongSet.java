@@ -0,0 +1,80 @@
+package org.example.jaipark_back.util;
+
+import java.util.Arrays;
+
+/**
+ * 정렬된 primitive long 배열 기반 집합
+ * - 원소당 8바이트, 박싱 없음, contains는 이진 탐색
+ * - 스레드 안전하지 않으므로 호출 측에서 동기화해야 함
+ */
+public class SortedLongSet {
+    private static final long[] EMPTY = new long[0];
+
+    private long[] values;
+    private int size;
+
+    public SortedLongSet() {
+        this.values = EMPTY;
+    }
+
+    private SortedLongSet(long[] values, int size) {
+        this.values = values;
+        this.size = size;
+    }
+
+    /**
+     * 정렬되지 않은(중복 가능한) 값 배열로 집합 생성
+     */
+    public static SortedLongSet of(long[] unsorted, int length) {
+        long[] copy = Arrays.copyOf(unsorted, length);
+        Arrays.sort(copy);
+        int unique = 0;
+        for (int i = 0; i < copy.length; i++) {
+            if (i == 0 || copy[i] != copy[i - 1]) {
+                copy[unique++] = copy[i];
+            }
+        }
+        return new SortedLongSet(copy, unique);
+    }
+
+    public boolean contains(long value) {
+        return Arrays.binarySearch(values, 0, size, value) >= 0;
+    }
+
+    public boolean add(long value) {
+        int index = Arrays.binarySearch(values, 0, size, value);
+        if (index >= 0) {
+            return false;
+        }
+        int insertAt = -index - 1;
+        if (size == values.length) {
+            values = Arrays.copyOf(values, Math.max(4, size + (size >> 1)));
+        }
+        System.arraycopy(values, insertAt, values, insertAt + 1, size - insertAt);
+        values[insertAt] = value;
+        size++;
+        return true;
+    }
+
+    public boolean remove(long value) {
+        int index = Arrays.binarySearch(values, 0, size, value);
+        if (index < 0) {
+            return false;
+        }
+        System.arraycopy(values, index + 1, values, index, size - index - 1);
+        size--;
+        return true;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public long get(int index) {
+        return values[index];
+    }
+
+    public long[] toArray() {
+        return Arrays.copyOf(values, size);
+    }
+}
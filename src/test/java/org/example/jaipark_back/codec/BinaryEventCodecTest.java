@@ -0,0 +1,132 @@
+package org.example.jaipark_back.codec;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.example.jaipark_back.dto.ChatEvent;
+import org.example.jaipark_back.dto.ChatMessageDto;
+import org.example.jaipark_back.dto.NotificationEvent;
+import org.junit.jupiter.api.Test;
+import org.springframework.kafka.support.serializer.ErrorHandlingDeserializer;
+import org.springframework.kafka.support.serializer.JsonDeserializer;
+import org.springframework.kafka.support.serializer.JsonSerializer;
+import org.springframework.kafka.support.serializer.SerializationUtils;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BinaryEventCodecTest {
+    private static final String TOPIC = "events";
+
+    @Test
+    void chatEventsRoundTripAndAreSmallerThanJson() {
+        ChatMessageDto message = new ChatMessageDto("alice", "bob", "안녕하세요");
+        message.setId(42L);
+        message.setClientMessageId("c-1");
+        List<ChatEvent> events = List.of(
+                ChatEvent.messageEvent("alice", "bob", message),
+                ChatEvent.readEvent("bob", "alice", message.getChatRoomId(), 42L),
+                ChatEvent.typingEvent("alice", "bob", message.getChatRoomId(), true),
+                ChatEvent.onlineStatusEvent("alice", false));
+
+        BinaryEventSerializer<ChatEvent> serializer = new BinaryEventSerializer<>(EventSchemas.CHAT_EVENT);
+        BinaryEventDeserializer<ChatEvent> deserializer = chatDeserializer();
+        JsonSerializer<ChatEvent> jsonSerializer = new JsonSerializer<ChatEvent>().noTypeInfo();
+        for (ChatEvent event : events) {
+            byte[] binary = serializer.serialize(TOPIC, event);
+            assertThat(deserializer.deserialize(TOPIC, binary)).isEqualTo(event);
+            assertThat(binary.length).isLessThan(jsonSerializer.serialize(TOPIC, event).length / 2);
+        }
+    }
+
+    @Test
+    void notificationBatchRoundTrips() {
+        List<NotificationEvent> events = List.of(notification("bob", 2L, 10L), notification("carol", null, null));
+
+        byte[] binary = new BinaryEventSerializer<>(EventSchemas.NOTIFICATION_BATCH).serialize(TOPIC, events);
+        List<NotificationEvent> decoded = batchDeserializer().deserialize(TOPIC, binary);
+
+        assertThat(decoded).hasSize(2);
+        assertThat(decoded.get(0).getUserId()).isEqualTo(2L);
+        assertThat(decoded.get(0).getPostId()).isEqualTo(10L);
+        assertThat(decoded.get(1).getUsername()).isEqualTo("carol");
+        assertThat(decoded.get(1).getUserId()).isNull();
+    }
+
+    @Test
+    void readsJsonWrittenByNodesNotYetUpgraded() {
+        // 이전 버전 프로듀서 설정 그대로 (클래스 이름 타입 헤더 포함)
+        RecordHeaders headers = new RecordHeaders();
+        byte[] json = new JsonSerializer<List<NotificationEvent>>()
+                .serialize(TOPIC, headers, List.of(notification("bob", 2L, 10L)));
+
+        List<NotificationEvent> decoded = batchDeserializer().deserialize(TOPIC, headers, json);
+
+        assertThat(decoded.get(0)).isInstanceOf(NotificationEvent.class);
+        assertThat(decoded.get(0).getUsername()).isEqualTo("bob");
+    }
+
+    @Test
+    void skipsFieldsAddedByNewerWriters() {
+        // 새 버전이 필드 6(문자열), 7(정수), 8(중첩 메시지)을 추가했다고 가정
+        BinaryWriter writer = new BinaryWriter();
+        writer.header(BinaryEventCodec.MAGIC, BinaryEventCodec.VERSION);
+        writer.writeString(1, "bob")
+                .writeString(6, "unknown")
+                .writeLong(7, -5L)
+                .writeMessage(8, notification("x", 1L, 1L), EventSchemas.NOTIFICATION)
+                .writeString(3, "FOLLOW");
+
+        NotificationEvent decoded = BinaryEventCodec.decode(EventSchemas.NOTIFICATION, writer.toByteArray());
+
+        assertThat(decoded.getUsername()).isEqualTo("bob");
+        assertThat(decoded.getType()).isEqualTo("FOLLOW");
+    }
+
+    @Test
+    void rejectsIncompatibleFormatVersion() {
+        byte[] binary = BinaryEventCodec.encode(EventSchemas.NOTIFICATION, notification("bob", 2L, null));
+        binary[1] = (byte) (BinaryEventCodec.VERSION + 1);
+
+        assertThatThrownBy(() -> BinaryEventCodec.decode(EventSchemas.NOTIFICATION, binary))
+                .isInstanceOf(SerializationException.class);
+    }
+
+    @Test
+    void corruptRecordBecomesErrorHeaderInsteadOfThrowing() {
+        byte[] binary = BinaryEventCodec.encode(EventSchemas.NOTIFICATION, notification("bob", 2L, null));
+        binary[1] = (byte) (BinaryEventCodec.VERSION + 1);
+        RecordHeaders headers = new RecordHeaders();
+
+        // 컨슈머 팩토리와 같은 구성 - 실패한 레코드는 에러 핸들러가 건너뛰도록 헤더로 전달
+        ErrorHandlingDeserializer<ChatEvent> deserializer = new ErrorHandlingDeserializer<>(chatDeserializer());
+
+        assertThat(deserializer.deserialize(TOPIC, headers, binary)).isNull();
+        assertThat(headers.lastHeader(SerializationUtils.VALUE_DESERIALIZER_EXCEPTION_HEADER)).isNotNull();
+    }
+
+    private static BinaryEventDeserializer<ChatEvent> chatDeserializer() {
+        return new BinaryEventDeserializer<>(EventSchemas.CHAT_EVENT, new JsonDeserializer<>(ChatEvent.class, false));
+    }
+
+    private static BinaryEventDeserializer<List<NotificationEvent>> batchDeserializer() {
+        BinaryEventDeserializer<List<NotificationEvent>> deserializer = new BinaryEventDeserializer<>(
+                EventSchemas.NOTIFICATION_BATCH,
+                new JsonDeserializer<>(new TypeReference<List<NotificationEvent>>() {}, false));
+        deserializer.configure(Map.of(JsonDeserializer.TRUSTED_PACKAGES, "org.example.jaipark_back.dto"), false);
+        return deserializer;
+    }
+
+    private static NotificationEvent notification(String username, Long userId, Long postId) {
+        NotificationEvent event = new NotificationEvent();
+        event.setUsername(username);
+        event.setUserId(userId);
+        event.setType("COMMENT");
+        event.setMessage(username + "님의 게시글에 댓글이 달렸습니다.");
+        event.setPostId(postId);
+        return event;
+    }
+}
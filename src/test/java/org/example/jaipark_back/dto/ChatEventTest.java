@@ -0,0 +1,58 @@
+package org.example.jaipark_back.dto;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.kafka.support.serializer.JsonDeserializer;
+import org.springframework.kafka.support.serializer.JsonSerializer;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ChatEventTest {
+    private static final String TOPIC = "chat";
+
+    private final JsonSerializer<ChatEvent> serializer = new JsonSerializer<>();
+    private final JsonDeserializer<ChatEvent> deserializer = new JsonDeserializer<>(ChatEvent.class, false);
+
+    @Test
+    void roundTripsEachSubtypeWithTypedData() {
+        ChatMessageDto message = new ChatMessageDto("alice", "bob", "hi");
+        message.setId(7L);
+
+        ChatEvent messageEvent = roundTrip(ChatEvent.messageEvent("alice", "bob", message));
+        ChatEvent readEvent = roundTrip(ChatEvent.readEvent("bob", "alice", message.getChatRoomId(), 7L));
+        ChatEvent typingEvent = roundTrip(ChatEvent.typingEvent("alice", "bob", message.getChatRoomId(), true));
+        ChatEvent offlineEvent = roundTrip(ChatEvent.onlineStatusEvent("alice", false));
+
+        assertThat(messageEvent).isInstanceOf(ChatEvent.MessageEvent.class);
+        assertThat(((ChatEvent.MessageEvent) messageEvent).getData()).isEqualTo(message);
+        assertThat(readEvent).isInstanceOf(ChatEvent.ReadEvent.class);
+        assertThat(((ChatEvent.ReadEvent) readEvent).getData()).isEqualTo(7L);
+        assertThat(typingEvent).isInstanceOf(ChatEvent.TypingEvent.class);
+        assertThat(((ChatEvent.TypingEvent) typingEvent).getData()).isTrue();
+        assertThat(offlineEvent).isInstanceOf(ChatEvent.StatusEvent.class);
+        assertThat(offlineEvent.getType()).isEqualTo("OFFLINE");
+    }
+
+    @Test
+    void readsEventsWrittenInPreviousJsonShape() {
+        // 이전 프로듀서가 보낸 형태 (배열 timestamp, ISO 문자열 timestamp 혼재)
+        String json = "{\"type\":\"MESSAGE\",\"senderId\":\"alice\",\"receiverId\":\"bob\",\"chatRoomId\":\"alice_bob\","
+                + "\"data\":{\"id\":3,\"senderId\":\"alice\",\"receiverId\":\"bob\",\"content\":\"hello\",\"type\":\"TEXT\","
+                + "\"timestamp\":[2025,5,15,11,32,51,957000000],\"read\":false,\"chatRoomId\":\"alice_bob\"},"
+                + "\"timestamp\":\"2025-05-15T11:32:52\"}";
+
+        ChatEvent event = deserializer.deserialize(TOPIC, json.getBytes(StandardCharsets.UTF_8));
+
+        ChatMessageDto message = ((ChatEvent.MessageEvent) event).getData();
+        assertThat(message.getId()).isEqualTo(3L);
+        assertThat(message.getContent()).isEqualTo("hello");
+        assertThat(message.getTimestamp()).isEqualTo(LocalDateTime.of(2025, 5, 15, 11, 32, 51, 957000000));
+        assertThat(event.getTimestamp()).isEqualTo(LocalDateTime.of(2025, 5, 15, 11, 32, 52));
+    }
+
+    private ChatEvent roundTrip(ChatEvent event) {
+        return deserializer.deserialize(TOPIC, serializer.serialize(TOPIC, event));
+    }
+}
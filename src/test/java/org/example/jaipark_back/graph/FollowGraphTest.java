@@ -0,0 +1,110 @@
+package org.example.jaipark_back.graph;
+
+import org.example.jaipark_back.entity.Follow;
+import org.example.jaipark_back.entity.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * follows 테이블에서 그래프를 다시 구성했을 때 DB와 같은 답을 내는지 확인
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect")
+@Import(FollowGraph.class)
+class FollowGraphTest {
+
+    @Autowired
+    private FollowGraph followGraph;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private long alice;
+    private long bob;
+    private long carol;
+    private long dave;
+
+    @BeforeEach
+    void setUp() {
+        User a = persistUser("alice");
+        User b = persistUser("bob");
+        User c = persistUser("carol");
+        User d = persistUser("dave");
+        alice = a.getId();
+        bob = b.getId();
+        carol = c.getId();
+        dave = d.getId();
+
+        persistFollow(a, b);
+        persistFollow(b, a);
+        persistFollow(a, c);
+        persistFollow(b, c);
+        persistFollow(d, c);
+        entityManager.flush();
+
+        followGraph.rebuild();
+    }
+
+    @Test
+    void rebuildsAdjacencyFromFollowsTable() {
+        assertThat(followGraph.isReady()).isTrue();
+        assertThat(followGraph.edgeCount()).isEqualTo(5);
+        assertThat(followGraph.following(alice)).containsExactly(sorted(bob, carol));
+        assertThat(followGraph.followers(carol)).containsExactly(sorted(alice, bob, dave));
+        assertThat(followGraph.followerCount(carol)).isEqualTo(3);
+        assertThat(followGraph.followingCount(carol)).isZero();
+        assertThat(followGraph.follows(dave, carol)).isTrue();
+        assertThat(followGraph.follows(carol, dave)).isFalse();
+    }
+
+    @Test
+    void answersMutualAndIntersectionQueries() {
+        assertThat(followGraph.isMutual(alice, bob)).isTrue();
+        assertThat(followGraph.isMutual(alice, carol)).isFalse();
+        assertThat(followGraph.mutuals(alice)).containsExactly(bob);
+        assertThat(followGraph.commonFollowing(alice, bob)).containsExactly(carol);
+        assertThat(followGraph.commonFollowing(alice, dave)).containsExactly(carol);
+    }
+
+    @Test
+    void appliesIncrementalChanges() {
+        followGraph.addEdge(carol, dave);
+        followGraph.addEdge(carol, dave);
+        followGraph.removeEdge(alice, bob);
+
+        assertThat(followGraph.edgeCount()).isEqualTo(5);
+        assertThat(followGraph.followers(dave)).containsExactly(carol);
+        assertThat(followGraph.follows(alice, bob)).isFalse();
+        assertThat(followGraph.isMutual(alice, bob)).isFalse();
+        assertThat(followGraph.followers(bob)).isEmpty();
+    }
+
+    private static long[] sorted(long... ids) {
+        long[] copy = ids.clone();
+        Arrays.sort(copy);
+        return copy;
+    }
+
+    private void persistFollow(User follower, User following) {
+        Follow follow = new Follow();
+        follow.setFollower(follower);
+        follow.setFollowing(following);
+        entityManager.persist(follow);
+    }
+
+    private User persistUser(String username) {
+        User user = new User();
+        user.setUsername(username);
+        user.setPassword("password");
+        user.setEmail(username + "@example.com");
+        user.setNickname(username);
+        return entityManager.persist(user);
+    }
+}
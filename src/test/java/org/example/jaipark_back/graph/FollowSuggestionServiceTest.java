@@ -0,0 +1,100 @@
+package org.example.jaipark_back.graph;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FollowSuggestionServiceTest {
+    private FollowGraph graph;
+    private FollowSuggestionService service;
+
+    @BeforeEach
+    void setUp() {
+        graph = new FollowGraph();
+        ReflectionTestUtils.setField(graph, "ready", true);
+
+        service = new FollowSuggestionService();
+        ReflectionTestUtils.setField(service, "followGraph", graph);
+        ReflectionTestUtils.setField(service, "parallelism", 2);
+        ReflectionTestUtils.setField(service, "maxFriendsScanned", 5000);
+        ReflectionTestUtils.setField(service, "timeoutMs", 5000L);
+        ReflectionTestUtils.setField(service, "maxCachedCandidates", 100_000L);
+        ReflectionTestUtils.setField(service, "expireMinutes", 10L);
+        service.init();
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.shutdown();
+    }
+
+    @Test
+    void ranksFriendsOfFriendsByMutualCount() {
+        // 1 -> 2, 3 / 2 -> 4, 5 / 3 -> 4, 1
+        graph.addEdge(1, 2);
+        graph.addEdge(1, 3);
+        graph.addEdge(2, 4);
+        graph.addEdge(2, 5);
+        graph.addEdge(3, 4);
+        graph.addEdge(3, 1);
+        graph.addEdge(3, 2);
+
+        assertThat(service.suggest(1, 10)).containsExactly(
+                new FollowSuggestionService.Suggestion(4, 2),
+                new FollowSuggestionService.Suggestion(5, 1));
+    }
+
+    @Test
+    void incrementalUpdatesMatchRecomputation() {
+        assertIncrementalUpdatesMatchRecomputation(5000);
+    }
+
+    @Test
+    void incrementalUpdatesRespectScanLimit() {
+        ReflectionTestUtils.setField(service, "maxFriendsScanned", 8);
+        assertIncrementalUpdatesMatchRecomputation(8);
+    }
+
+    private void assertIncrementalUpdatesMatchRecomputation(int maxFriendsScanned) {
+        Random random = new Random(7);
+        for (int i = 0; i < 3000; i++) {
+            long from = random.nextInt(300);
+            long to = random.nextInt(300);
+            if (from != to) {
+                graph.addEdge(from, to);
+            }
+        }
+        service.suggest(0, 10);
+
+        for (int i = 0; i < 50; i++) {
+            long target = 1 + random.nextInt(299);
+            if (graph.follows(0, target)) {
+                graph.removeEdge(0, target);
+                service.onUnfollow(0, target);
+            } else {
+                graph.addEdge(0, target);
+                service.onFollow(0, target);
+            }
+        }
+
+        ForkJoinPool pool = new ForkJoinPool(2);
+        try {
+            Map<Long, Integer> expected = FollowSuggestionService.score(graph, 0, pool, maxFriendsScanned);
+            List<FollowSuggestionService.Suggestion> all = service.suggest(0, Integer.MAX_VALUE - 1);
+            assertThat(all.stream().collect(Collectors.toMap(
+                    FollowSuggestionService.Suggestion::userId, FollowSuggestionService.Suggestion::mutualCount)))
+                    .isEqualTo(expected);
+        } finally {
+            pool.shutdown();
+        }
+    }
+}
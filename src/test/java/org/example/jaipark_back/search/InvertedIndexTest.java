@@ -0,0 +1,71 @@
+package org.example.jaipark_back.search;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class InvertedIndexTest {
+
+    @Test
+    void matchesKoreanWordsWithParticlesAndRanksTitleHigher() {
+        InvertedIndex index = new InvertedIndex();
+        index.put(1L, "주말 일정", "게시판에서 맛집을 찾았어요");
+        index.put(2L, "맛집 추천", "강남 근처");
+        index.put(3L, "spring boot", "JPA 질문");
+
+        assertThat(index.search("맛집", 0, 10).ids()).containsExactly(2L, 1L);
+        assertThat(index.search("게시판", 0, 10).ids()).containsExactly(1L);
+        assertThat(index.search("Spring", 0, 10).ids()).containsExactly(3L);
+    }
+
+    @Test
+    void matchesSingleCharacterKoreanQueryInsideLongerWords() {
+        InvertedIndex index = new InvertedIndex();
+        index.put(1L, "오늘 읽은 책", "");
+        index.put(2L, "책갈피 나눔", "");
+        index.put(3L, "점심 메뉴", "김치찌개");
+
+        assertThat(index.search("책", 0, 10).ids()).containsExactlyInAnyOrder(1L, 2L);
+        assertThat(index.search("찌", 0, 10).ids()).containsExactly(3L);
+        // 두 글자 이상 질의는 한 글자만 겹치는 문서를 포함하지 않음
+        assertThat(index.search("책상", 0, 10).total()).isZero();
+        assertThat(Highlighter.highlight("책갈피 나눔", InvertedIndex.queryTerms("책"), 0))
+                .isEqualTo("<em>책</em>갈피 나눔");
+    }
+
+    @Test
+    void reflectsUpdatesAndDeletes() {
+        InvertedIndex index = new InvertedIndex();
+        index.put(1L, "맛집 추천", "");
+        index.put(1L, "여행 후기", "");
+        index.put(2L, "맛집 지도", "");
+        index.remove(2L);
+
+        assertThat(index.search("맛집", 0, 10).total()).isZero();
+        assertThat(index.search("여행", 0, 10).ids()).containsExactly(1L);
+    }
+
+    @Test
+    void survivesSaveAndLoad(@TempDir Path dir) throws Exception {
+        InvertedIndex index = new InvertedIndex();
+        index.put(1L, "맛집 추천", "강남역 근처");
+        index.setWatermark(1_700_000_000_000L);
+        index.save(dir.resolve("posts.idx"));
+
+        InvertedIndex loaded = new InvertedIndex();
+        loaded.load(dir.resolve("posts.idx"));
+
+        assertThat(loaded.search("강남", 0, 10).ids()).containsExactly(1L);
+        assertThat(loaded.watermark()).isEqualTo(1_700_000_000_000L);
+    }
+
+    @Test
+    void highlightsMatchedCharactersAndEscapesHtml() {
+        String highlighted = Highlighter.highlight("<b>맛집</b>을 찾았어요", InvertedIndex.queryTerms("맛집"), 0);
+
+        assertThat(highlighted).isEqualTo("&lt;b&gt;<em>맛집</em>&lt;/b&gt;을 찾았어요");
+    }
+}
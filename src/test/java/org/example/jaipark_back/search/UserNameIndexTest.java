@@ -0,0 +1,41 @@
+package org.example.jaipark_back.search;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class UserNameIndexTest {
+
+    @Test
+    void matchesPrefixesOfUsernameAndNickname() {
+        UserNameIndex index = new UserNameIndex();
+        index.put(new UserNameIndex.Entry(1L, "jaipark", "재이박", null));
+        index.put(new UserNameIndex.Entry(2L, "jane", "제인", null));
+        index.put(new UserNameIndex.Entry(3L, "bob", "밥", null));
+
+        assertThat(index.search("ja", 10)).extracting(UserNameIndex.Entry::id).containsExactly(1L, 2L);
+        assertThat(index.search("재이", 10)).extracting(UserNameIndex.Entry::id).containsExactly(1L);
+        assertThat(index.search("ja", 1)).hasSize(1);
+    }
+
+    @Test
+    void toleratesSmallTypos() {
+        UserNameIndex index = new UserNameIndex();
+        index.put(new UserNameIndex.Entry(1L, "jaipark", "jp", null));
+        index.put(new UserNameIndex.Entry(2L, "someone", "else", null));
+
+        assertThat(index.search("japark", 10)).extracting(UserNameIndex.Entry::id).containsExactly(1L);
+        assertThat(index.search("jaiprk", 10)).extracting(UserNameIndex.Entry::id).containsExactly(1L);
+        assertThat(index.search("jxxpark", 10)).isEmpty();
+    }
+
+    @Test
+    void reflectsNicknameChanges() {
+        UserNameIndex index = new UserNameIndex();
+        index.put(new UserNameIndex.Entry(1L, "jaipark", "oldnick", null));
+        index.put(new UserNameIndex.Entry(1L, "jaipark", "newnick", null));
+
+        assertThat(index.search("old", 10)).isEmpty();
+        assertThat(index.search("new", 10)).extracting(UserNameIndex.Entry::id).containsExactly(1L);
+    }
+}
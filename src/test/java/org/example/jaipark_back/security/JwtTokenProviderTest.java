@@ -0,0 +1,79 @@
+package org.example.jaipark_back.security;
+
+import org.example.jaipark_back.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class JwtTokenProviderTest {
+    private static final String SECRET = "9a4f2c8d3b7a1e6f45c8a0b3f267d8b1d4e6f3c8a9d2b5f8e3a9c6b1d4f7e2a5b8c9d0e1f2a3b4c5d6e7f8a9b0c1d2";
+
+    private UserRepository userRepository;
+    private TokenEpochService tokenEpochService;
+    private JwtTokenProvider provider;
+    private Authentication login;
+
+    @BeforeEach
+    void setUp() {
+        userRepository = mock(UserRepository.class);
+        tokenEpochService = new TokenEpochService();
+        ReflectionTestUtils.setField(tokenEpochService, "userRepository", userRepository);
+
+        provider = new JwtTokenProvider(null, tokenEpochService);
+        ReflectionTestUtils.setField(provider, "jwtSecret", SECRET);
+        ReflectionTestUtils.setField(provider, "jwtExpirationInMs", 3_600_000);
+        ReflectionTestUtils.setField(provider, "verifiedCacheSize", 100L);
+        provider.init();
+
+        UserPrincipal principal = new UserPrincipal(42L, "alice", null, "alice@example.com",
+                List.of(new SimpleGrantedAuthority("ROLE_USER")));
+        login = new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities());
+    }
+
+    @Test
+    void authenticatesFromClaimsWithoutLoadingUser() {
+        when(userRepository.findTokenEpochById(42L)).thenReturn(Optional.of(0L));
+        String token = provider.generateToken(login);
+
+        Authentication authentication = provider.authenticate(token);
+
+        assertThat(UserPrincipal.currentId(authentication)).isEqualTo(42L);
+        assertThat(authentication.getName()).isEqualTo("alice");
+    }
+
+    @Test
+    void rejectsTokensIssuedBeforeEpochChange() {
+        when(userRepository.findTokenEpochById(42L)).thenReturn(Optional.of(0L));
+        String oldToken = provider.generateToken(login);
+        assertThat(provider.validateToken(oldToken)).isTrue();
+
+        // 다른 노드에서 전파된 변경 (이미 캐시된 토큰도 거부되어야 함)
+        tokenEpochService.consume("42:1");
+        assertThat(provider.validateToken(oldToken)).isFalse();
+
+        when(userRepository.findTokenEpochById(42L)).thenReturn(Optional.of(1L));
+        String newToken = provider.generateToken(login);
+        assertThat(provider.validateToken(newToken)).isTrue();
+    }
+
+    @Test
+    void epochsNeverMoveBackwards() {
+        tokenEpochService.consume("42:3");
+        tokenEpochService.consume("42:2");
+        tokenEpochService.consume("garbage");
+
+        assertThat(tokenEpochService.isCurrent(42L, 2)).isFalse();
+        assertThat(tokenEpochService.isCurrent(42L, 3)).isTrue();
+        assertThat(tokenEpochService.isCurrent(7L, 0)).isTrue();
+    }
+}
@@ -0,0 +1,106 @@
+package org.example.jaipark_back.service;
+
+import org.example.jaipark_back.config.KafkaConfig;
+import org.example.jaipark_back.dto.ChatMessageDto;
+import org.example.jaipark_back.repository.ChatMessageRepository;
+import org.example.jaipark_back.repository.ChatRoomRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.kafka.test.context.EmbeddedKafka;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.after;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+
+/**
+ * 채팅 메시지 전송이 재전송/중복 발행에도 저장 한 번, WebSocket 전송 한 번으로 끝나는지 임베디드 Kafka로 확인
+ * (서비스 트랜잭션이 실제로 커밋돼야 발행되므로 테스트 트랜잭션은 사용하지 않음)
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@EmbeddedKafka(partitions = 1, bootstrapServersProperty = "spring.kafka.bootstrap-servers")
+@Import({KafkaConfig.class, ChatService.class, ChatProducer.class, ChatConsumer.class, ReadReceiptCoalescer.class,
+        OneTimeMigrations.class})
+class ChatDeliveryKafkaTest {
+    private static final long DELIVERY_TIMEOUT_MS = 30_000;
+    private static final long QUIET_PERIOD_MS = 3_000;
+
+    @Autowired
+    private ChatService chatService;
+
+    @Autowired
+    private ChatProducer chatProducer;
+
+    @Autowired
+    private ChatMessageRepository chatMessageRepository;
+
+    @Autowired
+    private ChatRoomRepository chatRoomRepository;
+
+    @MockBean
+    private SimpMessagingTemplate messagingTemplate;
+
+    @AfterEach
+    void tearDown() {
+        chatMessageRepository.deleteAll();
+        chatRoomRepository.deleteAll();
+    }
+
+    @Test
+    void retriedAndRepublishedMessageIsStoredAndPushedOnce() {
+        ChatMessageDto message = new ChatMessageDto("alice", "bob", "hello");
+        message.setClientMessageId("client-1");
+
+        ChatMessageDto saved = chatService.sendMessage(message);
+        // 응답 유실로 클라이언트가 같은 ID로 재전송
+        ChatMessageDto retried = chatService.sendMessage(copyOf(message));
+        // 프로듀서 쪽 중복 발행 (이전 컨트롤러의 이중 발행과 같은 상황)
+        chatProducer.sendChatMessage(saved);
+
+        assertThat(retried.getId()).isEqualTo(saved.getId());
+        assertThat(chatMessageRepository.count()).isEqualTo(1);
+
+        verify(messagingTemplate, timeout(DELIVERY_TIMEOUT_MS).times(1))
+                .convertAndSend(eq("/topic/chat/bob"), messageWithId(saved.getId()));
+        verify(messagingTemplate, after(QUIET_PERIOD_MS).times(1))
+                .convertAndSend(eq("/topic/chat/bob"), messageWithId(saved.getId()));
+    }
+
+    @Test
+    void distinctClientIdsAreDeliveredSeparately() {
+        ChatMessageDto first = new ChatMessageDto("alice", "carol", "one");
+        first.setClientMessageId("client-a");
+        ChatMessageDto second = new ChatMessageDto("alice", "carol", "one");
+        second.setClientMessageId("client-b");
+
+        Long firstId = chatService.sendMessage(first).getId();
+        Long secondId = chatService.sendMessage(second).getId();
+
+        assertThat(chatMessageRepository.count()).isEqualTo(2);
+        verify(messagingTemplate, timeout(DELIVERY_TIMEOUT_MS).times(1))
+                .convertAndSend(eq("/topic/chat/carol"), messageWithId(firstId));
+        verify(messagingTemplate, timeout(DELIVERY_TIMEOUT_MS).times(1))
+                .convertAndSend(eq("/topic/chat/carol"), messageWithId(secondId));
+    }
+
+    // convertAndSend(destination, payload) 오버로드에 맞춰 Object로 반환
+    private static Object messageWithId(Long id) {
+        return argThat(payload -> payload instanceof ChatMessageDto dto && id.equals(dto.getId()));
+    }
+
+    private static ChatMessageDto copyOf(ChatMessageDto message) {
+        ChatMessageDto copy = new ChatMessageDto(message.getSenderId(), message.getReceiverId(), message.getContent());
+        copy.setClientMessageId(message.getClientMessageId());
+        return copy;
+    }
+}
@@ -0,0 +1,263 @@
+package org.example.jaipark_back.service;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.example.jaipark_back.dto.ChatEvent;
+import org.example.jaipark_back.dto.ChatMessageDto;
+import org.example.jaipark_back.dto.ChatRoomDto;
+import org.example.jaipark_back.dto.CursorPage;
+import org.example.jaipark_back.entity.ChatRoom;
+import org.example.jaipark_back.entity.User;
+import org.example.jaipark_back.repository.ChatMessageRepository;
+import org.example.jaipark_back.repository.ChatRoomRepository;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.test.context.transaction.TestTransaction;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+
+
+/**
+ * 채팅 받은편지함이 채팅방 요약 컬럼과 프로필 일괄 조회만으로 만들어지는지 확인
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@Import({ChatService.class, ChatProducer.class, ReadReceiptCoalescer.class, OneTimeMigrations.class})
+class ChatServiceTest {
+    private static final int FRIEND_COUNT = 12;
+
+    @Autowired
+    private ChatService chatService;
+
+    @MockBean
+    private KafkaTemplate<String, ChatEvent> kafkaTemplate;
+
+    @SpyBean
+    private ChatMessageRepository chatMessageRepository;
+
+    @SpyBean
+    private ChatRoomRepository chatRoomRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        // 트랜잭션 없이 실제로 커밋하는 동시성 테스트는 사용자 데이터가 필요 없음
+        if (!TestTransaction.isActive()) {
+            return;
+        }
+        persistUser("me");
+        for (int i = 0; i < FRIEND_COUNT; i++) {
+            persistUser("friend" + i);
+        }
+        entityManager.flush();
+    }
+
+    @Test
+    void inboxCarriesLastMessageAndUnreadCount() {
+        send("friend0", "me", "hi");
+        send("friend1", "me", "hello");
+        send("friend0", "me", "are you there?");
+        send("me", "friend1", "yes");
+        entityManager.clear();
+
+        List<ChatRoomDto> rooms = chatService.getChatRooms("me", null, 20).getItems();
+
+        assertThat(rooms).extracting(ChatRoomDto::getOtherUserId).containsExactly("friend1", "friend0");
+        assertThat(rooms.get(0).getLastMessage()).isEqualTo("yes");
+        assertThat(rooms.get(0).getLastSenderId()).isEqualTo("me");
+        assertThat(rooms.get(0).getUnreadCount()).isEqualTo(1);
+        assertThat(rooms.get(1).getLastMessage()).isEqualTo("are you there?");
+        assertThat(rooms.get(1).getUnreadCount()).isEqualTo(2);
+        assertThat(rooms.get(1).getOtherUserNickname()).isEqualTo("friend0");
+        assertThat(chatService.getTotalUnreadMessageCount("me")).isEqualTo(3);
+        assertThat(chatService.getUnreadMessageCount(rooms.get(1).getId(), "friend0")).isZero();
+    }
+
+    @Test
+    void markingAsReadResetsUnreadCount() {
+        send("friend0", "me", "one");
+        send("friend0", "me", "two");
+        entityManager.clear();
+        String roomId = chatService.getChatRooms("me", null, 20).getItems().get(0).getId();
+
+        chatService.markMessagesAsRead(roomId, "me");
+        entityManager.clear();
+
+        assertThat(chatService.getUnreadMessageCount(roomId, "me")).isZero();
+        assertThat(chatService.getChatRooms("me", null, 20).getItems().get(0).getUnreadCount()).isZero();
+    }
+
+    @Test
+    void openingChatIsSingleUpdateAndReadStateComesFromWatermark() {
+        send("friend0", "me", "one");
+        send("friend0", "me", "two");
+        send("me", "friend0", "three");
+        entityManager.clear();
+        String roomId = chatService.getChatRooms("me", null, 20).getItems().get(0).getId();
+
+        assertThat(statementsFor(() -> chatService.markMessagesAsRead(roomId, "me"))).isEqualTo(1);
+        entityManager.clear();
+
+        // 내가 받은 메시지는 읽음, 상대가 아직 열지 않은 내 메시지는 안 읽음
+        List<ChatMessageDto> messages = chatService.getChatMessages(roomId, "me", 0, 20).getContent();
+        assertThat(messages).extracting(ChatMessageDto::getContent, ChatMessageDto::isRead)
+                .containsExactly(tuple("three", false), tuple("two", true), tuple("one", true));
+
+        // 새 메시지가 오면 다시 열 때 읽은 위치가 따라옴
+        send("friend0", "me", "four");
+        chatService.markMessagesAsRead(roomId, "me");
+        entityManager.clear();
+        assertThat(chatService.getUnreadMessageCount(roomId, "me")).isZero();
+    }
+
+    @Test
+    void inboxPagesWithCursorAtFixedStatementCount() {
+        for (int i = 0; i < FRIEND_COUNT; i++) {
+            send("friend" + i, "me", "message " + i);
+        }
+
+        long small = statementsFor(() -> chatService.getChatRooms("me", null, 2));
+        long large = statementsFor(() -> chatService.getChatRooms("me", null, FRIEND_COUNT));
+        assertThat(large).isEqualTo(small).isEqualTo(2);
+
+        List<String> seen = new ArrayList<>();
+        String cursor = null;
+        do {
+            String current = cursor;
+            CursorPage<ChatRoomDto> page = run(() -> chatService.getChatRooms("me", current, 5));
+            page.getItems().forEach(room -> seen.add(room.getOtherUserId()));
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+
+        List<String> expected = new ArrayList<>();
+        for (int i = FRIEND_COUNT - 1; i >= 0; i--) {
+            expected.add("friend" + i);
+        }
+        assertThat(seen).isEqualTo(expected);
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void concurrentRetriesWithSameClientIdReturnTheStoredMessage() throws Exception {
+        // 두 요청이 모두 중복 확인을 통과한 뒤에 저장하도록 맞춤
+        CyclicBarrier bothChecked = new CyclicBarrier(2);
+        doAnswer(invocation -> {
+            Object result = invocation.callRealMethod();
+            bothChecked.await(5, TimeUnit.SECONDS);
+            return result;
+        }).doAnswer(invocation -> {
+            Object result = invocation.callRealMethod();
+            bothChecked.await(5, TimeUnit.SECONDS);
+            return result;
+        }).doCallRealMethod().when(chatMessageRepository).findBySenderIdAndClientMessageId("alice", "client-1");
+
+        try {
+            CompletableFuture<ChatMessageDto> first = CompletableFuture.supplyAsync(() -> sendWithClientId("client-1"));
+            CompletableFuture<ChatMessageDto> second = CompletableFuture.supplyAsync(() -> sendWithClientId("client-1"));
+
+            ChatMessageDto a = first.get(10, TimeUnit.SECONDS);
+            ChatMessageDto b = second.get(10, TimeUnit.SECONDS);
+
+            assertThat(a.getId()).isNotNull().isEqualTo(b.getId());
+            assertThat(chatMessageRepository.count()).isEqualTo(1);
+        } finally {
+            chatMessageRepository.deleteAll();
+            chatRoomRepository.deleteAll();
+        }
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void concurrentFirstMessagesCreateOneRoomAndCountBoth() throws Exception {
+        // 두 요청이 모두 채팅방 없음(0행)을 본 뒤에 채팅방을 만들도록 맞춤
+        CyclicBarrier bothMissed = new CyclicBarrier(2);
+        doAnswer(invocation -> {
+            Object result = invocation.callRealMethod();
+            bothMissed.await(5, TimeUnit.SECONDS);
+            return result;
+        }).doAnswer(invocation -> {
+            Object result = invocation.callRealMethod();
+            bothMissed.await(5, TimeUnit.SECONDS);
+            return result;
+        }).doCallRealMethod().when(chatRoomRepository)
+                .recordMessage(anyString(), anyLong(), any(), any(), anyString(), anyString());
+
+        try {
+            CompletableFuture<ChatMessageDto> first = CompletableFuture.supplyAsync(() -> sendWithClientId("client-1"));
+            CompletableFuture<ChatMessageDto> second = CompletableFuture.supplyAsync(() -> sendWithClientId("client-2"));
+            long lastId = Math.max(first.get(10, TimeUnit.SECONDS).getId(), second.get(10, TimeUnit.SECONDS).getId());
+
+            ChatRoom room = chatRoomRepository.findAll().get(0);
+            assertThat(chatRoomRepository.count()).isEqualTo(1);
+            assertThat(chatMessageRepository.count()).isEqualTo(2);
+            assertThat(room.getUnreadCount("bob")).isEqualTo(2);
+            assertThat(room.getLastMessageId()).isEqualTo(lastId);
+        } finally {
+            chatMessageRepository.deleteAll();
+            chatRoomRepository.deleteAll();
+        }
+    }
+
+    private ChatMessageDto sendWithClientId(String clientMessageId) {
+        ChatMessageDto message = new ChatMessageDto("alice", "bob", "hello");
+        message.setClientMessageId(clientMessageId);
+        return chatService.sendMessage(message);
+    }
+
+    private void send(String senderId, String receiverId, String content) {
+        chatService.sendMessage(new ChatMessageDto(senderId, receiverId, content));
+    }
+
+    private long statementsFor(Runnable action) {
+        entityManager.clear();
+        statistics.clear();
+        action.run();
+        return statistics.getPrepareStatementCount();
+    }
+
+    private <T> T run(Supplier<T> action) {
+        entityManager.clear();
+        return action.get();
+    }
+
+    private void persistUser(String username) {
+        User user = new User();
+        user.setUsername(username);
+        user.setPassword("password");
+        user.setEmail(username + "@example.com");
+        user.setNickname(username);
+        entityManager.persist(user);
+    }
+}
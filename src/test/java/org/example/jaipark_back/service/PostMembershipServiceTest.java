@@ -0,0 +1,108 @@
+package org.example.jaipark_back.service;
+
+import org.example.jaipark_back.repository.BookmarkRepository;
+import org.example.jaipark_back.repository.LikeRepository;
+import org.example.jaipark_back.service.PostMembershipService.Relation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class PostMembershipServiceTest {
+    private static final long POST_ID = 1L;
+    private static final long USER_ID = 7L;
+
+    private LikeRepository likeRepository;
+    private PostMembershipService membershipService;
+
+    // 좋아요 테이블 상태 (true면 USER_ID가 POST_ID에 좋아요)
+    private final AtomicBoolean liked = new AtomicBoolean();
+
+    @BeforeEach
+    void setUp() {
+        likeRepository = mock(LikeRepository.class);
+        membershipService = new PostMembershipService();
+        ReflectionTestUtils.setField(membershipService, "likeRepository", likeRepository);
+        ReflectionTestUtils.setField(membershipService, "bookmarkRepository", mock(BookmarkRepository.class));
+        ReflectionTestUtils.setField(membershipService, "maxMembers", 1000L);
+        ReflectionTestUtils.setField(membershipService, "expireMinutes", 30L);
+        membershipService.init();
+    }
+
+    @Test
+    void likeCommittedWhileLoadingIsNotLost() throws Exception {
+        CountDownLatch queried = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(likeRepository.findMembersByPostIds(any())).thenAnswer(invocation -> {
+            List<Object[]> rows = snapshot();
+            queried.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return rows;
+        });
+
+        CompletableFuture<Boolean> loading = CompletableFuture.supplyAsync(
+                () -> membershipService.contains(Relation.LIKE, POST_ID, USER_ID));
+        assertThat(queried.await(5, TimeUnit.SECONDS)).isTrue();
+
+        // DB 조회 이후, 캐시 적재 전에 좋아요가 커밋됨
+        liked.set(true);
+        membershipService.recordAdded(Relation.LIKE, POST_ID, USER_ID);
+        release.countDown();
+
+        assertThat(loading.get(5, TimeUnit.SECONDS)).isFalse();
+        assertThat(membershipService.contains(Relation.LIKE, POST_ID, USER_ID)).isTrue();
+    }
+
+    @Test
+    void unlikeCommittedWhileLoadingIsNotLost() throws Exception {
+        liked.set(true);
+        CountDownLatch queried = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(likeRepository.findMembersByPostIds(any())).thenAnswer(invocation -> {
+            List<Object[]> rows = snapshot();
+            queried.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return rows;
+        });
+
+        CompletableFuture<Boolean> loading = CompletableFuture.supplyAsync(
+                () -> membershipService.contains(Relation.LIKE, POST_ID, USER_ID));
+        assertThat(queried.await(5, TimeUnit.SECONDS)).isTrue();
+
+        liked.set(false);
+        membershipService.recordRemoved(Relation.LIKE, POST_ID, USER_ID);
+        release.countDown();
+
+        loading.get(5, TimeUnit.SECONDS);
+        assertThat(membershipService.contains(Relation.LIKE, POST_ID, USER_ID)).isFalse();
+    }
+
+    @Test
+    void changesAfterLoadingAreAppliedInPlace() {
+        when(likeRepository.findMembersByPostIds(any())).thenAnswer(invocation -> snapshot());
+
+        assertThat(membershipService.contains(Relation.LIKE, POST_ID, USER_ID)).isFalse();
+        membershipService.recordAdded(Relation.LIKE, POST_ID, USER_ID);
+
+        assertThat(membershipService.contains(Relation.LIKE, POST_ID, USER_ID)).isTrue();
+    }
+
+    private List<Object[]> snapshot() {
+        List<Object[]> rows = new ArrayList<>();
+        if (liked.get()) {
+            rows.add(new Object[]{POST_ID, USER_ID});
+        }
+        return rows;
+    }
+}
@@ -0,0 +1,167 @@
+package org.example.jaipark_back.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.example.jaipark_back.entity.Bookmark;
+import org.example.jaipark_back.entity.Comment;
+import org.example.jaipark_back.entity.Like;
+import org.example.jaipark_back.entity.Post;
+import org.example.jaipark_back.entity.User;
+import org.example.jaipark_back.search.PostSearchService;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 게시물 목록 응답이 페이지 크기와 상관없이 고정된 개수의 SQL만 실행하는지 확인
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@Import({PostService.class, TimelineService.class, EngagementCounterService.class, OneTimeMigrations.class, PostMembershipService.class,
+        CommentParticipantService.class,
+        PostSearchService.class, PostCacheService.class, SimpleMeterRegistry.class})
+class PostServiceQueryCountTest {
+    private static final int POST_COUNT = 30;
+    private static final int BUSY_POST_COMMENTS = 60;
+
+    @Autowired
+    private PostService postService;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    private Long quietPostId;
+    private Long busyPostId;
+    private Long readerId;
+    private Long lightReaderId;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        User author = persistUser("author");
+        User reader = persistUser("reader");
+        User lightReader = persistUser("light");
+        readerId = reader.getId();
+        lightReaderId = lightReader.getId();
+        for (int i = 0; i < POST_COUNT; i++) {
+            Post post = new Post();
+            post.setTitle("title " + i);
+            post.setContent("content " + i);
+            post.setUser(author);
+            entityManager.persist(post);
+
+            Like like = new Like();
+            like.setUser(reader);
+            like.setPost(post);
+            entityManager.persist(like);
+
+            if (i < 2) {
+                Like lightLike = new Like();
+                lightLike.setUser(lightReader);
+                lightLike.setPost(post);
+                entityManager.persist(lightLike);
+            }
+
+            Bookmark bookmark = new Bookmark();
+            bookmark.setUser(reader);
+            bookmark.setPost(post);
+            entityManager.persist(bookmark);
+
+            Comment comment = new Comment();
+            comment.setContent("comment " + i);
+            comment.setUser(reader);
+            comment.setPost(post);
+            entityManager.persist(comment);
+
+            if (i == 0) {
+                quietPostId = post.getId();
+            } else if (i == 1) {
+                busyPostId = post.getId();
+                for (int j = 0; j < BUSY_POST_COMMENTS; j++) {
+                    Comment extra = new Comment();
+                    extra.setContent("extra " + j);
+                    extra.setUser(lightReader);
+                    extra.setPost(post);
+                    entityManager.persist(extra);
+                }
+            }
+        }
+        entityManager.flush();
+    }
+
+    @Test
+    void cursorPageCostsSameStatementsForAnySize() {
+        long small = statementsFor(() -> postService.getPostsWithCursor(null, 5, 0));
+        long large = statementsFor(() -> postService.getPostsWithCursor(null, POST_COUNT, 0));
+
+        assertThat(large).isEqualTo(small);
+    }
+
+    @Test
+    void cursorPageWithCommentPreviewsAddsOneStatement() {
+        long plain = statementsFor(() -> postService.getPostsWithCursor(null, POST_COUNT, 0));
+        long withPreviews = statementsFor(() -> assertThat(postService.getPostsWithCursor(null, POST_COUNT, 2).getItems())
+                .allSatisfy(post -> assertThat(post.getComments()).isNotEmpty().hasSizeLessThanOrEqualTo(2)));
+
+        assertThat(withPreviews).isEqualTo(plain + 1);
+    }
+
+    @Test
+    void allPostsPageCostsSameStatementsForAnySize() {
+        long small = statementsFor(() -> postService.getAllPosts(PageRequest.of(0, 5)));
+        long large = statementsFor(() -> assertThat(postService.getAllPosts(PageRequest.of(0, POST_COUNT)))
+                .allSatisfy(post -> assertThat(post.getComments()).isNotEmpty().hasSizeLessThanOrEqualTo(3)));
+
+        assertThat(large).isEqualTo(small);
+    }
+
+    @Test
+    void postDetailCostsSameStatementsForAnyCommentCount() {
+        long quiet = statementsFor(() -> postService.getPost(quietPostId));
+        long busy = statementsFor(() -> assertThat(postService.getPost(busyPostId))
+                .satisfies(post -> assertThat(post.getComments()).hasSize(20))
+                .satisfies(post -> assertThat(post.getCommentsNextCursor()).isNotNull()));
+
+        assertThat(busy).isEqualTo(quiet);
+    }
+
+    @Test
+    void likedPostsCostSameStatementsForAnySize() {
+        long few = statementsFor(() -> assertThat(postService.getLikedPosts(lightReaderId, null, POST_COUNT).getItems()).hasSize(2));
+        long many = statementsFor(() -> assertThat(postService.getLikedPosts(readerId, null, POST_COUNT).getItems()).hasSize(POST_COUNT));
+
+        assertThat(many).isEqualTo(few);
+    }
+
+    private long statementsFor(Runnable action) {
+        entityManager.clear();
+        statistics.clear();
+        action.run();
+        return statistics.getPrepareStatementCount();
+    }
+
+    private User persistUser(String username) {
+        User user = new User();
+        user.setUsername(username);
+        user.setPassword("password");
+        user.setEmail(username + "@example.com");
+        user.setNickname(username);
+        return entityManager.persist(user);
+    }
+}
@@ -0,0 +1,63 @@
+package org.example.jaipark_back.service;
+
+import org.example.jaipark_back.dto.ChatEvent;
+import org.example.jaipark_back.entity.ChatRoom;
+import org.example.jaipark_back.repository.ChatRoomRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ReadReceiptCoalescerTest {
+    private ChatRoomRepository chatRoomRepository;
+    private KafkaTemplate<String, ChatEvent> kafkaTemplate;
+    private ReadReceiptCoalescer coalescer;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        chatRoomRepository = mock(ChatRoomRepository.class);
+        kafkaTemplate = mock(KafkaTemplate.class);
+        coalescer = new ReadReceiptCoalescer();
+        ReflectionTestUtils.setField(coalescer, "chatRoomRepository", chatRoomRepository);
+        ReflectionTestUtils.setField(coalescer, "kafkaTemplate", kafkaTemplate);
+    }
+
+    @Test
+    void sendsNewestWatermarkOncePerRoomAndReader() {
+        ChatRoom room = new ChatRoom("alice", "bob");
+        room.setUser1LastReadMessageId(40L);
+        when(chatRoomRepository.findAllById(any())).thenReturn(List.of(room));
+
+        coalescer.schedule(room.getId(), "alice");
+        coalescer.schedule(room.getId(), "alice");
+        coalescer.schedule(room.getId(), "alice");
+        coalescer.flush();
+
+        ArgumentCaptor<ChatEvent> events = ArgumentCaptor.forClass(ChatEvent.class);
+        verify(kafkaTemplate, times(1)).send(eq("chat-read"), eq("bob"), events.capture());
+        assertThat(events.getValue().getData()).isEqualTo(40L);
+        assertThat(events.getValue().getChatRoomId()).isEqualTo(room.getId());
+    }
+
+    @Test
+    void flushWithoutPendingReceiptsDoesNothing() {
+        coalescer.flush();
+
+        verify(chatRoomRepository, never()).findAllById(any());
+        verify(kafkaTemplate, never()).send(anyString(), anyString(), any(ChatEvent.class));
+    }
+}
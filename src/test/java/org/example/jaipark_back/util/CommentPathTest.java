@@ -0,0 +1,38 @@
+package org.example.jaipark_back.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CommentPathTest {
+
+    @Test
+    void pathListsIdsFromRootToSelf() {
+        String root = CommentPath.root(100);
+        String reply = CommentPath.child(root, 7);
+        String nested = CommentPath.child(reply, 4242);
+
+        assertThat(CommentPath.ids(nested)).containsExactly(100L, 7L, 4242L);
+        assertThat(CommentPath.ancestorIds(nested)).containsExactly(100L, 7L);
+        assertThat(CommentPath.fromIds(new long[]{100, 7, 4242})).isEqualTo(nested);
+    }
+
+    @Test
+    void stringOrderIsDepthFirstThreadOrder() {
+        String root = CommentPath.root(5);
+        String first = CommentPath.child(root, 9);
+        String firstChild = CommentPath.child(first, 30);
+        String second = CommentPath.child(root, 12);
+
+        List<String> paths = new ArrayList<>(List.of(second, firstChild, root, first));
+        Collections.sort(paths);
+
+        assertThat(paths).containsExactly(root, first, firstChild, second);
+        assertThat(firstChild).startsWith(first);
+        assertThat(second).doesNotStartWith(first);
+    }
+}
@@ -0,0 +1,35 @@
+package org.example.jaipark_back.util;
+
+import org.example.jaipark_back.exception.InvalidCursorException;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CursorTest {
+
+    @Test
+    void roundTripsTimeAndIdKeys() {
+        LocalDateTime createdAt = LocalDateTime.of(2024, 3, 1, 12, 30, 15, 123_456_000);
+        String token = Cursor.encode(Cursor.timeKey(createdAt), 42L);
+
+        long[] keys = Cursor.decode(token, 2);
+
+        assertThat(Cursor.fromTimeKey(keys[0])).isEqualTo(createdAt);
+        assertThat(keys[1]).isEqualTo(42L);
+    }
+
+    @Test
+    void missingCursorStartsFromFirstPage() {
+        assertThat(Cursor.decode(null, 1)).isNull();
+        assertThat(Cursor.lastId("")).isEqualTo(Long.MAX_VALUE);
+    }
+
+    @Test
+    void rejectsMalformedTokens() {
+        assertThatThrownBy(() -> Cursor.decode("not a cursor!", 1)).isInstanceOf(InvalidCursorException.class);
+        assertThatThrownBy(() -> Cursor.decode(Cursor.encode(1L), 2)).isInstanceOf(InvalidCursorException.class);
+    }
+}